@@ -17,6 +17,18 @@ repositories {
     mavenCentral()
 }
 
+// JMH benchmarks live in src/jmh/java and see the main classes.
+// Run with ./gradlew jmh; narrow with -PjmhInclude=<regex> and pass extra
+// JMH options with -PjmhArgs="-p rosterSize=1024 -f 2".
+// Results are written as JSON to build/reports/jmh/results.json.
+val jmh: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[jmh.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[jmh.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
 dependencies {
     // JUnit 5
     testImplementation(platform("org.junit:junit-bom:6.0.0"))
@@ -29,6 +41,22 @@ dependencies {
     // Mockito for mocking (useful for Command pattern tests)
     testImplementation("org.mockito:mockito-core:5.20.0")
     testImplementation("org.mockito:mockito-junit-jupiter:5.20.0")
+
+    // JMH for benchmarks
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:1.37")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
+}
+
+tasks.register<JavaExec>("jmh") {
+    group = "benchmark"
+    description = "Runs the JMH benchmarks and writes JSON results."
+    classpath = jmh.runtimeClasspath
+    mainClass = "org.openjdk.jmh.Main"
+    val results = layout.buildDirectory.file("reports/jmh/results.json").get().asFile
+    args(providers.gradleProperty("jmhInclude").getOrElse("edu.trincoll.game.benchmark"))
+    args("-rf", "json", "-rff", results.path)
+    providers.gradleProperty("jmhArgs").orNull?.let { args(it.trim().split(Regex("\\s+"))) }
+    doFirst { results.parentFile.mkdirs() }
 }
 
 tasks.test {
@@ -0,0 +1,80 @@
+package edu.trincoll.game.benchmark;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Character.takeDamage() across a roster, cycling through every character
+ * so large rosters show the cost of touching cold objects. Characters are
+ * healed back to full when they die so each call does the same work.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CharacterBenchmark {
+
+    @Param({"1", "1024", "65536"})
+    public int rosterSize;
+
+    @Param({"30"})
+    public int damage;
+
+    private Character[] roster;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        CharacterType[] types = CharacterType.values();
+        roster = new Character[rosterSize];
+        for (int i = 0; i < rosterSize; i++) {
+            roster[i] = CharacterFactory.createCharacter("Unit" + i, types[i % types.length]);
+        }
+        next = 0;
+    }
+
+    @Benchmark
+    public int takeDamage() {
+        Character character = nextCharacter();
+        character.takeDamage(damage);
+        if (character.isDead()) {
+            character.setHealth(character.getStats().maxHealth());
+        }
+        return character.getStats().health();
+    }
+
+    @Benchmark
+    public int attackAndTakeDamage() {
+        Character attacker = nextCharacter();
+        Character defender = nextCharacter();
+        int dealt = attacker.attack(defender);
+        defender.takeDamage(dealt);
+        attacker.restoreMana(10);
+        if (defender.isDead()) {
+            defender.setHealth(defender.getStats().maxHealth());
+        }
+        return defender.getStats().health();
+    }
+
+    private Character nextCharacter() {
+        Character character = roster[next];
+        next = next + 1 == roster.length ? 0 : next + 1;
+        return character;
+    }
+}
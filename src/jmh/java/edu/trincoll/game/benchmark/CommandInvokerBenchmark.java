@@ -0,0 +1,69 @@
+package edu.trincoll.game.benchmark;
+
+import edu.trincoll.game.command.AttackCommand;
+import edu.trincoll.game.command.CommandInvoker;
+import edu.trincoll.game.command.HealCommand;
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.metrics.CommandMetrics;
+import edu.trincoll.game.model.Character;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CommandInvoker.executeCommand() followed by undoLastCommand() on top of
+ * an existing history, with and without CommandMetrics timing. Each pair
+ * leaves the history depth and the target's health where they started.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandInvokerBenchmark {
+
+    @Param({"0", "1000", "100000"})
+    public int historyDepth;
+
+    @Param({"false", "true"})
+    public boolean metrics;
+
+    private CommandInvoker invoker;
+    private Character attacker;
+    private Character target;
+
+    @Setup
+    public void setUp() {
+        invoker = new CommandInvoker(metrics ? new CommandMetrics() : null);
+        attacker = CharacterFactory.createWarrior("Attacker");
+        target = CharacterFactory.createWarrior("Target");
+        for (int i = 0; i < historyDepth; i++) {
+            invoker.executeCommand(new HealCommand(target, 0));
+        }
+    }
+
+    @Benchmark
+    public int executeThenUndo() {
+        invoker.executeCommand(new AttackCommand(attacker, target));
+        invoker.undoLastCommand();
+        return target.getStats().health();
+    }
+
+    @Benchmark
+    public int executeThenUndoHeal() {
+        invoker.executeCommand(new HealCommand(target, 10));
+        invoker.undoLastCommand();
+        return target.getStats().health();
+    }
+}
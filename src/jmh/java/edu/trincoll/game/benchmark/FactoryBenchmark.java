@@ -0,0 +1,85 @@
+package edu.trincoll.game.benchmark;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.factory.PrototypeRegistry;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mass character creation: the builder through CharacterFactory, cloning
+ * archetypes from the PrototypeRegistry, and the batch factory methods.
+ * Each call creates {@code count} characters of mixed types.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FactoryBenchmark {
+
+    @Param({"16", "1024", "65536"})
+    public int count;
+
+    private CharacterType[] types;
+    private String[] names;
+    private PrototypeRegistry registry;
+    private Map<CharacterType, Integer> composition;
+
+    @Setup
+    public void setUp() {
+        types = CharacterType.values();
+        names = new String[count];
+        for (int i = 0; i < count; i++) {
+            names[i] = "Unit" + i;
+        }
+        registry = PrototypeRegistry.getDefault();
+        composition = new EnumMap<>(CharacterType.class);
+        for (int i = 0; i < count; i++) {
+            composition.merge(types[i % types.length], 1, Integer::sum);
+        }
+    }
+
+    @Benchmark
+    public Character[] createCharacter() {
+        Character[] characters = new Character[count];
+        for (int i = 0; i < count; i++) {
+            characters[i] = CharacterFactory.createCharacter(names[i], types[i % types.length]);
+        }
+        return characters;
+    }
+
+    @Benchmark
+    public Character[] prototype() {
+        Character[] characters = new Character[count];
+        for (int i = 0; i < count; i++) {
+            characters[i] = registry.create(types[i % types.length], names[i]);
+        }
+        return characters;
+    }
+
+    @Benchmark
+    public Character[] createBatch() {
+        return CharacterFactory.createBatch(CharacterType.WARRIOR, count, "Unit");
+    }
+
+    @Benchmark
+    public Character[] createMixedBatch() {
+        return CharacterFactory.createMixedBatch(composition, "Unit");
+    }
+}
@@ -0,0 +1,133 @@
+package edu.trincoll.game.benchmark;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterType;
+import edu.trincoll.game.template.BattleSequence;
+import edu.trincoll.game.template.PowerAttackSequence;
+import edu.trincoll.game.template.SequenceCompiler;
+import edu.trincoll.game.template.SequenceDefinition;
+import edu.trincoll.game.template.StandardBattleSequence;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+/**
+ * One battle turn per call, comparing BattleSequence.executeTurn() with the
+ * SequenceCompiler kernel for the same sequence. Turns cycle through
+ * rosterSize / 2 attacker/defender pairs; the roster is restored to full
+ * health after each pass so every pass does the same work.
+ *
+ * Sequences: "standard" and "power" are the hand-written classes,
+ * "power-dsl" is the same power attack compiled from SequenceDefinition,
+ * and "counting" overrides the turn bookends so it compiles to the general
+ * kernel.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SequenceBenchmark {
+
+    /**
+     * Sequence overriding the turn bookends, so it compiles to the general kernel.
+     */
+    static class CountingSequence extends StandardBattleSequence {
+        static long turns;
+
+        CountingSequence(Character attacker, Character defender) {
+            super(attacker, defender);
+        }
+
+        @Override
+        protected void beginTurn() {
+            turns++;
+        }
+
+        @Override
+        protected void endTurn() {
+            turns--;
+        }
+    }
+
+    @Param({"standard", "power", "power-dsl", "counting"})
+    public String sequence;
+
+    @Param({"16", "1024", "65536"})
+    public int rosterSize;
+
+    private Character[] characters;
+    private BattleSequence[] sequences;
+    private Runnable[] kernels;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        BiFunction<Character, Character, BattleSequence> factory = switch (sequence) {
+            case "standard" -> StandardBattleSequence::new;
+            case "power" -> PowerAttackSequence::new;
+            case "power-dsl" -> SequenceDefinition.parse("Power Attack", "charge 25%, strike, recoil 10%")
+                .compile()::newSequence;
+            case "counting" -> CountingSequence::new;
+            default -> throw new IllegalArgumentException("Unknown sequence: " + sequence);
+        };
+        if (rosterSize < 2) throw new IllegalArgumentException("rosterSize must be at least 2");
+
+        CharacterType[] types = CharacterType.values();
+        characters = new Character[rosterSize];
+        for (int i = 0; i < rosterSize; i++) {
+            characters[i] = CharacterFactory.createCharacter("Unit" + i, types[i % types.length]);
+        }
+        int pairs = rosterSize / 2;
+        sequences = new BattleSequence[pairs];
+        kernels = new Runnable[pairs];
+        for (int i = 0; i < pairs; i++) {
+            sequences[i] = factory.apply(characters[2 * i], characters[2 * i + 1]);
+            kernels[i] = SequenceCompiler.compile(sequences[i]);
+        }
+        next = 0;
+    }
+
+    @Benchmark
+    public int executeTurn() {
+        int pair = nextPair();
+        sequences[pair].executeTurn();
+        return characters[2 * pair + 1].getStats().health();
+    }
+
+    @Benchmark
+    public int compiledTurn() {
+        int pair = nextPair();
+        kernels[pair].run();
+        return characters[2 * pair + 1].getStats().health();
+    }
+
+    private int nextPair() {
+        int pair = next;
+        if (++next == sequences.length) {
+            next = 0;
+            restore();
+        }
+        return pair;
+    }
+
+    // Keep every character alive so each pass does the same work
+    private void restore() {
+        for (Character character : characters) {
+            character.setHealth(character.getStats().maxHealth());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package edu.trincoll.game.benchmark;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.factory.StrategyRegistry;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.strategy.AttackStrategy;
+import edu.trincoll.game.strategy.DefenseStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one damage calculation for each built-in attack strategy and one
+ * damage reduction for each built-in defense strategy, looked up by the
+ * ids archetype files use.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StrategyBenchmark {
+
+    @Param({"melee", "magic", "ranged"})
+    public String attack;
+
+    @Param({"standard", "heavy-armor"})
+    public String defense;
+
+    @Param({"50"})
+    public int incomingDamage;
+
+    private AttackStrategy attackStrategy;
+    private DefenseStrategy defenseStrategy;
+    private Character attacker;
+    private Character defender;
+
+    @Setup
+    public void setUp() {
+        StrategyRegistry registry = StrategyRegistry.withDefaults();
+        attackStrategy = registry.attack(attack);
+        defenseStrategy = registry.defense(defense);
+        attacker = CharacterFactory.createMage("Attacker");
+        defender = CharacterFactory.createWarrior("Defender");
+    }
+
+    @Benchmark
+    public int calculateDamage() {
+        int damage = attackStrategy.calculateDamage(attacker, defender);
+        // Magic attacks spend mana; give it back so every call does the same work
+        attacker.restoreMana(10);
+        return damage;
+    }
+
+    @Benchmark
+    public int calculateDamageReduction() {
+        return defenseStrategy.calculateDamageReduction(defender, incomingDamage);
+    }
+}
@@ -0,0 +1,307 @@
+package edu.trincoll.game.arena;
+
+import edu.trincoll.game.net.BattleProtocol;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs a world across several worker JVMs on this machine.
+ *
+ * {@link #spawn} starts one {@link ArenaWorker} process per worker, each
+ * owning the arenas {@link ArenaLayout} assigns it, with its own heap,
+ * garbage collector, CommandInvoker and game loop. The coordinator keeps
+ * one loopback connection per worker and routes each command by
+ * character id: both characters must be in the same arena, and the
+ * command goes to the worker that owns it with ids translated to that
+ * worker's local indexes.
+ *
+ * {@link #executeAll} pipelines a batch across all workers at once, so
+ * they run in parallel; the single-command methods wait for one round
+ * trip. A coordinator is not thread-safe.
+ */
+public class ArenaCoordinator implements AutoCloseable {
+    /** Requests in flight per worker; their responses fit in the server's buffer. */
+    static final int WINDOW = 64;
+
+    /**
+     * One command for {@link #executeAll}. amount is the heal amount or the
+     * sequence kind, as in {@link BattleProtocol}.
+     */
+    public record Request(byte op, int actor, int target, int amount) {
+    }
+
+    /**
+     * Outcome of one command: status from {@link BattleProtocol} and the
+     * health of both characters afterwards.
+     */
+    public record Result(byte status, int targetHealth, int actorHealth) {
+        public boolean isOk() {
+            return status == BattleProtocol.OK;
+        }
+    }
+
+    private final ArenaLayout layout;
+    private final List<Process> processes;
+    private final SocketChannel[] channels;
+    private final ByteBuffer[] requests;
+    private final ByteBuffer response = ByteBuffer.allocate(BattleProtocol.RESPONSE_FRAME);
+    private final IOException[] failures;
+    private int nextRequestId;
+
+    ArenaCoordinator(ArenaLayout layout, List<Process> processes, SocketChannel[] channels) {
+        this.layout = layout;
+        this.processes = processes;
+        this.channels = channels;
+        this.requests = new ByteBuffer[channels.length];
+        this.failures = new IOException[channels.length];
+        for (int w = 0; w < channels.length; w++) {
+            requests[w] = ByteBuffer.allocate(WINDOW * BattleProtocol.REQUEST_FRAME);
+        }
+    }
+
+    /**
+     * Start the worker processes and connect to each of them.
+     *
+     * @param startupTimeout how long to wait for every worker to report ready
+     */
+    public static ArenaCoordinator spawn(ArenaLayout layout, long startupTimeout, TimeUnit unit) throws IOException {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        String classPath = System.getProperty("java.class.path");
+        List<Process> processes = new ArrayList<>();
+        SocketChannel[] channels = new SocketChannel[layout.workers()];
+        try {
+            for (int w = 0; w < layout.workers(); w++) {
+                processes.add(new ProcessBuilder(java, "-cp", classPath, ArenaWorker.class.getName(),
+                    String.valueOf(w), String.valueOf(layout.workers()),
+                    String.valueOf(layout.arenas()), String.valueOf(layout.charactersPerArena()))
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .start());
+            }
+            long deadline = System.nanoTime() + unit.toNanos(startupTimeout);
+            for (int w = 0; w < processes.size(); w++) {
+                int port = awaitReady(processes.get(w), deadline - System.nanoTime());
+                channels[w] = SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+                channels[w].setOption(StandardSocketOptions.TCP_NODELAY, true);
+            }
+            return new ArenaCoordinator(layout, processes, channels);
+        } catch (IOException | RuntimeException e) {
+            shutdown(processes, channels);
+            throw e;
+        }
+    }
+
+    private static int awaitReady(Process process, long timeoutNanos) throws IOException {
+        BufferedReader out = new BufferedReader(
+            new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        CompletableFuture<String> line = CompletableFuture.supplyAsync(() -> {
+            try {
+                return out.readLine();
+            } catch (IOException e) {
+                return null;
+            }
+        });
+        String ready;
+        try {
+            ready = line.get(Math.max(0, timeoutNanos), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Worker did not start in time");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while starting workers");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Worker failed to start", e.getCause());
+        }
+        if (ready == null || !ready.startsWith(ArenaWorker.READY)) {
+            throw new IllegalStateException("Worker failed to start: " + ready);
+        }
+        return Integer.parseInt(ready.substring(ArenaWorker.READY.length()).trim());
+    }
+
+    public ArenaLayout getLayout() {
+        return layout;
+    }
+
+    public Result attack(int actor, int target) throws IOException {
+        return execute(new Request(BattleProtocol.ATTACK, actor, target, 0));
+    }
+
+    public Result heal(int target, int amount) throws IOException {
+        return execute(new Request(BattleProtocol.HEAL, target, target, amount));
+    }
+
+    public Result sequence(int actor, int target, int kind) throws IOException {
+        return execute(new Request(BattleProtocol.SEQUENCE, actor, target, kind));
+    }
+
+    public Result execute(Request request) throws IOException {
+        return executeAll(List.of(request)).get(0);
+    }
+
+    /**
+     * Execute a batch of commands, each on the worker that owns its arena.
+     * Commands for the same worker run in list order; different workers
+     * run concurrently.
+     *
+     * If a worker fails, its connection is closed and the batch throws once
+     * every other worker's outstanding responses have been read, so those
+     * workers keep serving later calls; commands for the failed worker then
+     * fail straight away.
+     *
+     * @return one result per request, in list order
+     * @throws IllegalArgumentException if a command spans two arenas
+     * @throws IOException if a worker involved in the batch failed
+     */
+    public List<Result> executeAll(List<Request> batch) throws IOException {
+        int[] workerOf = new int[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            Request request = batch.get(i);
+            if (layout.arenaOf(request.actor()) != layout.arenaOf(request.target())) {
+                throw new IllegalArgumentException("Characters " + request.actor() + " and "
+                    + request.target() + " are in different arenas");
+            }
+            workerOf[i] = layout.workerOf(request.target());
+            if (failures[workerOf[i]] != null) {
+                throw new IOException("Worker " + workerOf[i] + " has failed", failures[workerOf[i]]);
+            }
+        }
+
+        Result[] results = new Result[batch.size()];
+        int[] requestIds = new int[batch.size()];
+        int[] nextToSend = new int[channels.length];
+        IOException failure = null;
+        boolean pending = true;
+        while (pending && failure == null) {
+            pending = false;
+            // Send up to a window per worker, then collect those responses
+            int[][] windows = new int[channels.length][];
+            for (int w = 0; w < channels.length; w++) {
+                windows[w] = nextWindow(workerOf, w, nextToSend);
+                for (int i : windows[w]) {
+                    Request request = batch.get(i);
+                    requestIds[i] = nextRequestId++;
+                    BattleProtocol.putRequest(requests[w], request.op(), requestIds[i],
+                        layout.localIndex(request.actor()), layout.localIndex(request.target()),
+                        request.amount());
+                }
+                requests[w].flip();
+                try {
+                    while (requests[w].hasRemaining()) channels[w].write(requests[w]);
+                } catch (IOException e) {
+                    failure = fail(w, failure, e);
+                    windows[w] = new int[0];
+                } finally {
+                    requests[w].clear();
+                }
+            }
+            for (int w = 0; w < channels.length; w++) {
+                try {
+                    for (int i : windows[w]) {
+                        results[i] = readResult(channels[w], requestIds[i]);
+                    }
+                } catch (IOException e) {
+                    failure = fail(w, failure, e);
+                }
+                pending |= windows[w].length > 0;
+            }
+        }
+        if (failure != null) throw failure;
+        return List.of(results);
+    }
+
+    /**
+     * Close a worker's connection and remember why, so later commands for
+     * it fail with the original cause.
+     *
+     * @return the first failure of the batch
+     */
+    private IOException fail(int worker, IOException first, IOException cause) {
+        failures[worker] = cause;
+        try {
+            channels[worker].close();
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+        }
+        IOException failure = new IOException("Worker " + worker + " failed: " + cause.getMessage(), cause);
+        if (first == null) return failure;
+        first.addSuppressed(failure);
+        return first;
+    }
+
+    private static int[] nextWindow(int[] workerOf, int worker, int[] nextToSend) {
+        int[] window = new int[WINDOW];
+        int count = 0;
+        int i = nextToSend[worker];
+        for (; i < workerOf.length && count < WINDOW; i++) {
+            if (workerOf[i] == worker) window[count++] = i;
+        }
+        nextToSend[worker] = i;
+        return Arrays.copyOf(window, count);
+    }
+
+    /**
+     * Read the response to the request with the given id. Any framing error
+     * or out-of-order response is an IOException, and the caller gives up on
+     * the connection: the responses after it can no longer be matched to
+     * their requests.
+     */
+    private Result readResult(SocketChannel channel, int requestId) throws IOException {
+        response.clear();
+        while (response.hasRemaining()) {
+            if (channel.read(response) < 0) throw new IOException("Worker closed its connection");
+        }
+        response.flip();
+        if (response.getInt() != BattleProtocol.RESPONSE_PAYLOAD) throw new IOException("Bad response frame");
+        byte status = response.get();
+        int id = response.getInt();
+        if (id != requestId) {
+            throw new IOException("Response to request " + id + " where " + requestId + " was expected");
+        }
+        return new Result(status, response.getInt(), response.getInt());
+    }
+
+    /**
+     * Disconnect and stop every worker process.
+     */
+    @Override
+    public void close() {
+        shutdown(processes, channels);
+    }
+
+    private static void shutdown(List<Process> processes, SocketChannel[] channels) {
+        for (SocketChannel channel : channels) {
+            if (channel == null) continue;
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Worker is going away anyway
+            }
+        }
+        for (Process process : processes) {
+            try {
+                process.getOutputStream().close();
+                if (!process.waitFor(5, TimeUnit.SECONDS)) process.destroyForcibly();
+            } catch (IOException e) {
+                process.destroyForcibly();
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package edu.trincoll.game.arena;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterType;
+
+/**
+ * How a multi-process world is split between worker processes.
+ *
+ * The world has {@code arenas} arenas of {@code charactersPerArena}
+ * characters each. A character's global id is
+ * {@code arena * charactersPerArena + slot}; arena {@code a} belongs to
+ * worker {@code a % workers}. Each worker holds its arenas back to back,
+ * so a global id maps to a local index on its worker without any lookup
+ * table. The coordinator and every worker build the same layout from the
+ * same three numbers, so they agree on who owns what.
+ *
+ * Characters cycle through the CharacterTypes by slot.
+ */
+public record ArenaLayout(int workers, int arenas, int charactersPerArena) {
+
+    public ArenaLayout {
+        if (workers <= 0) throw new IllegalArgumentException("workers must be positive");
+        if (arenas < workers) throw new IllegalArgumentException("need at least one arena per worker");
+        if (charactersPerArena <= 0) throw new IllegalArgumentException("charactersPerArena must be positive");
+        if ((long) arenas * charactersPerArena > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("world is too large");
+        }
+    }
+
+    public int characterCount() {
+        return arenas * charactersPerArena;
+    }
+
+    public int arenaOf(int characterId) {
+        checkId(characterId);
+        return characterId / charactersPerArena;
+    }
+
+    public int workerOf(int characterId) {
+        return arenaOf(characterId) % workers;
+    }
+
+    /**
+     * Index of the character in its worker's roster.
+     */
+    public int localIndex(int characterId) {
+        int arena = arenaOf(characterId);
+        return (arena / workers) * charactersPerArena + characterId % charactersPerArena;
+    }
+
+    /**
+     * Number of arenas owned by a worker.
+     */
+    public int arenasOf(int worker) {
+        return (arenas - worker + workers - 1) / workers;
+    }
+
+    /**
+     * Spawn the characters a worker owns, indexed by local index.
+     */
+    public Character[] spawn(int worker) {
+        if (worker < 0 || worker >= workers) throw new IllegalArgumentException("no such worker: " + worker);
+        CharacterType[] types = CharacterType.values();
+        Character[] characters = new Character[arenasOf(worker) * charactersPerArena];
+        for (int local = 0; local < characters.length; local++) {
+            int arena = (local / charactersPerArena) * workers + worker;
+            int slot = local % charactersPerArena;
+            characters[local] = CharacterFactory.createCharacter(
+                "A" + arena + "-" + slot, types[slot % types.length]);
+        }
+        return characters;
+    }
+
+    private void checkId(int characterId) {
+        if (characterId < 0 || characterId >= characterCount()) {
+            throw new IllegalArgumentException("no such character: " + characterId);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package edu.trincoll.game.arena;
+
+import edu.trincoll.game.command.AttackCommand;
+import edu.trincoll.game.command.CommandInvoker;
+import edu.trincoll.game.model.Character;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * One partition of a {@link ShardedArena}.
+ *
+ * A shard's characters, CommandInvoker and engagement table are only
+ * touched by the shard's own worker thread. Attacks on characters in
+ * other shards leave as strike messages (target slot + raw damage) on a
+ * per-destination SPSC queue; the receiving shard applies them with
+ * takeDamage() on its own thread.
+ *
+ * Other shards only see a shard's characters through its published
+ * health: one slot per character, written by the owner with release
+ * semantics after every change. To compute damage against a remote
+ * target, an attacker strikes its own shadow copy of that target, with
+ * the copy's health refreshed from the published value.
+ */
+public class ArenaShard {
+    private final int index;
+    private final List<Character> characters = new ArrayList<>();
+    private int[] targets = new int[16];
+    private final CommandInvoker invoker = new CommandInvoker();
+    private SpscLongQueue[] inboxes;  // inboxes[from]
+    private SpscLongQueue[] outboxes; // outboxes[to]
+    private ArenaShard[] peers;      // peers[shard], including this one
+    private AtomicIntegerArray health = new AtomicIntegerArray(0);
+    private Character[] shadows;     // shadows[slot]: copy of a remote target
+    private long strikesSent;
+    private long strikesReceived;
+    private long localAttacks;
+
+    ArenaShard(int index) {
+        this.index = index;
+    }
+
+    void connect(ArenaShard[] peers, SpscLongQueue[] inboxes, SpscLongQueue[] outboxes) {
+        this.peers = peers;
+        this.inboxes = inboxes;
+        this.outboxes = outboxes;
+    }
+
+    /**
+     * Publish every character's health and build shadows for remote
+     * targets. Called before the worker threads start, so reading other
+     * shards' characters here is safe.
+     */
+    void prepare() {
+        health = new AtomicIntegerArray(characters.size());
+        shadows = new Character[characters.size()];
+        for (int slot = 0; slot < characters.size(); slot++) {
+            publish(slot);
+            int targetId = targets[slot];
+            if (targetId >= 0 && ShardedArena.shardOf(targetId) != index) {
+                Character target = peers[ShardedArena.shardOf(targetId)].get(ShardedArena.slotOf(targetId));
+                shadows[slot] = target.copy(target.getName());
+            }
+        }
+    }
+
+    /**
+     * Health of a character as last published by this shard's worker.
+     * Safe to call from any thread.
+     */
+    public int publishedHealth(int slot) {
+        return health.get(slot);
+    }
+
+    private void publish(int slot) {
+        health.lazySet(slot, characters.get(slot).getStats().health());
+    }
+
+    int add(Character character) {
+        int slot = characters.size();
+        characters.add(character);
+        if (slot == targets.length) {
+            targets = Arrays.copyOf(targets, slot * 2);
+        }
+        targets[slot] = -1;
+        return slot;
+    }
+
+    void setTarget(int slot, int targetId) {
+        targets[slot] = targetId;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public int size() {
+        return characters.size();
+    }
+
+    public Character get(int slot) {
+        return characters.get(slot);
+    }
+
+    public CommandInvoker getInvoker() {
+        return invoker;
+    }
+
+    public long getStrikesSent() {
+        return strikesSent;
+    }
+
+    public long getStrikesReceived() {
+        return strikesReceived;
+    }
+
+    public long getLocalAttacks() {
+        return localAttacks;
+    }
+
+    /**
+     * One tick: apply incoming strikes, then every living character with a
+     * living target attacks it once.
+     */
+    void tick() {
+        drainInboxes();
+        for (int slot = 0; slot < characters.size(); slot++) {
+            int targetId = targets[slot];
+            Character attacker = characters.get(slot);
+            if (targetId < 0 || attacker.isDead()) continue;
+            int targetShard = ShardedArena.shardOf(targetId);
+            int targetSlot = ShardedArena.slotOf(targetId);
+            if (targetShard == index) {
+                Character target = characters.get(targetSlot);
+                if (target.isAlive()) {
+                    invoker.executeCommand(new AttackCommand(attacker, target));
+                    publish(targetSlot);
+                    publish(slot);
+                    localAttacks++;
+                }
+            } else {
+                int targetHealth = peers[targetShard].publishedHealth(targetSlot);
+                if (targetHealth > 0) {
+                    Character shadow = shadows[slot];
+                    shadow.setHealth(targetHealth);
+                    sendStrike(targetShard, targetSlot, attacker.attack(shadow));
+                    publish(slot);
+                }
+            }
+        }
+        // Arena turns are never undone, so history would only grow
+        invoker.clearHistory();
+    }
+
+    private void sendStrike(int targetShard, int slot, int rawDamage) {
+        long message = ((long) slot << 32) | (rawDamage & 0xFFFFFFFFL);
+        while (!outboxes[targetShard].offer(message)) {
+            // Destination is backed up: make progress on our own inbox so two
+            // full shards cannot wait on each other forever
+            if (drainInboxes() == 0) Thread.onSpinWait();
+        }
+        strikesSent++;
+    }
+
+    int drainInboxes() {
+        int drained = 0;
+        for (SpscLongQueue inbox : inboxes) {
+            if (inbox != null) {
+                drained += inbox.drain(this::applyStrike);
+            }
+        }
+        return drained;
+    }
+
+    private void applyStrike(long message) {
+        int slot = (int) (message >>> 32);
+        characters.get(slot).takeDamage((int) message);
+        publish(slot);
+        strikesReceived++;
+    }
+}
@@ -0,0 +1,46 @@
+package edu.trincoll.game.arena;
+
+import edu.trincoll.game.command.CommandInvoker;
+import edu.trincoll.game.net.BattleServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+
+/**
+ * Entry point of a worker process started by {@link ArenaCoordinator}.
+ *
+ * Usage: {@code ArenaWorker <worker> <workers> <arenas> <charactersPerArena>}
+ *
+ * The worker spawns the characters its arenas hold, serves them on a
+ * loopback {@link BattleServer} with its own CommandInvoker, and prints
+ * {@code READY <port>} on standard output. It shuts down when standard
+ * input closes, which happens when the coordinator closes or dies.
+ */
+public final class ArenaWorker {
+    static final String READY = "READY ";
+
+    private ArenaWorker() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 4) {
+            System.err.println("Usage: ArenaWorker <worker> <workers> <arenas> <charactersPerArena>");
+            System.exit(2);
+        }
+        int worker = Integer.parseInt(args[0]);
+        ArenaLayout layout = new ArenaLayout(
+            Integer.parseInt(args[1]), Integer.parseInt(args[2]), Integer.parseInt(args[3]));
+
+        try (BattleServer server = new BattleServer(layout.spawn(worker), new CommandInvoker())) {
+            server.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            System.out.println(READY + server.getAddress().getPort());
+            System.out.flush();
+            InputStream in = System.in;
+            while (in.read() >= 0) {
+                // Wait for the coordinator to close our stdin
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package edu.trincoll.game.arena;
+
+import edu.trincoll.game.model.Character;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Arena runtime partitioned into shards, one worker thread per shard.
+ *
+ * Characters are spawned into a shard and addressed by a global id that
+ * encodes (shard, slot). Each character can be engaged with a target
+ * anywhere in the arena. During {@link #run(int)} every shard's thread
+ * ticks independently: local attacks go through the shard's own
+ * CommandInvoker with no locking, while attacks into other shards are
+ * sent as strike messages over bounded SPSC queues (one per ordered pair
+ * of shards) and applied by the owning shard.
+ *
+ * Raw damage for a cross-shard strike is computed on the attacker's shard
+ * from the target's most recently published health, which may be a tick
+ * stale; no shard ever reads another shard's Character objects while
+ * running. Shards do not tick in lockstep, so cross-shard results depend on
+ * timing; purely local battles are deterministic.
+ *
+ * Java cannot pin threads to cores, so "thread per core" means creating
+ * no more shards than available processors and letting the OS scheduler
+ * keep each worker on its own core.
+ */
+public class ShardedArena {
+    static final int SLOT_BITS = 20;
+    static final int SLOT_MASK = (1 << SLOT_BITS) - 1;
+
+    private final ArenaShard[] shards;
+
+    /**
+     * @param shardCount    number of shards (and worker threads)
+     * @param queueCapacity capacity of each cross-shard message queue
+     */
+    public ShardedArena(int shardCount, int queueCapacity) {
+        if (shardCount <= 0 || shardCount > (Integer.MAX_VALUE >>> SLOT_BITS)) {
+            throw new IllegalArgumentException("invalid shard count: " + shardCount);
+        }
+        shards = new ArenaShard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new ArenaShard(i);
+        }
+        SpscLongQueue[][] queues = new SpscLongQueue[shardCount][shardCount]; // [from][to]
+        for (int from = 0; from < shardCount; from++) {
+            for (int to = 0; to < shardCount; to++) {
+                if (from != to) queues[from][to] = new SpscLongQueue(queueCapacity);
+            }
+        }
+        for (int i = 0; i < shardCount; i++) {
+            SpscLongQueue[] inboxes = new SpscLongQueue[shardCount];
+            for (int from = 0; from < shardCount; from++) {
+                inboxes[from] = queues[from][i];
+            }
+            shards[i].connect(shards, inboxes, queues[i]);
+        }
+    }
+
+    public static int shardOf(int id) {
+        return id >>> SLOT_BITS;
+    }
+
+    public static int slotOf(int id) {
+        return id & SLOT_MASK;
+    }
+
+    public int shardCount() {
+        return shards.length;
+    }
+
+    public ArenaShard shard(int index) {
+        return shards[index];
+    }
+
+    /**
+     * Place a character in a shard. Must be called before run().
+     *
+     * @return the character's global id
+     */
+    public int spawn(int shard, Character character) {
+        if (character == null) throw new IllegalArgumentException("character cannot be null");
+        int slot = shards[shard].add(character);
+        if (slot > SLOT_MASK) throw new IllegalStateException("shard " + shard + " is full");
+        return (shard << SLOT_BITS) | slot;
+    }
+
+    public Character get(int id) {
+        return shards[shardOf(id)].get(slotOf(id));
+    }
+
+    /**
+     * Make the attacker strike the target every tick while both are alive.
+     * Must be called before run().
+     */
+    public void engage(int attackerId, int targetId) {
+        get(targetId); // validate
+        shards[shardOf(attackerId)].setTarget(slotOf(attackerId), targetId);
+    }
+
+    /**
+     * Run every shard for the given number of ticks on its own thread,
+     * then deliver any strikes still in flight.
+     *
+     * @throws IllegalStateException if a shard's worker failed
+     */
+    public void run(int ticks) throws InterruptedException {
+        for (ArenaShard shard : shards) {
+            shard.prepare();
+        }
+        Thread[] workers = new Thread[shards.length];
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        AtomicInteger ticking = new AtomicInteger(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            ArenaShard shard = shards[i];
+            workers[i] = new Thread(() -> {
+                try {
+                    for (int t = 0; t < ticks; t++) {
+                        shard.tick();
+                    }
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    ticking.decrementAndGet();
+                }
+                // Keep consuming until every shard is done, so a busy shard
+                // never blocks forever on a full queue to a finished one
+                while (ticking.get() > 0) {
+                    if (shard.drainInboxes() == 0) Thread.onSpinWait();
+                }
+                // No shard sends once it stops ticking, so this picks up the rest
+                shard.drainInboxes();
+            }, "arena-shard-" + i);
+            workers[i].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        if (failure.get() != null) {
+            throw new IllegalStateException("Arena shard failed", failure.get());
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package edu.trincoll.game.arena;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+/**
+ * Bounded lock-free queue of longs for exactly one producer thread and one
+ * consumer thread.
+ *
+ * Messages are packed into longs so sending never allocates. Each side
+ * caches the other side's position and only re-reads the shared counter
+ * when the cached value says the queue looks full (producer) or empty
+ * (consumer).
+ */
+public class SpscLongQueue {
+    private final long[] buffer;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private long cachedHead; // producer's view of head
+    private long cachedTail; // consumer's view of tail
+
+    /**
+     * @param capacity maximum queued messages, rounded up to a power of two
+     */
+    public SpscLongQueue(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be positive");
+        int size = Integer.bitCount(capacity) == 1 ? capacity : Integer.highestOneBit(capacity) << 1;
+        this.buffer = new long[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Producer side: enqueue a message.
+     *
+     * @return false if the queue is full
+     */
+    public boolean offer(long message) {
+        long t = tail.get();
+        if (t - cachedHead > mask) {
+            cachedHead = head.get();
+            if (t - cachedHead > mask) return false;
+        }
+        buffer[(int) (t & mask)] = message;
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    /**
+     * Consumer side: hand every queued message to the consumer.
+     *
+     * @return the number of messages drained
+     */
+    public int drain(LongConsumer consumer) {
+        long h = head.get();
+        if (h >= cachedTail) {
+            cachedTail = tail.get();
+            if (h >= cachedTail) return 0;
+        }
+        long end = cachedTail;
+        int drained = 0;
+        while (h < end) {
+            consumer.accept(buffer[(int) (h & mask)]);
+            h++;
+            drained++;
+            head.lazySet(h);
+        }
+        return drained;
+    }
+
+    public int capacity() {
+        return buffer.length;
+    }
+
+    public boolean isEmpty() {
+        return head.get() >= tail.get();
+    }
+}
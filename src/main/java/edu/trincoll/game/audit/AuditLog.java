@@ -0,0 +1,247 @@
+package edu.trincoll.game.audit;
+
+import edu.trincoll.game.replay.CommandSink;
+import edu.trincoll.game.replay.Roster;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Structured, binary audit log for game commands.
+ *
+ * Instead of calling GameCommand.getDescription() (a String.format per
+ * command), the game thread appends fixed-width records - opcode, actor id,
+ * target id, amount - into a preallocated ring. A background writer thread
+ * drains the ring through one reusable buffer into the output stream.
+ * Text is only produced later, by {@link AuditLogReader}, when someone
+ * actually reads the log.
+ *
+ * Plug it into a RecordingCommandInvoker to audit every command:
+ * <pre>
+ * AuditLog audit = new AuditLog(roster, 1 &lt;&lt; 16, out);
+ * CommandInvoker invoker = new RecordingCommandInvoker(audit, characters, 0);
+ * </pre>
+ *
+ * Commands other than attack and heal are recorded under OTHER with an
+ * interned class id and their getDescription() text; the class name is
+ * written once, the first time the class is seen.
+ *
+ * append() is allocation-free and must be called from a single thread.
+ * When the ring is full the game thread waits for the writer to catch up.
+ * The writer thread sleeps while the ring is empty and is woken by append().
+ */
+public final class AuditLog implements CommandSink, AutoCloseable {
+    static final int MAGIC = 0x4741554C; // "GAUL"
+    static final int RECORD_INTS = 4;
+    static final int RECORD_BYTES = RECORD_INTS * Integer.BYTES;
+
+    // Record kinds followed by a UTF string: the command description for
+    // OTHER/UNDO_OTHER (actor = class id), the class name for TYPE_NAME
+    static final byte OTHER = 16;
+    static final byte UNDO_OTHER = 17;
+    static final byte TYPE_NAME = 18;
+    // writeUTF takes at most 65535 bytes, i.e. 21845 chars of 3 bytes each
+    static final int MAX_TEXT = 16_384;
+
+    private static final int DRAIN_BATCH = 1024;
+    private static final long IDLE_PARK_NANOS = 100_000;
+
+    private final int[] ring;
+    private final String[] texts;
+    private final int mask;
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong consumed = new AtomicLong();
+    private final OutputStream out;
+    private final DataOutputStream data;
+    private final Map<Class<?>, Integer> typeIds = new HashMap<>();
+    private final ByteBuffer buffer = ByteBuffer.allocate(DRAIN_BATCH * RECORD_BYTES);
+    private final Thread writer;
+    private final AtomicBoolean writerIdle = new AtomicBoolean();
+    private volatile boolean closed;
+    private volatile IOException failure;
+
+    /**
+     * @param roster   characters the ids refer to; written to the log header
+     * @param capacity ring size in records, rounded up to a power of two
+     * @param out      destination of the binary log (closed by {@link #close()})
+     */
+    public AuditLog(Roster roster, int capacity, OutputStream out) throws IOException {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be positive");
+        int records = Integer.bitCount(capacity) == 1 ? capacity : Integer.highestOneBit(capacity) << 1;
+        this.ring = new int[records * RECORD_INTS];
+        this.texts = new String[records];
+        this.mask = records - 1;
+        this.out = new BufferedOutputStream(out);
+        this.data = new DataOutputStream(this.out);
+        writeHeader(roster);
+        this.writer = new Thread(this::drainLoop, "audit-log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    private void writeHeader(Roster roster) throws IOException {
+        data.writeInt(MAGIC);
+        data.writeInt(roster.size());
+        for (int id = 0; id < roster.size(); id++) {
+            data.writeUTF(roster.getName(id));
+            data.writeByte(roster.getType(id).ordinal());
+        }
+        data.flush();
+    }
+
+    @Override
+    public void append(byte op, int actor, int target, int amount) {
+        put(op, actor, target, amount, null);
+    }
+
+    @Override
+    public boolean acceptsOtherCommands() {
+        return true;
+    }
+
+    /**
+     * Record a command without an opcode of its own. The description is
+     * held in the ring until the writer drains it; very long descriptions
+     * are truncated.
+     */
+    @Override
+    public void appendOther(boolean undo, Class<?> type, String description) {
+        if (type == null) throw new IllegalArgumentException("type cannot be null");
+        Integer typeId = typeIds.get(type);
+        if (typeId == null) {
+            typeId = typeIds.size();
+            typeIds.put(type, typeId);
+            put(TYPE_NAME, typeId, 0, 0, type.getName());
+        }
+        String text = description == null ? "" : description;
+        if (text.length() > MAX_TEXT) text = text.substring(0, MAX_TEXT);
+        put(undo ? UNDO_OTHER : OTHER, typeId, 0, 0, text);
+    }
+
+    private void put(byte op, int actor, int target, int amount, String text) {
+        if (closed) throw new IllegalStateException("Audit log is closed");
+        long sequence = published.get();
+        while (sequence - consumed.get() > mask) {
+            checkFailure();
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+        int slot = (int) (sequence & mask);
+        int offset = slot * RECORD_INTS;
+        ring[offset] = op;
+        ring[offset + 1] = actor;
+        ring[offset + 2] = target;
+        ring[offset + 3] = amount;
+        texts[slot] = text;
+        // Volatile store, so the writerIdle read below can't move ahead of it
+        published.set(sequence + 1);
+        if (writerIdle.get()) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * Number of records appended so far.
+     */
+    public long size() {
+        return published.get();
+    }
+
+    /**
+     * Block until every appended record has reached the output stream.
+     */
+    public void flush() throws IOException {
+        long target = published.get();
+        while (consumed.get() < target) {
+            if (failure != null) throw failure;
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+        synchronized (buffer) {
+            out.flush();
+        }
+    }
+
+    /**
+     * Drain outstanding records, stop the writer thread and close the stream.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        out.close();
+        if (failure != null) throw failure;
+    }
+
+    private void drainLoop() {
+        try {
+            while (true) {
+                boolean stopping = closed;
+                if (drainBatch() == 0) {
+                    if (stopping) break;
+                    awaitWork();
+                }
+            }
+            synchronized (buffer) {
+                out.flush();
+            }
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+
+    // Park until append() or close() wakes us. Setting writerIdle before
+    // re-checking published pairs with the volatile store in put(), so a
+    // record published while we go idle always gets an unpark.
+    private void awaitWork() {
+        writerIdle.set(true);
+        if (published.get() == consumed.get() && !closed) {
+            LockSupport.park(this);
+        }
+        writerIdle.set(false);
+    }
+
+    private int drainBatch() throws IOException {
+        long start = consumed.get();
+        int count = (int) Math.min(published.get() - start, DRAIN_BATCH);
+        if (count == 0) return 0;
+        synchronized (buffer) {
+            buffer.clear();
+            for (int i = 0; i < count; i++) {
+                int slot = (int) ((start + i) & mask);
+                int offset = slot * RECORD_INTS;
+                buffer.putInt(ring[offset]);
+                buffer.putInt(ring[offset + 1]);
+                buffer.putInt(ring[offset + 2]);
+                buffer.putInt(ring[offset + 3]);
+                String text = texts[slot];
+                if (text != null) {
+                    texts[slot] = null;
+                    out.write(buffer.array(), 0, buffer.position());
+                    buffer.clear();
+                    data.writeUTF(text);
+                }
+            }
+            consumed.lazySet(start + count);
+            out.write(buffer.array(), 0, buffer.position());
+        }
+        return count;
+    }
+
+    private void checkFailure() {
+        if (failure != null) throw new UncheckedIOException(failure);
+    }
+}
@@ -0,0 +1,148 @@
+package edu.trincoll.game.audit;
+
+import edu.trincoll.game.model.CharacterType;
+import edu.trincoll.game.replay.CommandLog;
+import edu.trincoll.game.replay.Roster;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads a binary log written by {@link AuditLog}.
+ *
+ * Records are decoded into plain fields with {@link #next()}; the text
+ * form is only built when {@link #describe()} is called, using the same
+ * wording as the commands' getDescription(). Commands recorded without an
+ * opcode of their own carry their description and class name, see
+ * {@link #text()} and {@link #commandType()}.
+ */
+public class AuditLogReader implements AutoCloseable {
+    private final DataInputStream in;
+    private final Roster roster;
+    private final List<String> typeNames = new ArrayList<>();
+
+    private byte op;
+    private int actor;
+    private int target;
+    private int amount;
+    private String text;
+
+    public AuditLogReader(InputStream in) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(in));
+        if (this.in.readInt() != AuditLog.MAGIC) {
+            throw new IOException("Not an audit log");
+        }
+        this.roster = new Roster();
+        int rosterSize = this.in.readInt();
+        CharacterType[] types = CharacterType.values();
+        for (int id = 0; id < rosterSize; id++) {
+            String name = this.in.readUTF();
+            roster.add(name, types[this.in.readUnsignedByte()]);
+        }
+    }
+
+    public Roster getRoster() {
+        return roster;
+    }
+
+    /**
+     * Advance to the next record.
+     *
+     * @return false when the end of the log has been reached
+     */
+    public boolean next() throws IOException {
+        while (true) {
+            try {
+                op = (byte) in.readInt();
+            } catch (EOFException e) {
+                return false;
+            }
+            actor = in.readInt();
+            target = in.readInt();
+            amount = in.readInt();
+            text = null;
+            if (op == AuditLog.TYPE_NAME) {
+                typeNames.add(in.readUTF());
+                continue;
+            }
+            if (op == AuditLog.OTHER || op == AuditLog.UNDO_OTHER) {
+                text = in.readUTF();
+            }
+            return true;
+        }
+    }
+
+    public byte op() {
+        return op;
+    }
+
+    public int actor() {
+        return actor;
+    }
+
+    public int target() {
+        return target;
+    }
+
+    public int amount() {
+        return amount;
+    }
+
+    /**
+     * Description of a command recorded without an opcode of its own, or
+     * null for attack and heal records.
+     */
+    public String text() {
+        return text;
+    }
+
+    /**
+     * Class name of the current record's command, or null for attack and
+     * heal records.
+     */
+    public String commandType() {
+        return text == null ? null : typeNames.get(actor);
+    }
+
+    /**
+     * Render the current record as text.
+     */
+    public String describe() {
+        return switch (op) {
+            case CommandLog.ATTACK -> String.format("%s attacks %s (%d damage)",
+                roster.getName(actor), roster.getName(target), amount);
+            case CommandLog.HEAL -> String.format("Heal %s for %d HP", roster.getName(target), amount);
+            case CommandLog.UNDO_ATTACK -> String.format("Undo: %s attacks %s (%d damage)",
+                roster.getName(actor), roster.getName(target), amount);
+            case CommandLog.UNDO_HEAL -> String.format("Undo: Heal %s for %d HP", roster.getName(target), amount);
+            case AuditLog.OTHER -> text;
+            case AuditLog.UNDO_OTHER -> "Undo: " + text;
+            default -> "Unknown command " + op;
+        };
+    }
+
+    /**
+     * Render a whole log file as text, one line per record.
+     */
+    public static List<String> readDescriptions(Path path) throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (AuditLogReader reader = new AuditLogReader(Files.newInputStream(path))) {
+            while (reader.next()) {
+                lines.add(reader.describe());
+            }
+        }
+        return lines;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -18,6 +18,8 @@
  */
 package edu.trincoll.game.command;
 
+import edu.trincoll.game.event.BattleEventSink;
+import edu.trincoll.game.event.BattleEventType;
 import edu.trincoll.game.model.Character;
 
 /**
@@ -36,21 +38,50 @@ import edu.trincoll.game.model.Character;
  *
  * Note: This is a simplified undo - in a real game, you'd need to
  * restore mana usage, status effects, etc.
+ *
+ * When given a BattleEventSink, execute() publishes DAMAGE_DEALT, plus
+ * MANA_SPENT and DIED when they apply.
  */
 public class AttackCommand implements GameCommand {
     private final Character attacker;
     private final Character target;
+    private final BattleEventSink events;
     private int damageDealt;
 
     public AttackCommand(Character attacker, Character target) {
+        this(attacker, target, null);
+    }
+
+    public AttackCommand(Character attacker, Character target, BattleEventSink events) {
         this.attacker = attacker;
         this.target = target;
+        this.events = events;
     }
     
  @Override
     public void execute() {
+        if (events != null) {
+            executeAndPublish();
+            return;
+        }
+        damageDealt = attacker.attack(target);
+        target.takeDamage(damageDealt);
+    }
+
+    private void executeAndPublish() {
+        int healthBefore = target.getStats().health();
+        int manaBefore = attacker.getStats().mana();
         damageDealt = attacker.attack(target);
         target.takeDamage(damageDealt);
+        int manaSpent = manaBefore - attacker.getStats().mana();
+        if (manaSpent > 0) {
+            events.publish(BattleEventType.MANA_SPENT, attacker, null, manaSpent);
+        }
+        events.publish(BattleEventType.DAMAGE_DEALT, attacker, target,
+            healthBefore - target.getStats().health());
+        if (healthBefore > 0 && target.isDead()) {
+            events.publish(BattleEventType.DIED, attacker, target, 0);
+        }
     }
 
     @Override
@@ -63,4 +94,19 @@ public class AttackCommand implements GameCommand {
     public String getDescription() {
         return String.format("%s attacks %s", attacker.getName(), target.getName());
     }
+
+    public Character getAttacker() {
+        return attacker;
+    }
+
+    public Character getTarget() {
+        return target;
+    }
+
+    /**
+     * Raw damage calculated by the last execute() (before the target's defense).
+     */
+    public int getDamageDealt() {
+        return damageDealt;
+    }
 }
@@ -18,6 +18,8 @@
  */
 package edu.trincoll.game.command;
 
+import edu.trincoll.game.metrics.CommandMetrics;
+
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Stack;
@@ -35,6 +37,20 @@ import java.util.Stack;
  */
 public class CommandInvoker {
     private final Stack<GameCommand> commandHistory = new Stack<>();
+    private final CommandMetrics metrics;
+
+    public CommandInvoker() {
+        this(null);
+    }
+
+    /**
+     * Create an invoker that times every execute and undo by command type.
+     *
+     * @param metrics where to record latencies, or null to disable timing
+     */
+    public CommandInvoker(CommandMetrics metrics) {
+        this.metrics = metrics;
+    }
 
     /**
      * TODO 4c: Implement executeCommand()
@@ -44,8 +60,15 @@ public class CommandInvoker {
      * 2. Add the command to history: commandHistory.push(command)
      */
     public void executeCommand(GameCommand command) {
-        command.execute();
+        if (metrics == null) {
+            command.execute();
+        } else {
+            long start = System.nanoTime();
+            command.execute();
+            metrics.recordExecute(command.getClass(), System.nanoTime() - start);
+        }
         commandHistory.push(command);
+        onExecuted(command);
     }
 
     /**
@@ -59,7 +82,38 @@ public class CommandInvoker {
     public void undoLastCommand() {
         if (commandHistory.isEmpty()) return;
         GameCommand command = commandHistory.pop();
-        command.undo();
+        if (metrics == null) {
+            command.undo();
+        } else {
+            long start = System.nanoTime();
+            command.undo();
+            metrics.recordUndo(command.getClass(), System.nanoTime() - start);
+        }
+        onUndone(command);
+    }
+
+    /**
+     * Hook method - called after a command has executed and been pushed to history.
+     * Default implementation does nothing.
+     * Subclasses can override to record, log or replicate commands.
+     */
+    protected void onExecuted(GameCommand command) {
+        // Default: do nothing
+    }
+
+    /**
+     * Hook method - called after a command has been undone and popped from history.
+     * Default implementation does nothing.
+     */
+    protected void onUndone(GameCommand command) {
+        // Default: do nothing
+    }
+
+    /**
+     * Metrics this invoker records into, or null if timing is disabled.
+     */
+    public CommandMetrics getMetrics() {
+        return metrics;
     }
 
     /**
@@ -18,6 +18,8 @@
  */
 package edu.trincoll.game.command;
 
+import edu.trincoll.game.event.BattleEventSink;
+import edu.trincoll.game.event.BattleEventType;
 import edu.trincoll.game.model.Character;
 
 /**
@@ -37,15 +39,24 @@ import edu.trincoll.game.model.Character;
  *    (Can't use takeDamage as it applies defense)
  *
  * Note: Need to track actual healing because you can't heal above max health.
+ *
+ * When given a BattleEventSink, execute() publishes HEALED with the
+ * healing actually done.
  */
 public class HealCommand implements GameCommand {
     private final Character target;
     private final int amount;
+    private final BattleEventSink events;
     private int actualHealingDone;
 
     public HealCommand(Character target, int amount) {
+        this(target, amount, null);
+    }
+
+    public HealCommand(Character target, int amount, BattleEventSink events) {
         this.target = target;
         this.amount = amount;
+        this.events = events;
     }
 
     @Override
@@ -54,6 +65,9 @@ public class HealCommand implements GameCommand {
         target.heal(amount);
         int after = target.getStats().health();
         actualHealingDone = after - before;
+        if (events != null) {
+            events.publish(BattleEventType.HEALED, null, target, actualHealingDone);
+        }
     }
 
     @Override
@@ -65,4 +79,19 @@ public class HealCommand implements GameCommand {
     public String getDescription() {
         return String.format("Heal %s for %d HP", target.getName(), amount);
     }
+
+    public Character getTarget() {
+        return target;
+    }
+
+    public int getAmount() {
+        return amount;
+    }
+
+    /**
+     * Healing actually applied by the last execute() (capped by max health).
+     */
+    public int getActualHealingDone() {
+        return actualHealingDone;
+    }
 }
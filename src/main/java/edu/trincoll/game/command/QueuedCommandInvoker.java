@@ -0,0 +1,282 @@
+package edu.trincoll.game.command;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Bounded command queue in front of a {@link CommandInvoker}, with
+ * admission control.
+ *
+ * Producers (network handlers, AI, input) submit commands from any thread;
+ * the game loop drains them and executes through the wrapped invoker.
+ * When commands arrive faster than they are executed, the queue never
+ * grows past its capacity. Instead producers get backpressure:
+ * - submit() without a timeout returns REJECTED immediately when full
+ * - submit() with a timeout blocks until there is room or the deadline passes
+ * - LOW priority commands are SHED once the queue reaches the shed threshold
+ * - with an eviction listener, a queued LOW command is evicted to make room
+ *   for a HIGH/NORMAL one, and the listener is told which command was
+ *   dropped; without one, admitted commands are never dropped
+ *
+ * Commands are executed highest priority first, FIFO within a priority.
+ */
+public class QueuedCommandInvoker {
+
+    public enum Priority {
+        HIGH,
+        NORMAL,
+        LOW
+    }
+
+    public enum Admission {
+        ACCEPTED,
+        REJECTED,
+        SHED,
+        TIMED_OUT
+    }
+
+    private final CommandInvoker invoker;
+    private final int capacity;
+    private final int shedThreshold;
+    private final List<ArrayDeque<GameCommand>> queues;
+    private final Consumer<GameCommand> evictionListener;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final Condition notEmpty = lock.newCondition();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private int depth;
+    private GameCommand evicted;
+
+    /**
+     * @param invoker       invoker that executes drained commands
+     * @param capacity      maximum number of queued commands
+     * @param shedThreshold queue depth at which LOW priority commands are shed
+     */
+    public QueuedCommandInvoker(CommandInvoker invoker, int capacity, int shedThreshold) {
+        this(invoker, capacity, shedThreshold, null);
+    }
+
+    /**
+     * @param evictionListener called, on the submitting thread and outside
+     *                         the queue's lock, with each queued LOW command
+     *                         evicted to make room; null disables eviction
+     */
+    public QueuedCommandInvoker(CommandInvoker invoker, int capacity, int shedThreshold,
+                                Consumer<GameCommand> evictionListener) {
+        if (invoker == null) throw new IllegalArgumentException("invoker cannot be null");
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be positive");
+        if (shedThreshold < 0 || shedThreshold > capacity) {
+            throw new IllegalArgumentException("shedThreshold must be between 0 and capacity");
+        }
+        this.invoker = invoker;
+        this.capacity = capacity;
+        this.shedThreshold = shedThreshold;
+        this.evictionListener = evictionListener;
+        this.queues = new ArrayList<>();
+        for (int i = 0; i < Priority.values().length; i++) {
+            queues.add(new ArrayDeque<>(capacity));
+        }
+    }
+
+    public CommandInvoker getInvoker() {
+        return invoker;
+    }
+
+    /**
+     * Submit a NORMAL priority command without waiting.
+     */
+    public Admission submit(GameCommand command) {
+        return submit(command, Priority.NORMAL);
+    }
+
+    /**
+     * Submit a command without waiting.
+     *
+     * @return ACCEPTED, REJECTED (queue full) or SHED (LOW priority under load)
+     */
+    public Admission submit(GameCommand command, Priority priority) {
+        validate(command, priority);
+        Admission admission;
+        GameCommand dropped;
+        lock.lock();
+        try {
+            admission = tryAdmit(command, priority);
+            dropped = takeEvicted();
+        } finally {
+            lock.unlock();
+        }
+        if (admission == Admission.REJECTED) rejected.increment();
+        reportEviction(dropped);
+        return admission;
+    }
+
+    /**
+     * Submit a command, waiting up to the timeout for room in the queue.
+     * LOW priority commands are still shed immediately under load.
+     *
+     * @return ACCEPTED, SHED or TIMED_OUT
+     */
+    public Admission submit(GameCommand command, Priority priority, long timeout, TimeUnit unit)
+            throws InterruptedException {
+        validate(command, priority);
+        long remaining = unit.toNanos(timeout);
+        Admission admission;
+        GameCommand dropped;
+        lock.lockInterruptibly();
+        try {
+            while ((admission = tryAdmit(command, priority)) == Admission.REJECTED && remaining > 0) {
+                remaining = notFull.awaitNanos(remaining);
+            }
+            dropped = takeEvicted();
+        } finally {
+            lock.unlock();
+        }
+        reportEviction(dropped);
+        if (admission == Admission.REJECTED) {
+            timedOut.increment();
+            return Admission.TIMED_OUT;
+        }
+        return admission;
+    }
+
+    private void validate(GameCommand command, Priority priority) {
+        if (command == null) throw new IllegalArgumentException("command cannot be null");
+        if (priority == null) throw new IllegalArgumentException("priority cannot be null");
+    }
+
+    // Caller must hold the lock. REJECTED is not counted here, since a
+    // blocking submit retries until its final outcome is known
+    private Admission tryAdmit(GameCommand command, Priority priority) {
+        if (priority == Priority.LOW && depth >= shedThreshold) {
+            shed.increment();
+            return Admission.SHED;
+        }
+        if (depth >= capacity) {
+            ArrayDeque<GameCommand> low = queues.get(Priority.LOW.ordinal());
+            if (priority == Priority.LOW || low.isEmpty() || evictionListener == null) {
+                return Admission.REJECTED;
+            }
+            evicted = low.pollLast();
+            depth--;
+            shed.increment();
+        }
+        queues.get(priority.ordinal()).addLast(command);
+        depth++;
+        accepted.increment();
+        notEmpty.signal();
+        return Admission.ACCEPTED;
+    }
+
+    // Caller must hold the lock
+    private GameCommand takeEvicted() {
+        GameCommand command = evicted;
+        evicted = null;
+        return command;
+    }
+
+    private void reportEviction(GameCommand command) {
+        if (command != null) {
+            evictionListener.accept(command);
+        }
+    }
+
+    /**
+     * Execute up to {@code maxCommands} queued commands on the calling thread.
+     *
+     * @return the number of commands executed
+     */
+    public int drain(int maxCommands) {
+        int executed = 0;
+        while (executed < maxCommands) {
+            GameCommand command;
+            lock.lock();
+            try {
+                command = poll();
+            } finally {
+                lock.unlock();
+            }
+            if (command == null) break;
+            invoker.executeCommand(command);
+            executed++;
+        }
+        return executed;
+    }
+
+    /**
+     * Wait up to the timeout for a command and execute it on the calling thread.
+     *
+     * @return true if a command was executed
+     */
+    public boolean executeNext(long timeout, TimeUnit unit) throws InterruptedException {
+        GameCommand command;
+        long remaining = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while ((command = poll()) == null) {
+                if (remaining <= 0) return false;
+                remaining = notEmpty.awaitNanos(remaining);
+            }
+        } finally {
+            lock.unlock();
+        }
+        invoker.executeCommand(command);
+        return true;
+    }
+
+    // Caller must hold the lock
+    private GameCommand poll() {
+        for (ArrayDeque<GameCommand> queue : queues) {
+            GameCommand command = queue.pollFirst();
+            if (command != null) {
+                depth--;
+                notFull.signal();
+                return command;
+            }
+        }
+        return null;
+    }
+
+    public int depth() {
+        lock.lock();
+        try {
+            return depth;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long acceptedCount() {
+        return accepted.sum();
+    }
+
+    /**
+     * Submits without a timeout that found the queue full.
+     */
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Blocking submits that gave up at their deadline.
+     */
+    public long timedOutCount() {
+        return timedOut.sum();
+    }
+
+    public long shedCount() {
+        return shed.sum();
+    }
+}
@@ -0,0 +1,354 @@
+package edu.trincoll.game.effect;
+
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CombatModifier;
+import edu.trincoll.game.template.TurnObserver;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.IntConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Status effects - poison, regeneration, shields and attack buffs - for
+ * any number of characters.
+ *
+ * Each effect type lives in its own {@link EffectTable}: primitive columns
+ * plus a timing wheel holding each effect's next pulse (poison,
+ * regeneration) or expiry (shield, buff). Advancing one tick only touches
+ * the effects due at that tick, so cost scales with due effects rather
+ * than with every effect alive. Per-character totals (shield points,
+ * attack bonus) are kept in arrays so combat never walks effect lists.
+ *
+ * Characters that receive an effect get this engine as their
+ * {@link CombatModifier}: buffs raise the damage they deal and shields
+ * absorb damage after defense. When a character's last effect ends the
+ * engine lets go of it - modifier, id and totals - so characters can come
+ * and go without the engine growing, and can move to another engine. When shields expire, damage already
+ * absorbed is charged to the shields that expire first.
+ *
+ * The engine is also a {@link TurnObserver}. Built with a clock (for
+ * example {@code battleLoop::now}) and attached through ObservedSequence,
+ * it catches up to the current tick at the start of every turn:
+ * <pre>
+ * EffectEngine effects = new EffectEngine(loop::now);
+ * ... new BattleLoop(ObservedSequence.observing(StandardBattleSequence::new, effects)) ...
+ * </pre>
+ *
+ * Not thread-safe; drive it from the game thread.
+ */
+public class EffectEngine implements CombatModifier, TurnObserver {
+    // Handle layout: type (8 bits) | slot generation (24 bits) | slot (32 bits)
+    private static final int TYPE_SHIFT = 56;
+    private static final int GENERATION_SHIFT = 32;
+    private static final int GENERATION_MASK = (1 << 24) - 1;
+
+    private final LongSupplier clock;
+    private final EffectTable[] tables = new EffectTable[EffectType.values().length];
+    private final EffectTable poison;
+    private final EffectTable regeneration;
+    private final EffectTable shields;
+    private final EffectTable buffs;
+
+    private final Map<Character, Integer> ids = new IdentityHashMap<>();
+    private Character[] characters = new Character[16];
+    private int[] shieldPool = new int[16];
+    private int[] shieldGranted = new int[16];
+    private int[] attackBonus = new int[16];
+    private int[] effectCount = new int[16];
+    private int[] freeIds = new int[16];
+    private int freeIdCount;
+    private int nextId;
+
+    private final IntConsumer pulsePoison = this::pulsePoison;
+    private final IntConsumer pulseRegeneration = this::pulseRegeneration;
+    private final IntConsumer expireShield = this::expireShield;
+    private final IntConsumer expireBuff = this::expireBuff;
+
+    public EffectEngine() {
+        this(null);
+    }
+
+    /**
+     * @param clock source of the current tick, used by beginTurn(); may be null
+     */
+    public EffectEngine(LongSupplier clock) {
+        this.clock = clock;
+        for (int i = 0; i < tables.length; i++) {
+            tables[i] = new EffectTable(1024);
+        }
+        poison = tables[EffectType.POISON.ordinal()];
+        regeneration = tables[EffectType.REGENERATION.ordinal()];
+        shields = tables[EffectType.SHIELD.ordinal()];
+        buffs = tables[EffectType.ATTACK_BUFF.ordinal()];
+    }
+
+    /**
+     * Deal damage to the character every period ticks, pulses times.
+     *
+     * @return a handle for {@link #remove(long)}
+     */
+    public long poison(Character target, int damagePerPulse, int pulses, int period) {
+        return addPeriodic(EffectType.POISON, target, damagePerPulse, pulses, period);
+    }
+
+    /**
+     * Heal the character every period ticks, pulses times.
+     */
+    public long regenerate(Character target, int healPerPulse, int pulses, int period) {
+        return addPeriodic(EffectType.REGENERATION, target, healPerPulse, pulses, period);
+    }
+
+    /**
+     * Absorb up to the given amount of damage for duration ticks.
+     */
+    public long shield(Character target, int amount, int duration) {
+        validate(amount, duration);
+        int id = register(target);
+        shieldPool[id] += amount;
+        shieldGranted[id] += amount;
+        return schedule(EffectType.SHIELD, shields.allocate(id, amount, duration, 1), duration);
+    }
+
+    /**
+     * Raise the character's outgoing damage by a percentage for duration ticks.
+     */
+    public long buffAttack(Character target, int percent, int duration) {
+        validate(percent, duration);
+        int id = register(target);
+        attackBonus[id] += percent;
+        return schedule(EffectType.ATTACK_BUFF, buffs.allocate(id, percent, duration, 1), duration);
+    }
+
+    private long addPeriodic(EffectType type, Character target, int amount, int pulses, int period) {
+        validate(amount, period);
+        if (pulses <= 0) throw new IllegalArgumentException("pulses must be positive");
+        int id = register(target);
+        return schedule(type, tables[type.ordinal()].allocate(id, amount, period, pulses), period);
+    }
+
+    private long schedule(EffectType type, int slot, int delay) {
+        EffectTable table = tables[type.ordinal()];
+        table.wheel.schedule(slot, now() + delay);
+        long generation = table.generation[slot] & GENERATION_MASK;
+        return ((long) type.ordinal() << TYPE_SHIFT) | (generation << GENERATION_SHIFT) | slot;
+    }
+
+    private static void validate(int amount, int ticks) {
+        if (amount < 0) throw new IllegalArgumentException("amount cannot be negative");
+        if (ticks <= 0) throw new IllegalArgumentException("duration must be positive");
+    }
+
+    /**
+     * End an effect early.
+     *
+     * @return true if the effect was still active
+     */
+    public boolean remove(long handle) {
+        EffectType type = typeOf(handle);
+        int slot = (int) handle;
+        EffectTable table = tables[type.ordinal()];
+        if (!isActive(table, handle)) return false;
+        switch (type) {
+            case SHIELD -> expireShield(slot);
+            case ATTACK_BUFF -> expireBuff(slot);
+            default -> release(table, slot);
+        }
+        return true;
+    }
+
+    public boolean isActive(long handle) {
+        return isActive(tables[typeOf(handle).ordinal()], handle);
+    }
+
+    private static boolean isActive(EffectTable table, long handle) {
+        int generation = (int) (handle >>> GENERATION_SHIFT) & GENERATION_MASK;
+        return table.isActive((int) handle, generation, GENERATION_MASK);
+    }
+
+    public static EffectType typeOf(long handle) {
+        return EffectType.values()[(int) (handle >>> TYPE_SHIFT)];
+    }
+
+    /**
+     * Current tick.
+     */
+    public long now() {
+        return poison.wheel.now();
+    }
+
+    /**
+     * Move forward one tick, applying every pulse and expiry due at it.
+     */
+    public void advance() {
+        poison.wheel.advance(pulsePoison);
+        regeneration.wheel.advance(pulseRegeneration);
+        shields.wheel.advance(expireShield);
+        buffs.wheel.advance(expireBuff);
+    }
+
+    /**
+     * Advance until the given tick has been processed.
+     */
+    public void advanceTo(long tick) {
+        while (now() < tick) {
+            advance();
+        }
+    }
+
+    @Override
+    public void beginTurn(Character attacker, Character defender) {
+        if (clock != null) advanceTo(clock.getAsLong());
+    }
+
+    public int activeCount() {
+        int count = 0;
+        for (EffectTable table : tables) {
+            count += table.activeCount();
+        }
+        return count;
+    }
+
+    public int activeCount(EffectType type) {
+        return tables[type.ordinal()].activeCount();
+    }
+
+    /**
+     * Damage the character's shields can still absorb.
+     */
+    public int shieldOf(Character character) {
+        Integer id = ids.get(character);
+        return id == null ? 0 : shieldPool[id];
+    }
+
+    /**
+     * Total attack bonus percentage currently applied to the character.
+     */
+    public int attackBonusOf(Character character) {
+        Integer id = ids.get(character);
+        return id == null ? 0 : attackBonus[id];
+    }
+
+    @Override
+    public int modifyOutgoingDamage(Character attacker, int damage) {
+        if (buffs.activeCount() == 0) return damage;
+        Integer id = ids.get(attacker);
+        return id == null ? damage : damage + damage * attackBonus[id] / 100;
+    }
+
+    @Override
+    public int modifyIncomingDamage(Character target, int damage) {
+        if (shields.activeCount() == 0) return damage;
+        Integer id = ids.get(target);
+        if (id == null) return damage;
+        int absorbed = Math.min(damage, shieldPool[id]);
+        shieldPool[id] -= absorbed;
+        return damage - absorbed;
+    }
+
+    private void pulsePoison(int slot) {
+        Character target = characters[poison.owner[slot]];
+        if (target.isDead()) {
+            release(poison, slot);
+            return;
+        }
+        target.setHealth(target.getStats().health() - poison.amount[slot]);
+        repeat(poison, slot, target);
+    }
+
+    private void pulseRegeneration(int slot) {
+        Character target = characters[regeneration.owner[slot]];
+        if (target.isDead()) {
+            release(regeneration, slot);
+            return;
+        }
+        target.heal(regeneration.amount[slot]);
+        repeat(regeneration, slot, target);
+    }
+
+    private void repeat(EffectTable table, int slot, Character target) {
+        if (--table.pulsesLeft[slot] > 0 && target.isAlive()) {
+            table.wheel.schedule(slot, now() + table.period[slot]);
+        } else {
+            release(table, slot);
+        }
+    }
+
+    private void expireShield(int slot) {
+        int id = shields.owner[slot];
+        shieldGranted[id] -= shields.amount[slot];
+        shieldPool[id] = Math.min(shieldPool[id], shieldGranted[id]);
+        release(shields, slot);
+    }
+
+    private void expireBuff(int slot) {
+        attackBonus[buffs.owner[slot]] -= buffs.amount[slot];
+        release(buffs, slot);
+    }
+
+    /**
+     * Free an effect's slot and, if it was its owner's last effect, the owner.
+     */
+    private void release(EffectTable table, int slot) {
+        int id = table.owner[slot];
+        table.release(slot);
+        if (--effectCount[id] == 0) {
+            unregister(id);
+        }
+    }
+
+    /**
+     * Id of the character, registering it if needed, counting one more
+     * effect on it.
+     */
+    private int register(Character character) {
+        if (character == null) throw new IllegalArgumentException("character cannot be null");
+        Integer existing = ids.get(character);
+        if (existing != null) {
+            effectCount[existing]++;
+            return existing;
+        }
+        if (character.getCombatModifier() != null && character.getCombatModifier() != this) {
+            throw new IllegalStateException(character.getName() + " already has a combat modifier");
+        }
+        int id;
+        if (freeIdCount > 0) {
+            id = freeIds[--freeIdCount];
+        } else {
+            id = nextId++;
+            if (id == characters.length) {
+                int capacity = id * 2;
+                characters = Arrays.copyOf(characters, capacity);
+                shieldPool = Arrays.copyOf(shieldPool, capacity);
+                shieldGranted = Arrays.copyOf(shieldGranted, capacity);
+                attackBonus = Arrays.copyOf(attackBonus, capacity);
+                effectCount = Arrays.copyOf(effectCount, capacity);
+                freeIds = Arrays.copyOf(freeIds, capacity);
+            }
+        }
+        characters[id] = character;
+        effectCount[id] = 1;
+        ids.put(character, id);
+        character.setCombatModifier(this);
+        return id;
+    }
+
+    private void unregister(int id) {
+        Character character = characters[id];
+        ids.remove(character);
+        if (character.getCombatModifier() == this) character.setCombatModifier(null);
+        characters[id] = null;
+        shieldPool[id] = 0;
+        shieldGranted[id] = 0;
+        attackBonus[id] = 0;
+        freeIds[freeIdCount++] = id;
+    }
+
+    /**
+     * Number of characters that currently have at least one effect.
+     */
+    public int characterCount() {
+        return ids.size();
+    }
+}
@@ -0,0 +1,90 @@
+package edu.trincoll.game.effect;
+
+import edu.trincoll.game.template.TimingWheel;
+
+import java.util.Arrays;
+
+/**
+ * Column storage for the active effects of one type.
+ *
+ * Each effect is a slot index into parallel primitive arrays; freed slots
+ * are reused through an intrusive free list. The slot is also the effect's
+ * id on this table's timing wheel, which holds its next pulse or expiry.
+ * Each slot has a generation, bumped on release, so a handle to an effect
+ * that has ended never matches the slot's next occupant.
+ */
+final class EffectTable {
+    private static final int NONE = -1;
+
+    final TimingWheel wheel;
+    int[] owner;
+    int[] amount;
+    int[] period;
+    int[] pulsesLeft;
+    int[] generation;
+    private int[] nextFree;
+    private int freeHead = NONE;
+    private int used;
+    private int active;
+
+    EffectTable(int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        wheel = new TimingWheel(capacity);
+        owner = new int[capacity];
+        amount = new int[capacity];
+        period = new int[capacity];
+        pulsesLeft = new int[capacity];
+        generation = new int[capacity];
+        nextFree = new int[capacity];
+        Arrays.fill(owner, NONE);
+    }
+
+    int allocate(int ownerId, int effectAmount, int effectPeriod, int pulses) {
+        int slot;
+        if (freeHead != NONE) {
+            slot = freeHead;
+            freeHead = nextFree[slot];
+        } else {
+            if (used == owner.length) grow();
+            slot = used++;
+        }
+        owner[slot] = ownerId;
+        amount[slot] = effectAmount;
+        period[slot] = effectPeriod;
+        pulsesLeft[slot] = pulses;
+        active++;
+        return slot;
+    }
+
+    void release(int slot) {
+        wheel.cancel(slot);
+        owner[slot] = NONE;
+        generation[slot]++;
+        nextFree[slot] = freeHead;
+        freeHead = slot;
+        active--;
+    }
+
+    /**
+     * @param slotGeneration generation the caller saw, compared under the mask
+     */
+    boolean isActive(int slot, int slotGeneration, int generationMask) {
+        return slot >= 0 && slot < used && owner[slot] != NONE
+            && (generation[slot] & generationMask) == slotGeneration;
+    }
+
+    int activeCount() {
+        return active;
+    }
+
+    private void grow() {
+        int capacity = owner.length * 2;
+        owner = Arrays.copyOf(owner, capacity);
+        amount = Arrays.copyOf(amount, capacity);
+        period = Arrays.copyOf(period, capacity);
+        pulsesLeft = Arrays.copyOf(pulsesLeft, capacity);
+        generation = Arrays.copyOf(generation, capacity);
+        nextFree = Arrays.copyOf(nextFree, capacity);
+        Arrays.fill(owner, used, capacity, NONE);
+    }
+}
@@ -0,0 +1,15 @@
+package edu.trincoll.game.effect;
+
+/**
+ * Kinds of status effect handled by the {@link EffectEngine}.
+ */
+public enum EffectType {
+    /** Damage every period, ignoring defense and shields. */
+    POISON,
+    /** Healing every period. */
+    REGENERATION,
+    /** Absorbs incoming damage until it expires. */
+    SHIELD,
+    /** Percentage bonus to outgoing damage until it expires. */
+    ATTACK_BUFF
+}
@@ -0,0 +1,54 @@
+package edu.trincoll.game.event;
+
+import edu.trincoll.game.model.Character;
+
+/**
+ * One preallocated slot of a {@link BattleEventRing}.
+ *
+ * The ring reuses its events, so handlers must copy anything they want to
+ * keep beyond the onEvent() call.
+ */
+public final class BattleEvent {
+    // Sequence of the event in this slot; -1 while the producer rewrites it
+    volatile long stamp = -1;
+    private BattleEventType type;
+    private Character source;
+    private Character target;
+    private int amount;
+
+    void set(BattleEventType type, Character source, Character target, int amount) {
+        this.type = type;
+        this.source = source;
+        this.target = target;
+        this.amount = amount;
+    }
+
+    void copyFrom(BattleEvent other) {
+        this.type = other.type;
+        this.source = other.source;
+        this.target = other.target;
+        this.amount = other.amount;
+    }
+
+    public BattleEventType getType() {
+        return type;
+    }
+
+    public Character getSource() {
+        return source;
+    }
+
+    public Character getTarget() {
+        return target;
+    }
+
+    public int getAmount() {
+        return amount;
+    }
+
+    @Override
+    public String toString() {
+        return type + "(" + (source == null ? "-" : source.getName()) + " -> "
+            + (target == null ? "-" : target.getName()) + ", " + amount + ")";
+    }
+}
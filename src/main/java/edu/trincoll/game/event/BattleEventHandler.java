@@ -0,0 +1,15 @@
+package edu.trincoll.game.event;
+
+/**
+ * Consumer of battle events, run on its own thread by a {@link BattleEventRing}.
+ */
+@FunctionalInterface
+public interface BattleEventHandler {
+
+    /**
+     * @param sequence   position of the event in the ring's stream
+     * @param endOfBatch true for the last event currently available, a good
+     *                   point to flush buffered output
+     */
+    void onEvent(BattleEvent event, long sequence, boolean endOfBatch) throws Exception;
+}
@@ -0,0 +1,242 @@
+package edu.trincoll.game.event;
+
+import edu.trincoll.game.model.Character;
+
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Battle event bus on a preallocated ring buffer, in the style of the
+ * LMAX Disruptor.
+ *
+ * The simulation thread is the single producer. publish() claims the next
+ * sequence number, fills the preallocated event in that slot and then
+ * advances the cursor; nothing is allocated and no lock is taken. Each
+ * handler runs on its own thread and tracks its own sequence, processing
+ * every event published since its last batch.
+ *
+ * What happens when a handler falls a full ring behind depends on the
+ * {@link Overflow} policy:
+ * - OVERWRITE (default): the producer never waits. The lagging handler
+ *   skips the events that were overwritten and counts them as lost.
+ * - BLOCK: the producer waits for the slowest handler, so no event is
+ *   ever lost. Publishing into a full ring that is not running (before
+ *   start() or after close()) throws IllegalStateException, since no
+ *   handler would ever make room.
+ *
+ * Handlers must be added before {@link #start()}.
+ */
+public class BattleEventRing implements BattleEventSink, AutoCloseable {
+
+    public enum Overflow {
+        OVERWRITE,
+        BLOCK
+    }
+
+    private static final long IDLE_PARK_NANOS = 50_000;
+
+    private final BattleEvent[] entries;
+    private final int mask;
+    private final Overflow overflow;
+    private final AtomicLong cursor = new AtomicLong(-1);
+    private final List<Processor> processors = new ArrayList<>();
+    private long nextSequence;
+    private long cachedGate = -1;
+    private volatile boolean started;
+    private volatile boolean running;
+
+    public BattleEventRing(int capacity) {
+        this(capacity, Overflow.OVERWRITE);
+    }
+
+    /**
+     * @param capacity number of slots, rounded up to a power of two
+     */
+    public BattleEventRing(int capacity, Overflow overflow) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be positive");
+        if (overflow == null) throw new IllegalArgumentException("overflow cannot be null");
+        int size = Integer.bitCount(capacity) == 1 ? capacity : Integer.highestOneBit(capacity) << 1;
+        this.entries = new BattleEvent[size];
+        for (int i = 0; i < size; i++) {
+            entries[i] = new BattleEvent();
+        }
+        this.mask = size - 1;
+        this.overflow = overflow;
+    }
+
+    /**
+     * Register a handler to run on its own thread once the ring starts.
+     */
+    public Processor addHandler(String name, BattleEventHandler handler) {
+        if (handler == null) throw new IllegalArgumentException("handler cannot be null");
+        if (started) throw new IllegalStateException("Handlers must be added before start()");
+        Processor processor = new Processor(name, handler);
+        processors.add(processor);
+        return processor;
+    }
+
+    public void start() {
+        if (started) throw new IllegalStateException("Ring already started");
+        started = true;
+        running = true;
+        for (Processor processor : processors) {
+            processor.thread.start();
+        }
+    }
+
+    /**
+     * @throws IllegalStateException in BLOCK mode, if the ring is full and not running
+     */
+    @Override
+    public void publish(BattleEventType type, Character source, Character target, int amount) {
+        long sequence = nextSequence;
+        if (overflow == Overflow.BLOCK) {
+            awaitCapacity(sequence - entries.length);
+        }
+        BattleEvent event = entries[(int) (sequence & mask)];
+        event.stamp = -1;
+        VarHandle.storeStoreFence();
+        event.set(type, source, target, amount);
+        event.stamp = sequence;
+        nextSequence = sequence + 1;
+        cursor.lazySet(sequence);
+    }
+
+    private void awaitCapacity(long wrapPoint) {
+        if (wrapPoint <= cachedGate) return;
+        int spins = 0;
+        while (wrapPoint > (cachedGate = minimumProcessed())) {
+            if (!running) {
+                throw new IllegalStateException(started
+                    ? "Ring is closed and full; the event would overwrite unread events"
+                    : "Ring is not started and full; the event would overwrite unread events");
+            }
+            if (++spins < 100) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(1_000);
+            }
+        }
+    }
+
+    private long minimumProcessed() {
+        long minimum = nextSequence - 1;
+        for (Processor processor : processors) {
+            minimum = Math.min(minimum, processor.sequence.get());
+        }
+        return minimum;
+    }
+
+    /**
+     * Number of events published so far.
+     */
+    public long publishedCount() {
+        return cursor.get() + 1;
+    }
+
+    public int capacity() {
+        return entries.length;
+    }
+
+    /**
+     * Let handlers finish every published event, then stop their threads.
+     */
+    @Override
+    public void close() {
+        if (!running) return;
+        running = false;
+        for (Processor processor : processors) {
+            LockSupport.unpark(processor.thread);
+        }
+        for (Processor processor : processors) {
+            try {
+                processor.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * One handler and the thread that feeds it.
+     */
+    public final class Processor {
+        private final BattleEventHandler handler;
+        private final Thread thread;
+        private final AtomicLong sequence = new AtomicLong(-1);
+        private final BattleEvent scratch = new BattleEvent();
+        private volatile long lost;
+        private volatile long errors;
+
+        private Processor(String name, BattleEventHandler handler) {
+            this.handler = handler;
+            this.thread = new Thread(this::run, name);
+            this.thread.setDaemon(true);
+        }
+
+        /**
+         * Sequence of the last event this handler finished.
+         */
+        public long getSequence() {
+            return sequence.get();
+        }
+
+        /**
+         * Events overwritten before this handler could read them.
+         */
+        public long getLost() {
+            return lost;
+        }
+
+        /**
+         * Events whose handler call threw an exception.
+         */
+        public long getErrors() {
+            return errors;
+        }
+
+        private void run() {
+            long next = 0;
+            while (true) {
+                boolean stopping = !running;
+                long available = cursor.get();
+                if (available < next) {
+                    if (stopping) break;
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    continue;
+                }
+                while (next <= available) {
+                    long oldest = cursor.get() - mask;
+                    if (next < oldest) {
+                        // Lapped by the producer (OVERWRITE only)
+                        lost += oldest - next;
+                        next = oldest;
+                        continue;
+                    }
+                    if (!read(next)) continue;
+                    try {
+                        handler.onEvent(scratch, next, next == available);
+                    } catch (Exception e) {
+                        errors++;
+                    }
+                    next++;
+                }
+                sequence.lazySet(next - 1);
+            }
+            sequence.set(next - 1);
+        }
+
+        // Copy the slot, then make sure the producer did not rewrite it meanwhile
+        private boolean read(long expected) {
+            BattleEvent event = entries[(int) (expected & mask)];
+            if (event.stamp != expected) return false;
+            scratch.copyFrom(event);
+            VarHandle.loadLoadFence();
+            return event.stamp == expected;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package edu.trincoll.game.event;
+
+import edu.trincoll.game.model.Character;
+
+/**
+ * Destination for battle events published by commands and sequences.
+ */
+public interface BattleEventSink {
+
+    /**
+     * Publish one event. Implementations must not allocate.
+     *
+     * @param source acting character, or null
+     * @param target affected character, or null
+     */
+    void publish(BattleEventType type, Character source, Character target, int amount);
+}
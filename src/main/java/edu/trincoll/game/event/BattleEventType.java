@@ -0,0 +1,19 @@
+package edu.trincoll.game.event;
+
+/**
+ * Kinds of event carried by the battle event bus.
+ */
+public enum BattleEventType {
+    /** Source damaged target; amount is the health actually lost. */
+    DAMAGE_DEALT,
+    /** Target was healed; amount is the health actually restored. */
+    HEALED,
+    /** Target died; source is the character that dealt the final blow, if known. */
+    DIED,
+    /** Source spent mana; amount is the mana used. */
+    MANA_SPENT,
+    /** A battle sequence turn started (source attacks target). */
+    TURN_STARTED,
+    /** A battle sequence turn ended. */
+    TURN_ENDED
+}
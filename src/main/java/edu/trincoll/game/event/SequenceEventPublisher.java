@@ -0,0 +1,60 @@
+package edu.trincoll.game.event;
+
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.template.TurnObserver;
+
+/**
+ * Publishes battle events for turns run by an ObservedSequence.
+ *
+ * Sequences change health directly rather than through commands, so the
+ * publisher snapshots the defender's health and the attacker's mana and
+ * health in beginTurn() and publishes the differences in endTurn():
+ * <pre>
+ * TurnObserver publisher = new SequenceEventPublisher(ring);
+ * new BattleLoop(ObservedSequence.observing(PowerAttackSequence::new, publisher));
+ * </pre>
+ * Use one publisher per simulation thread.
+ */
+public class SequenceEventPublisher implements TurnObserver {
+    private final BattleEventSink events;
+    private int defenderHealth;
+    private int attackerHealth;
+    private int attackerMana;
+
+    public SequenceEventPublisher(BattleEventSink events) {
+        if (events == null) throw new IllegalArgumentException("events cannot be null");
+        this.events = events;
+    }
+
+    @Override
+    public void beginTurn(Character attacker, Character defender) {
+        defenderHealth = defender.getStats().health();
+        attackerHealth = attacker.getStats().health();
+        attackerMana = attacker.getStats().mana();
+        events.publish(BattleEventType.TURN_STARTED, attacker, defender, 0);
+    }
+
+    @Override
+    public void endTurn(Character attacker, Character defender) {
+        int manaSpent = attackerMana - attacker.getStats().mana();
+        if (manaSpent > 0) {
+            events.publish(BattleEventType.MANA_SPENT, attacker, null, manaSpent);
+        }
+        int damage = defenderHealth - defender.getStats().health();
+        if (damage > 0) {
+            events.publish(BattleEventType.DAMAGE_DEALT, attacker, defender, damage);
+        }
+        if (defenderHealth > 0 && defender.isDead()) {
+            events.publish(BattleEventType.DIED, attacker, defender, 0);
+        }
+        // Self-inflicted, e.g. power attack recoil
+        int recoil = attackerHealth - attacker.getStats().health();
+        if (recoil > 0) {
+            events.publish(BattleEventType.DAMAGE_DEALT, attacker, attacker, recoil);
+        }
+        if (attackerHealth > 0 && attacker.isDead()) {
+            events.publish(BattleEventType.DIED, null, attacker, 0);
+        }
+        events.publish(BattleEventType.TURN_ENDED, attacker, defender, 0);
+    }
+}
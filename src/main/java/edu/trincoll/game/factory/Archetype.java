@@ -0,0 +1,19 @@
+package edu.trincoll.game.factory;
+
+import edu.trincoll.game.model.CharacterStats;
+import edu.trincoll.game.model.CharacterType;
+
+/**
+ * One archetype definition: a named character template with its stats and
+ * the ids of its strategies in a {@link StrategyRegistry}.
+ */
+public record Archetype(String name, CharacterType type, CharacterStats stats,
+                        String attackStrategy, String defenseStrategy) {
+    public Archetype {
+        if (name == null || name.isBlank()) throw new IllegalArgumentException("name cannot be blank");
+        if (type == null) throw new IllegalArgumentException("type cannot be null");
+        if (stats == null) throw new IllegalArgumentException("stats cannot be null");
+        if (attackStrategy == null) throw new IllegalArgumentException("attackStrategy cannot be null");
+        if (defenseStrategy == null) throw new IllegalArgumentException("defenseStrategy cannot be null");
+    }
+}
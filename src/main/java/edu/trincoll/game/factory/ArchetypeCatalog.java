@@ -0,0 +1,52 @@
+package edu.trincoll.game.factory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+/**
+ * Live view of an archetype definition file, for hot reload.
+ *
+ * current() returns the registry loaded last. reloadIfChanged() reloads
+ * when the file's modification time changes; if the new file is invalid
+ * the previous registry stays in place and the error is thrown to the
+ * caller. Readers never see a half-loaded registry.
+ */
+public class ArchetypeCatalog {
+    private final ArchetypeLoader loader;
+    private final Path source;
+    private final Path cache;
+    private volatile PrototypeRegistry current;
+    private FileTime loadedVersion;
+
+    /**
+     * Load the definitions now, using {@code cache} as the compiled cache.
+     */
+    public ArchetypeCatalog(ArchetypeLoader loader, Path source, Path cache) throws IOException {
+        if (loader == null) throw new IllegalArgumentException("loader cannot be null");
+        this.loader = loader;
+        this.source = source;
+        this.cache = cache;
+        reload();
+    }
+
+    public PrototypeRegistry current() {
+        return current;
+    }
+
+    /**
+     * @return true if the file had changed and was reloaded
+     */
+    public synchronized boolean reloadIfChanged() throws IOException {
+        if (Files.getLastModifiedTime(source).equals(loadedVersion)) return false;
+        reload();
+        return true;
+    }
+
+    private synchronized void reload() throws IOException {
+        FileTime version = Files.getLastModifiedTime(source);
+        current = loader.load(source, cache);
+        loadedVersion = version;
+    }
+}
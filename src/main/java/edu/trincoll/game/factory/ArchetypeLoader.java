@@ -0,0 +1,304 @@
+package edu.trincoll.game.factory;
+
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterStats;
+import edu.trincoll.game.model.CharacterType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * Loads character archetypes from definition files into a PrototypeRegistry.
+ *
+ * The text format has one archetype per line; '#' starts a comment:
+ * <pre>
+ * # name: TYPE health/attack/defense/mana attack-strategy defense-strategy
+ * Elite Mage: MAGE 120/70/15/200 magic standard
+ * </pre>
+ * Every archetype is validated once - stats, strategy ids, unique names -
+ * and built into a prototype.
+ *
+ * The compiled binary form holds the same archetypes as fixed-width
+ * records plus a string pool. It is read with a single file read and
+ * decoded without any text parsing. {@link #load(Path, Path)} keeps a
+ * binary cache next to the text file and only reparses the text when its
+ * checksum changes.
+ */
+public class ArchetypeLoader {
+    static final int MAGIC = 0x47415243; // "GARC"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 4 + 4 + 8 + 8;
+    static final int RECORD_BYTES = 28;
+
+    /** Classpath resource holding the standard archetypes. */
+    public static final String DEFAULT_RESOURCE = "/archetypes.txt";
+
+    private final StrategyRegistry strategies;
+
+    public ArchetypeLoader() {
+        this(StrategyRegistry.withDefaults());
+    }
+
+    public ArchetypeLoader(StrategyRegistry strategies) {
+        if (strategies == null) throw new IllegalArgumentException("strategies cannot be null");
+        this.strategies = strategies;
+    }
+
+    /**
+     * Load the standard archetypes shipped on the classpath.
+     */
+    public PrototypeRegistry loadDefaults() {
+        try (InputStream in = ArchetypeLoader.class.getResourceAsStream(DEFAULT_RESOURCE)) {
+            if (in == null) throw new IllegalStateException("Missing resource " + DEFAULT_RESOURCE);
+            return compile(parse(new String(in.readAllBytes(), StandardCharsets.UTF_8)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Load a text definition file, using and refreshing a compiled cache.
+     *
+     * @param source text definitions
+     * @param cache  compiled binary form; created or replaced when stale
+     */
+    public PrototypeRegistry load(Path source, Path cache) throws IOException {
+        byte[] text = Files.readAllBytes(source);
+        long checksum = checksum(text, 0, text.length);
+        if (Files.exists(cache)) {
+            byte[] compiled = Files.readAllBytes(cache);
+            if (isCurrent(compiled, checksum)) {
+                List<Archetype> cached = decodeOrNull(compiled);
+                if (cached != null) return compile(cached);
+            }
+        }
+        List<Archetype> archetypes = parse(new String(text, StandardCharsets.UTF_8));
+        PrototypeRegistry registry = compile(archetypes);
+        Path temp = cache.resolveSibling(cache.getFileName() + ".tmp");
+        Files.write(temp, encode(archetypes, checksum));
+        Files.move(temp, cache, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return registry;
+    }
+
+    /**
+     * Load a compiled file produced by {@link #encode(List, long)}.
+     */
+    public PrototypeRegistry loadCompiled(Path compiled) throws IOException {
+        return compile(decode(Files.readAllBytes(compiled)));
+    }
+
+    /**
+     * Parse text definitions.
+     *
+     * @throws IllegalArgumentException naming the line of the first bad definition
+     */
+    public static List<Archetype> parse(String text) {
+        List<Archetype> archetypes = new ArrayList<>();
+        String[] lines = text.split("\\R");
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i];
+            int comment = line.indexOf('#');
+            if (comment >= 0) line = line.substring(0, comment);
+            if (line.isBlank()) continue;
+            try {
+                archetypes.add(parseLine(line));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Line " + (i + 1) + ": " + e.getMessage(), e);
+            }
+        }
+        return archetypes;
+    }
+
+    private static Archetype parseLine(String line) {
+        int colon = line.indexOf(':');
+        if (colon < 0) throw new IllegalArgumentException("expected 'name: TYPE stats attack defense'");
+        String name = line.substring(0, colon).trim();
+        String[] fields = line.substring(colon + 1).trim().split("\\s+");
+        if (fields.length != 4) throw new IllegalArgumentException("expected TYPE, stats and two strategy ids");
+        CharacterType type;
+        try {
+            type = CharacterType.valueOf(fields[0].toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("unknown type " + fields[0]);
+        }
+        String[] numbers = fields[1].split("/");
+        if (numbers.length != 4) throw new IllegalArgumentException("stats must be health/attack/defense/mana");
+        int[] values = new int[4];
+        for (int i = 0; i < 4; i++) {
+            try {
+                values[i] = Integer.parseInt(numbers[i]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("bad number " + numbers[i]);
+            }
+        }
+        return new Archetype(name, type, CharacterStats.create(values[0], values[1], values[2], values[3]),
+            fields[2], fields[3]);
+    }
+
+    /**
+     * Validate archetypes and build them into a new registry.
+     */
+    public PrototypeRegistry compile(List<Archetype> archetypes) {
+        PrototypeRegistry registry = new PrototypeRegistry();
+        Set<String> names = new HashSet<>();
+        for (Archetype archetype : archetypes) {
+            if (!names.add(archetype.name())) {
+                throw new IllegalArgumentException("Duplicate archetype: " + archetype.name());
+            }
+            registry.register(archetype.name(), Character.builder()
+                .name(archetype.name())
+                .type(archetype.type())
+                .stats(archetype.stats())
+                .attackStrategy(strategies.attack(archetype.attackStrategy()))
+                .defenseStrategy(strategies.defense(archetype.defenseStrategy()))
+                .build());
+        }
+        return registry;
+    }
+
+    /**
+     * Encode archetypes into the compiled binary form.
+     *
+     * @param sourceChecksum checksum of the text they came from, or 0
+     */
+    public static byte[] encode(List<Archetype> archetypes, long sourceChecksum) {
+        Map<String, Integer> attackIds = new LinkedHashMap<>();
+        Map<String, Integer> defenseIds = new LinkedHashMap<>();
+        for (Archetype archetype : archetypes) {
+            attackIds.putIfAbsent(archetype.attackStrategy(), attackIds.size());
+            defenseIds.putIfAbsent(archetype.defenseStrategy(), defenseIds.size());
+        }
+        if (attackIds.size() > 255 || defenseIds.size() > 255) {
+            throw new IllegalArgumentException("At most 255 distinct strategies per kind");
+        }
+        byte[][] names = new byte[archetypes.size()][];
+        int poolBytes = 0;
+        for (int i = 0; i < names.length; i++) {
+            names[i] = archetypes.get(i).name().getBytes(StandardCharsets.UTF_8);
+            poolBytes += names[i].length;
+        }
+        int size = HEADER_BYTES + idsBytes(attackIds) + idsBytes(defenseIds)
+            + 4 + archetypes.size() * RECORD_BYTES + 4 + poolBytes;
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC).putInt(VERSION).putLong(sourceChecksum).putLong(0);
+        putIds(buffer, attackIds);
+        putIds(buffer, defenseIds);
+        buffer.putInt(archetypes.size());
+        int nameOffset = 0;
+        for (int i = 0; i < names.length; i++) {
+            Archetype archetype = archetypes.get(i);
+            CharacterStats stats = archetype.stats();
+            buffer.putInt(stats.maxHealth()).putInt(stats.attackPower())
+                .putInt(stats.defense()).putInt(stats.maxMana());
+            buffer.put((byte) archetype.type().ordinal())
+                .put((byte) (int) attackIds.get(archetype.attackStrategy()))
+                .put((byte) (int) defenseIds.get(archetype.defenseStrategy()))
+                .put((byte) 0);
+            buffer.putInt(nameOffset).putInt(names[i].length);
+            nameOffset += names[i].length;
+        }
+        buffer.putInt(poolBytes);
+        for (byte[] name : names) {
+            buffer.put(name);
+        }
+        byte[] bytes = buffer.array();
+        ByteBuffer.wrap(bytes).putLong(16, checksum(bytes, HEADER_BYTES, bytes.length - HEADER_BYTES));
+        return bytes;
+    }
+
+    /**
+     * Decode the compiled binary form.
+     *
+     * @throws IllegalArgumentException if the data is not a valid compiled file
+     */
+    public static List<Archetype> decode(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (bytes.length < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Not a compiled archetype file");
+        }
+        if (buffer.getLong(16) != checksum(bytes, HEADER_BYTES, bytes.length - HEADER_BYTES)) {
+            throw new IllegalArgumentException("Compiled archetype file is corrupt");
+        }
+        buffer.position(HEADER_BYTES);
+        String[] attackIds = getIds(buffer);
+        String[] defenseIds = getIds(buffer);
+        int count = buffer.getInt();
+        int records = buffer.position();
+        int pool = records + count * RECORD_BYTES + 4;
+        CharacterType[] types = CharacterType.values();
+        List<Archetype> archetypes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int at = records + i * RECORD_BYTES;
+            CharacterStats stats = CharacterStats.create(
+                buffer.getInt(at), buffer.getInt(at + 4), buffer.getInt(at + 8), buffer.getInt(at + 12));
+            String name = new String(bytes, pool + buffer.getInt(at + 20), buffer.getInt(at + 24),
+                StandardCharsets.UTF_8);
+            archetypes.add(new Archetype(name, types[bytes[at + 16]], stats,
+                attackIds[bytes[at + 17] & 0xFF], defenseIds[bytes[at + 18] & 0xFF]));
+        }
+        return archetypes;
+    }
+
+    private static List<Archetype> decodeOrNull(byte[] compiled) {
+        try {
+            return decode(compiled);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | BufferUnderflowException e) {
+            return null;
+        }
+    }
+
+    private static boolean isCurrent(byte[] compiled, long sourceChecksum) {
+        return compiled.length >= HEADER_BYTES
+            && ByteBuffer.wrap(compiled).getInt(0) == MAGIC
+            && ByteBuffer.wrap(compiled).getInt(4) == VERSION
+            && ByteBuffer.wrap(compiled).getLong(8) == sourceChecksum;
+    }
+
+    private static int idsBytes(Map<String, Integer> ids) {
+        int bytes = 1;
+        for (String id : ids.keySet()) {
+            bytes += 1 + id.getBytes(StandardCharsets.UTF_8).length;
+        }
+        return bytes;
+    }
+
+    private static void putIds(ByteBuffer buffer, Map<String, Integer> ids) {
+        buffer.put((byte) ids.size());
+        for (String id : ids.keySet()) {
+            byte[] utf8 = id.getBytes(StandardCharsets.UTF_8);
+            if (utf8.length > 255) throw new IllegalArgumentException("Strategy id too long: " + id);
+            buffer.put((byte) utf8.length).put(utf8);
+        }
+    }
+
+    private static String[] getIds(ByteBuffer buffer) {
+        String[] ids = new String[buffer.get() & 0xFF];
+        for (int i = 0; i < ids.length; i++) {
+            byte[] utf8 = new byte[buffer.get() & 0xFF];
+            buffer.get(utf8);
+            ids[i] = new String(utf8, StandardCharsets.UTF_8);
+        }
+        return ids;
+    }
+
+    private static long checksum(byte[] bytes, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, offset, length);
+        return crc.getValue();
+    }
+}
@@ -16,14 +16,53 @@ import edu.trincoll.game.strategy.RangedAttackStrategy;
 import edu.trincoll.game.strategy.StandardDefenseStrategy;
 import edu.trincoll.game.strategy.HeavyArmorDefenseStrategy;
 
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Supplier;
+
 /**
  * Factory for creating pre-configured characters.
  * Demonstrates the Factory Method pattern for object creation.
  *
  * This class provides static factory methods that create characters
  * with appropriate stats and strategies for their type.
+ *
+ * createCharacter() and the batch methods copy the archetype registered
+ * under the type's name in the current archetypes - by default the ones
+ * loaded from archetypes.txt. Point the factory at a hot-reloaded catalog
+ * with {@code CharacterFactory.useArchetypes(catalog::current)}.
  */
 public class CharacterFactory {
+    // Batches at least this large are filled in parallel chunks
+    static final int PARALLEL_THRESHOLD = 8192;
+
+    // Spawned characters share their archetype's immutable stats and
+    // stateless strategies instead of building new ones
+    private static volatile Supplier<PrototypeRegistry> archetypes = PrototypeRegistry::getDefault;
+
+    /**
+     * Spawn characters from the registry the supplier returns at each call,
+     * e.g. {@code catalog::current}. Each CharacterType must be registered
+     * under its name.
+     */
+    public static void useArchetypes(Supplier<PrototypeRegistry> source) {
+        if (source == null) throw new IllegalArgumentException("source cannot be null");
+        archetypes = source;
+    }
+
+    private static Character template(CharacterType type) {
+        return archetypes.get().get(type.name());
+    }
+
+    private static Character[] templates() {
+        PrototypeRegistry registry = archetypes.get();
+        CharacterType[] types = CharacterType.values();
+        Character[] templates = new Character[types.length];
+        for (CharacterType type : types) {
+            templates[type.ordinal()] = registry.get(type.name());
+        }
+        return templates;
+    }
 
     /**
      * TODO 2a: Implement createWarrior()
@@ -120,23 +159,95 @@ public class CharacterFactory {
      *
      * Factory method that creates a character of the specified type.
      * This demonstrates the Factory Method pattern - one method that
-     * decides which concrete creation method to call.
+     * decides how each type is made.
      *
-     * Use a switch expression (Java 21 feature!) to delegate to the
-     * appropriate creation method based on the type.
+     * The character is copied from the type's archetype in the current
+     * archetypes, so editing archetypes.txt changes what is spawned.
      *
      * @param name The character's name
      * @param type The type of character to create
      * @return A character of the specified type
-     * @throws IllegalArgumentException if type is null
+     * @throws IllegalArgumentException if type is null, or has no archetype
      */
     public static Character createCharacter(String name, CharacterType type) {
         if (type == null) throw new IllegalArgumentException("type cannot be null");
-        return switch (type) {
-            case WARRIOR -> createWarrior(name);
-            case MAGE -> createMage(name);
-            case ARCHER -> createArcher(name);
-            case ROGUE -> createRogue(name);
-        };
+        return template(type).copy(name);
+    }
+
+    /**
+     * Create many characters of one type, named namePrefix0, namePrefix1, ...
+     *
+     * Batch characters share stats and strategy instances, skip the
+     * builder's checks and build their names only when first asked for.
+     * Large batches are filled in parallel.
+     */
+    public static Character[] createBatch(CharacterType type, int count, String namePrefix) {
+        if (count < 0) throw new IllegalArgumentException("count cannot be negative");
+        Character[] batch = new Character[count];
+        fillBatch(batch, 0, count, type, namePrefix);
+        return batch;
+    }
+
+    /**
+     * Fill {@code target[offset .. offset + count)} with characters of one
+     * type. Each character's name is namePrefix followed by its array index.
+     */
+    public static void fillBatch(Character[] target, int offset, int count,
+                                 CharacterType type, String namePrefix) {
+        if (target == null) throw new IllegalArgumentException("target cannot be null");
+        if (type == null) throw new IllegalArgumentException("type cannot be null");
+        if (namePrefix == null) throw new IllegalArgumentException("namePrefix cannot be null");
+        if (offset < 0 || count < 0 || offset + count > target.length) {
+            throw new IllegalArgumentException("range does not fit in target");
+        }
+        Character template = template(type);
+        if (count < PARALLEL_THRESHOLD) {
+            for (int i = offset; i < offset + count; i++) {
+                target[i] = spawn(template, namePrefix, i);
+            }
+        } else {
+            Character[] slice = new Character[count];
+            Arrays.parallelSetAll(slice, i -> spawn(template, namePrefix, offset + i));
+            System.arraycopy(slice, 0, target, offset, count);
+        }
+    }
+
+    /**
+     * Create a batch with the given number of characters of each type, in
+     * CharacterType order: e.g. {WARRIOR=3, MAGE=2} gives three warriors
+     * followed by two mages, named namePrefix0 .. namePrefix4.
+     */
+    public static Character[] createMixedBatch(Map<CharacterType, Integer> composition, String namePrefix) {
+        if (composition == null) throw new IllegalArgumentException("composition cannot be null");
+        if (namePrefix == null) throw new IllegalArgumentException("namePrefix cannot be null");
+        CharacterType[] types = CharacterType.values();
+        int[] ends = new int[types.length];
+        int total = 0;
+        for (CharacterType type : types) {
+            int count = composition.getOrDefault(type, 0);
+            if (count < 0) throw new IllegalArgumentException("count cannot be negative");
+            total = Math.addExact(total, count);
+            ends[type.ordinal()] = total;
+        }
+        Character[] batch = new Character[total];
+        Character[] templates = templates();
+        if (total < PARALLEL_THRESHOLD) {
+            int type = 0;
+            for (int i = 0; i < total; i++) {
+                while (i >= ends[type]) type++;
+                batch[i] = spawn(templates[type], namePrefix, i);
+            }
+        } else {
+            Arrays.parallelSetAll(batch, i -> {
+                int type = 0;
+                while (i >= ends[type]) type++;
+                return spawn(templates[type], namePrefix, i);
+            });
+        }
+        return batch;
+    }
+
+    private static Character spawn(Character template, String namePrefix, int index) {
+        return template.copy(namePrefix, index);
     }
 }
@@ -0,0 +1,82 @@
+package edu.trincoll.game.factory;
+
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterType;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of validated character archetypes (Prototype pattern).
+ *
+ * Each archetype is built and validated once, through the normal factory
+ * or builder. create() then stamps out copies with Character.copy(),
+ * which shares the archetype's immutable stats record and strategy
+ * instances and skips every check except the new name:
+ * <pre>
+ * Character orc = PrototypeRegistry.getDefault().create("WARRIOR", "Grunt");
+ * registry.register("Elite Mage", Character.builder()...build());
+ * </pre>
+ *
+ * The default registry holds the archetypes shipped in archetypes.txt:
+ * one per CharacterType, keyed by the type's name. Registries are safe
+ * to share between threads.
+ */
+public class PrototypeRegistry {
+    private static final PrototypeRegistry DEFAULT = createDefault();
+
+    private final Map<String, Character> prototypes = new ConcurrentHashMap<>();
+
+    /**
+     * Shared registry with the standard archetypes.
+     */
+    public static PrototypeRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    private static PrototypeRegistry createDefault() {
+        return new ArchetypeLoader().loadDefaults();
+    }
+
+    /**
+     * Add or replace an archetype. The registry keeps its own copy, so later
+     * changes to the given character do not affect it.
+     */
+    public void register(String key, Character prototype) {
+        if (key == null || key.isBlank()) throw new IllegalArgumentException("key cannot be blank");
+        if (prototype == null) throw new IllegalArgumentException("prototype cannot be null");
+        prototypes.put(key, prototype.copy(key));
+    }
+
+    /**
+     * Create a character from an archetype.
+     *
+     * @throws IllegalArgumentException if no archetype is registered under the key
+     */
+    public Character create(String key, String name) {
+        return get(key).copy(name);
+    }
+
+    /**
+     * Create a character of a standard type from its archetype.
+     */
+    public Character create(CharacterType type, String name) {
+        if (type == null) throw new IllegalArgumentException("type cannot be null");
+        return create(type.name(), name);
+    }
+
+    Character get(String key) {
+        Character prototype = prototypes.get(key);
+        if (prototype == null) throw new IllegalArgumentException("Unknown archetype: " + key);
+        return prototype;
+    }
+
+    public boolean contains(String key) {
+        return prototypes.containsKey(key);
+    }
+
+    public Set<String> keys() {
+        return Set.copyOf(prototypes.keySet());
+    }
+}
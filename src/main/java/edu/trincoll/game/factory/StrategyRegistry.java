@@ -0,0 +1,126 @@
+package edu.trincoll.game.factory;
+
+import edu.trincoll.game.strategy.AttackStrategy;
+import edu.trincoll.game.strategy.DefenseStrategy;
+import edu.trincoll.game.strategy.HeavyArmorDefenseStrategy;
+import edu.trincoll.game.strategy.MagicAttackStrategy;
+import edu.trincoll.game.strategy.MeleeAttackStrategy;
+import edu.trincoll.game.strategy.RangedAttackStrategy;
+import edu.trincoll.game.strategy.StandardDefenseStrategy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps strategy ids used in archetype files ("melee", "heavy-armor", ...)
+ * to strategy instances. Strategies are shared by every character built
+ * from an archetype, so they must be stateless.
+ */
+public class StrategyRegistry {
+    /** Longest id, in UTF-8 bytes, that snapshot and archetype files can hold. */
+    public static final int MAX_ID_BYTES = 255;
+
+    private final Map<String, AttackStrategy> attacks = new ConcurrentHashMap<>();
+    private final Map<String, DefenseStrategy> defenses = new ConcurrentHashMap<>();
+    // Reverse lookup for attackIdOf/defenseIdOf; a class registered under
+    // several ids maps to the one registered first
+    private final Map<Class<?>, String> attackIds = new ConcurrentHashMap<>();
+    private final Map<Class<?>, String> defenseIds = new ConcurrentHashMap<>();
+
+    /**
+     * A registry with the built-in strategies: attacks "melee", "magic" and
+     * "ranged"; defenses "standard" and "heavy-armor".
+     */
+    public static StrategyRegistry withDefaults() {
+        StrategyRegistry registry = new StrategyRegistry();
+        registry.registerAttack("melee", new MeleeAttackStrategy());
+        registry.registerAttack("magic", new MagicAttackStrategy());
+        registry.registerAttack("ranged", new RangedAttackStrategy());
+        registry.registerDefense("standard", new StandardDefenseStrategy());
+        registry.registerDefense("heavy-armor", new HeavyArmorDefenseStrategy());
+        return registry;
+    }
+
+    public synchronized void registerAttack(String id, AttackStrategy strategy) {
+        validateId(id);
+        if (strategy == null) throw new IllegalArgumentException("strategy cannot be null");
+        register(attacks, attackIds, id, strategy);
+    }
+
+    public synchronized void registerDefense(String id, DefenseStrategy strategy) {
+        validateId(id);
+        if (strategy == null) throw new IllegalArgumentException("strategy cannot be null");
+        register(defenses, defenseIds, id, strategy);
+    }
+
+    private static <S> void register(Map<String, S> strategies, Map<Class<?>, String> ids, String id, S strategy) {
+        S previous = strategies.put(id, strategy);
+        if (previous != null && id.equals(ids.get(previous.getClass()))) {
+            // The replaced class may still be registered under other ids
+            ids.remove(previous.getClass());
+            strategies.entrySet().stream()
+                .filter(entry -> entry.getValue().getClass() == previous.getClass())
+                .map(Map.Entry::getKey)
+                .sorted()
+                .findFirst()
+                .ifPresent(other -> ids.put(previous.getClass(), other));
+        }
+        ids.putIfAbsent(strategy.getClass(), id);
+    }
+
+    /**
+     * @throws IllegalArgumentException if no attack strategy has the id
+     */
+    public AttackStrategy attack(String id) {
+        AttackStrategy strategy = attacks.get(id);
+        if (strategy == null) throw new IllegalArgumentException("Unknown attack strategy: " + id);
+        return strategy;
+    }
+
+    /**
+     * @throws IllegalArgumentException if no defense strategy has the id
+     */
+    public DefenseStrategy defense(String id) {
+        DefenseStrategy strategy = defenses.get(id);
+        if (strategy == null) throw new IllegalArgumentException("Unknown defense strategy: " + id);
+        return strategy;
+    }
+
+    /**
+     * Id of the registered attack strategy of the same class.
+     *
+     * @throws IllegalArgumentException if no such strategy is registered
+     */
+    public String attackIdOf(AttackStrategy strategy) {
+        return idOf(attackIds, strategy, "attack");
+    }
+
+    /**
+     * Id of the registered defense strategy of the same class.
+     *
+     * @throws IllegalArgumentException if no such strategy is registered
+     */
+    public String defenseIdOf(DefenseStrategy strategy) {
+        return idOf(defenseIds, strategy, "defense");
+    }
+
+    private static String idOf(Map<Class<?>, String> ids, Object strategy, String kind) {
+        if (strategy == null) throw new IllegalArgumentException("strategy cannot be null");
+        String id = ids.get(strategy.getClass());
+        if (id == null) {
+            throw new IllegalArgumentException("Unregistered " + kind + " strategy: " + strategy.getClass().getName());
+        }
+        return id;
+    }
+
+    private static void validateId(String id) {
+        if (id == null || id.isBlank() || id.chars().anyMatch(Character::isWhitespace)) {
+            throw new IllegalArgumentException("strategy id must be a single word");
+        }
+        // Binary formats store ids with a one-byte length
+        if (id.getBytes(StandardCharsets.UTF_8).length > MAX_ID_BYTES) {
+            throw new IllegalArgumentException("strategy id longer than " + MAX_ID_BYTES + " bytes");
+        }
+    }
+}
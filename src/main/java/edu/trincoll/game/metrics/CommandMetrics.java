@@ -0,0 +1,141 @@
+package edu.trincoll.game.metrics;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-command-type latency and throughput metrics for CommandInvoker.
+ *
+ * Pass an instance to {@code new CommandInvoker(metrics)} to time every
+ * execute and undo by GameCommand class. Invokers created without metrics
+ * skip timing entirely.
+ *
+ * Results are available in-process via {@link #snapshot()} and as text via
+ * {@link #dump(PrintStream)} or a periodic {@link #startReporter} task.
+ */
+public class CommandMetrics {
+
+    /**
+     * Latency (nanoseconds) and throughput for one command type and operation.
+     */
+    public record Stats(String commandType, String operation, long count,
+                        long p50, long p99, long p999, long max, double opsPerSecond) {
+    }
+
+    private static final class TypeMetrics {
+        final LatencyHistogram executeLatency = new LatencyHistogram();
+        final LatencyHistogram undoLatency = new LatencyHistogram();
+        final LongAdder executes = new LongAdder();
+        final LongAdder undos = new LongAdder();
+    }
+
+    private final Map<Class<?>, TypeMetrics> byType = new ConcurrentHashMap<>();
+    private volatile long startNanos = System.nanoTime();
+
+    public void recordExecute(Class<?> commandType, long nanos) {
+        TypeMetrics metrics = metricsFor(commandType);
+        metrics.executeLatency.record(nanos);
+        metrics.executes.increment();
+    }
+
+    public void recordUndo(Class<?> commandType, long nanos) {
+        TypeMetrics metrics = metricsFor(commandType);
+        metrics.undoLatency.record(nanos);
+        metrics.undos.increment();
+    }
+
+    private TypeMetrics metricsFor(Class<?> commandType) {
+        TypeMetrics metrics = byType.get(commandType);
+        return metrics != null ? metrics : byType.computeIfAbsent(commandType, type -> new TypeMetrics());
+    }
+
+    /**
+     * Current statistics for every command type seen so far, sorted by type
+     * name. Throughput is averaged since creation or the last reset.
+     */
+    public List<Stats> snapshot() {
+        double seconds = Math.max(1e-9, (System.nanoTime() - startNanos) / 1e9);
+        List<Stats> stats = new ArrayList<>();
+        byType.forEach((type, metrics) -> {
+            stats.add(stats(type, "execute", metrics.executeLatency, metrics.executes.sum(), seconds));
+            long undos = metrics.undos.sum();
+            if (undos > 0) {
+                stats.add(stats(type, "undo", metrics.undoLatency, undos, seconds));
+            }
+        });
+        stats.sort(Comparator.comparing(Stats::commandType).thenComparing(Stats::operation));
+        return stats;
+    }
+
+    private static Stats stats(Class<?> type, String operation, LatencyHistogram histogram,
+                               long count, double seconds) {
+        return new Stats(type.getSimpleName(), operation, count,
+            histogram.percentile(50), histogram.percentile(99), histogram.percentile(99.9),
+            histogram.max(), count / seconds);
+    }
+
+    /**
+     * Print a text table of the current snapshot.
+     */
+    public void dump(PrintStream out) {
+        dump(out, snapshot());
+    }
+
+    private static void dump(PrintStream out, List<Stats> stats) {
+        out.printf("%-24s %-8s %10s %10s %10s %10s %10s %12s%n",
+            "command", "op", "count", "p50(ns)", "p99(ns)", "p999(ns)", "max(ns)", "ops/sec");
+        for (Stats s : stats) {
+            out.printf("%-24s %-8s %10d %10d %10d %10d %10d %12.1f%n",
+                s.commandType(), s.operation(), s.count(), s.p50(), s.p99(), s.p999(), s.max(),
+                s.opsPerSecond());
+        }
+    }
+
+    /**
+     * Print a snapshot every period on a daemon thread. Throughput in these
+     * dumps is measured over the last period rather than since start.
+     *
+     * @return the scheduler; shut it down to stop reporting
+     */
+    public ScheduledExecutorService startReporter(long period, TimeUnit unit, PrintStream out) {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "command-metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Map<String, Long> previousCounts = new HashMap<>();
+        long[] previousNanos = {System.nanoTime()};
+        scheduler.scheduleAtFixedRate(() -> {
+            long now = System.nanoTime();
+            double seconds = Math.max(1e-9, (now - previousNanos[0]) / 1e9);
+            previousNanos[0] = now;
+            List<Stats> interval = new ArrayList<>();
+            for (Stats s : snapshot()) {
+                String key = s.commandType() + "/" + s.operation();
+                long delta = s.count() - previousCounts.getOrDefault(key, 0L);
+                previousCounts.put(key, s.count());
+                interval.add(new Stats(s.commandType(), s.operation(), s.count(),
+                    s.p50(), s.p99(), s.p999(), s.max(), delta / seconds));
+            }
+            dump(out, interval);
+        }, period, period, unit);
+        return scheduler;
+    }
+
+    /**
+     * Clear all histograms and counters and restart the throughput clock.
+     */
+    public void reset() {
+        byType.clear();
+        startNanos = System.nanoTime();
+    }
+}
@@ -0,0 +1,14 @@
+package edu.trincoll.game.model;
+
+/**
+ * Notified when a clean character's stats change.
+ *
+ * A character calls its tracker once per clean-to-dirty transition, so a
+ * tracker sees each changed character once until it calls
+ * {@link Character#clearDirty()}.
+ */
+@FunctionalInterface
+public interface ChangeTracker {
+
+    void onDirty(Character character);
+}
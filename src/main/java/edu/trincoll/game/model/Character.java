@@ -28,25 +28,85 @@ import java.util.Objects;
  * This class will be constructed using the Builder pattern.
  */
 public class Character {
-    private final String name;
+    private String name; // built on first use for batch-spawned characters
+    private final String namePrefix;
+    private final int nameIndex;
     private final CharacterType type;
     private CharacterStats stats;
     private AttackStrategy attackStrategy;
     private DefenseStrategy defenseStrategy;
+    private CombatModifier combatModifier;
+    private ChangeTracker changeTracker;
+    private boolean dirty;
+    private long damageTaken;
 
     // Public constructor for testing - prefer Builder for production use
     public Character(String name, CharacterType type, CharacterStats stats,
                      AttackStrategy attackStrategy, DefenseStrategy defenseStrategy) {
         this.name = Objects.requireNonNull(name, "Name cannot be null");
+        this.namePrefix = null;
+        this.nameIndex = 0;
         this.type = Objects.requireNonNull(type, "Type cannot be null");
         this.stats = Objects.requireNonNull(stats, "Stats cannot be null");
         this.attackStrategy = Objects.requireNonNull(attackStrategy, "Attack strategy cannot be null");
         this.defenseStrategy = Objects.requireNonNull(defenseStrategy, "Defense strategy cannot be null");
     }
 
+    /**
+     * Create a character named {@code namePrefix + nameIndex}. The name
+     * string is only built when first asked for, so spawning large batches
+     * does no string concatenation up front.
+     */
+    public Character(String namePrefix, int nameIndex, CharacterType type, CharacterStats stats,
+                     AttackStrategy attackStrategy, DefenseStrategy defenseStrategy) {
+        this.namePrefix = Objects.requireNonNull(namePrefix, "Name prefix cannot be null");
+        this.nameIndex = nameIndex;
+        this.type = Objects.requireNonNull(type, "Type cannot be null");
+        this.stats = Objects.requireNonNull(stats, "Stats cannot be null");
+        this.attackStrategy = Objects.requireNonNull(attackStrategy, "Attack strategy cannot be null");
+        this.defenseStrategy = Objects.requireNonNull(defenseStrategy, "Defense strategy cannot be null");
+    }
+
+    /**
+     * Copy constructor for prototypes: the source was validated when it was
+     * built, so only the new name is checked.
+     */
+    private Character(Character prototype, String name, String namePrefix, int nameIndex) {
+        this.name = name;
+        this.namePrefix = namePrefix;
+        this.nameIndex = nameIndex;
+        this.type = prototype.type;
+        this.stats = prototype.stats;
+        this.attackStrategy = prototype.attackStrategy;
+        this.defenseStrategy = prototype.defenseStrategy;
+    }
+
+    /**
+     * Create a new character with this one's type, current stats and
+     * strategies (shared, not copied) under a different name. The combat
+     * modifier is not carried over.
+     */
+    public Character copy(String name) {
+        return new Character(this, Objects.requireNonNull(name, "Name cannot be null"), null, 0);
+    }
+
+    /**
+     * Like {@link #copy(String)}, with the name {@code namePrefix + nameIndex}
+     * built on first use.
+     */
+    public Character copy(String namePrefix, int nameIndex) {
+        return new Character(this, null, Objects.requireNonNull(namePrefix, "Name prefix cannot be null"), nameIndex);
+    }
+
     // Getters
     public String getName() {
-        return name;
+        String result = name;
+        if (result == null) {
+            // Benign race: every thread builds an equal string
+            result = namePrefix + nameIndex;
+            name = result;
+        }
+        return result;
     }
 
     public CharacterType getType() {
@@ -74,9 +134,60 @@ public class Character {
         this.defenseStrategy = Objects.requireNonNull(defenseStrategy, "Defense strategy cannot be null");
     }
 
+    public CombatModifier getCombatModifier() {
+        return combatModifier;
+    }
+
+    /**
+     * Attach a modifier applied after the attack and defense strategies,
+     * or null to remove it.
+     */
+    public void setCombatModifier(CombatModifier combatModifier) {
+        this.combatModifier = combatModifier;
+    }
+
+    public ChangeTracker getChangeTracker() {
+        return changeTracker;
+    }
+
+    /**
+     * Attach a tracker told when this character's stats change, or null to
+     * remove it.
+     */
+    public void setChangeTracker(ChangeTracker changeTracker) {
+        this.changeTracker = changeTracker;
+    }
+
+    /**
+     * True if the stats changed since the last {@link #clearDirty()}.
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    public void clearDirty() {
+        dirty = false;
+    }
+
+    // Only real changes dirty the character: a heal at full health or a hit
+    // fully absorbed leaves it out of the next checkpoint
+    private void update(CharacterStats updated) {
+        if (updated.equals(stats)) return;
+        stats = updated;
+        markDirty();
+    }
+
+    private void markDirty() {
+        if (!dirty) {
+            dirty = true;
+            if (changeTracker != null) changeTracker.onDirty(this);
+        }
+    }
+
     // Combat methods that delegate to strategies
     public int attack(Character target) {
-        return attackStrategy.calculateDamage(this, target);
+        int damage = attackStrategy.calculateDamage(this, target);
+        return combatModifier == null ? damage : combatModifier.modifyOutgoingDamage(this, damage);
     }
 
     public int defend(int incomingDamage) {
@@ -87,11 +198,23 @@ public class Character {
     public void takeDamage(int damage) {
         int actualDamage = defend(damage);
         int netDamage = Math.max(0, actualDamage);
-        stats = stats.withHealth(stats.health() - netDamage);
+        if (combatModifier != null) {
+            netDamage = Math.max(0, combatModifier.modifyIncomingDamage(this, netDamage));
+        }
+        damageTaken += netDamage;
+        update(stats.withHealth(stats.health() - netDamage));
+    }
+
+    /**
+     * Total damage taken after defense and modifiers, including damage
+     * beyond the health that was left (overkill).
+     */
+    public long getDamageTaken() {
+        return damageTaken;
     }
 
     public void heal(int amount) {
-        stats = stats.withHealth(stats.health() + amount);
+        update(stats.withHealth(stats.health() + amount));
     }
 
     /**
@@ -99,7 +222,7 @@ public class Character {
      * Use with caution - bypasses defense calculations.
      */
     public void setHealth(int health) {
-        stats = stats.withHealth(health);
+        update(stats.withHealth(health));
     }
 
     // Mana management
@@ -107,11 +230,11 @@ public class Character {
         if (stats.mana() < amount) {
             throw new IllegalStateException("Not enough mana");
         }
-        stats = stats.withMana(stats.mana() - amount);
+        update(stats.withMana(stats.mana() - amount));
     }
 
     public void restoreMana(int amount) {
-        stats = stats.withMana(stats.mana() + amount);
+        update(stats.withMana(stats.mana() + amount));
     }
 
     // Status checks
@@ -126,7 +249,7 @@ public class Character {
     @Override
     public String toString() {
         return String.format("%s (%s) - HP: %d/%d, ATK: %d, DEF: %d",
-            name, type, stats.health(), stats.maxHealth(),
+            getName(), type, stats.health(), stats.maxHealth(),
             stats.attackPower(), stats.defense());
     }
 
@@ -135,13 +258,13 @@ public class Character {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Character character = (Character) o;
-        return Objects.equals(name, character.name) &&
+        return Objects.equals(getName(), character.getName()) &&
                type == character.type;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(name, type);
+        return Objects.hash(getName(), type);
     }
 
     /**
@@ -0,0 +1,27 @@
+package edu.trincoll.game.model;
+
+/**
+ * Adjusts a character's damage after its strategies have run.
+ *
+ * Attached with {@link Character#setCombatModifier(CombatModifier)}; used
+ * by systems such as status effects to apply buffs and shields without
+ * replacing the character's attack or defense strategy.
+ */
+public interface CombatModifier {
+
+    /**
+     * Adjust damage calculated by the attacker's attack strategy.
+     */
+    default int modifyOutgoingDamage(Character attacker, int damage) {
+        return damage;
+    }
+
+    /**
+     * Adjust damage left after the target's defense strategy.
+     *
+     * @return the damage the target actually takes (not negative)
+     */
+    default int modifyIncomingDamage(Character target, int damage) {
+        return damage;
+    }
+}
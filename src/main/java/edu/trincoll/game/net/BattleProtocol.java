@@ -0,0 +1,58 @@
+package edu.trincoll.game.net;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Binary frames spoken by {@link BattleServer}.
+ *
+ * Every frame is a 4-byte big-endian payload length followed by the
+ * payload. Requests and responses have fixed-size payloads, so the length
+ * is only there to let the format grow.
+ *
+ * Request payload (17 bytes): op, request id, actor id, target id, amount
+ * - ATTACK: actor attacks target through the CommandInvoker
+ * - HEAL: target is healed by amount through the CommandInvoker
+ * - SEQUENCE: runs one battle sequence turn, actor against target;
+ *   amount selects the sequence (SEQUENCE_STANDARD or SEQUENCE_POWER)
+ *
+ * Response payload (13 bytes): status, request id, target health, actor health
+ *
+ * Responses on a connection come back in request order.
+ */
+public final class BattleProtocol {
+    public static final byte ATTACK = 1;
+    public static final byte HEAL = 2;
+    public static final byte SEQUENCE = 3;
+
+    public static final int SEQUENCE_STANDARD = 0;
+    public static final int SEQUENCE_POWER = 1;
+
+    public static final byte OK = 0;
+    /** Unknown op or id, or the game rules rejected the command. */
+    public static final byte REJECTED = 1;
+
+    public static final int REQUEST_PAYLOAD = 1 + 4 + 4 + 4 + 4;
+    public static final int RESPONSE_PAYLOAD = 1 + 4 + 4 + 4;
+    public static final int REQUEST_FRAME = 4 + REQUEST_PAYLOAD;
+    public static final int RESPONSE_FRAME = 4 + RESPONSE_PAYLOAD;
+
+    private BattleProtocol() {
+    }
+
+    public static void putRequest(ByteBuffer buffer, byte op, int requestId, int actor, int target, int amount) {
+        buffer.putInt(REQUEST_PAYLOAD)
+            .put(op)
+            .putInt(requestId)
+            .putInt(actor)
+            .putInt(target)
+            .putInt(amount);
+    }
+
+    public static void putResponse(ByteBuffer buffer, byte status, int requestId, int targetHealth, int actorHealth) {
+        buffer.putInt(RESPONSE_PAYLOAD)
+            .put(status)
+            .putInt(requestId)
+            .putInt(targetHealth)
+            .putInt(actorHealth);
+    }
+}
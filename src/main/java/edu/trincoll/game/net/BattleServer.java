@@ -0,0 +1,290 @@
+package edu.trincoll.game.net;
+
+import edu.trincoll.game.command.AttackCommand;
+import edu.trincoll.game.command.CommandInvoker;
+import edu.trincoll.game.command.HealCommand;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.template.BattleSequence;
+import edu.trincoll.game.template.PowerAttackSequence;
+import edu.trincoll.game.template.SequencePool;
+import edu.trincoll.game.template.StandardBattleSequence;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Non-blocking TCP front end for a roster of characters.
+ *
+ * One thread runs a selector over every connection and is also the game
+ * loop: complete {@link BattleProtocol} request frames are executed as
+ * they are read, attacks and heals through the CommandInvoker and
+ * sequence turns through pooled battle sequences, so game state is only
+ * ever touched by that thread and needs no locks. The invoker's undo
+ * history is cleared after every request. Each connection holds
+ * two small buffers and no thread, so one server thread can hold tens of
+ * thousands of connections.
+ *
+ * Responses are queued in the connection's write buffer and flushed after
+ * each read. When a client stops reading and its buffer fills, the server
+ * stops reading from it until the buffer drains. A malformed frame closes
+ * the connection.
+ */
+public class BattleServer implements AutoCloseable {
+    static final int BUFFER_BYTES = 2048;
+    private static final int BACKLOG = 4096;
+
+    private final Character[] characters;
+    private final CommandInvoker invoker;
+    private final SequencePool<StandardBattleSequence> standardSequences =
+        new SequencePool<>(StandardBattleSequence::new);
+    private final SequencePool<PowerAttackSequence> powerSequences =
+        new SequencePool<>(PowerAttackSequence::new);
+    private Selector selector;
+    private ServerSocketChannel server;
+    private Thread loop;
+    private volatile boolean running;
+    private volatile int connections;
+    private volatile long requests;
+    private volatile IOException failure;
+
+    /**
+     * @param characters characters requests refer to, by index
+     * @param invoker    invoker that executes attack and heal commands
+     */
+    public BattleServer(Character[] characters, CommandInvoker invoker) {
+        if (characters == null) throw new IllegalArgumentException("characters cannot be null");
+        if (invoker == null) throw new IllegalArgumentException("invoker cannot be null");
+        this.characters = characters;
+        this.invoker = invoker;
+    }
+
+    /**
+     * Bind to the address (port 0 picks a free port) and start serving.
+     */
+    public void start(InetSocketAddress address) throws IOException {
+        if (loop != null) throw new IllegalStateException("Server already started");
+        selector = Selector.open();
+        server = ServerSocketChannel.open();
+        server.bind(address, BACKLOG);
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+        running = true;
+        loop = new Thread(this::serve, "battle-server");
+        loop.start();
+    }
+
+    /**
+     * Address the server is listening on.
+     */
+    public InetSocketAddress getAddress() throws IOException {
+        if (server == null) throw new IllegalStateException("Server not started");
+        return (InetSocketAddress) server.getLocalAddress();
+    }
+
+    public int connectionCount() {
+        return connections;
+    }
+
+    /**
+     * Number of requests executed so far.
+     */
+    public long requestCount() {
+        return requests;
+    }
+
+    /**
+     * Stop serving and close every connection.
+     */
+    @Override
+    public void close() throws IOException {
+        if (loop == null) return;
+        running = false;
+        selector.wakeup();
+        try {
+            loop.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        loop = null;
+        if (failure != null) throw failure;
+    }
+
+    private void serve() {
+        try {
+            while (running) {
+                selector.select(this::handle);
+            }
+        } catch (IOException e) {
+            failure = e;
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                closeQuietly(key);
+            }
+            try {
+                selector.close();
+            } catch (IOException e) {
+                if (failure == null) failure = e;
+            }
+        }
+    }
+
+    private void handle(SelectionKey key) {
+        try {
+            if (!key.isValid()) return;
+            if (key.isAcceptable()) {
+                accept();
+                return;
+            }
+            Connection connection = (Connection) key.attachment();
+            if (key.isWritable() && connection.flush()) {
+                connection.process();
+            }
+            if (key.isValid() && key.isReadable()) {
+                connection.read();
+            }
+        } catch (IOException | RuntimeException e) {
+            // A broken or misbehaving client only loses its own connection
+            closeQuietly(key);
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = server.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+            key.attach(new Connection(channel, key));
+            connections++;
+        }
+    }
+
+    private void closeQuietly(SelectionKey key) {
+        if (key.attachment() instanceof Connection) connections--;
+        key.attach(null);
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            // Already gone
+        }
+    }
+
+    private byte execute(byte op, int actorId, int targetId, int amount) {
+        if (targetId < 0 || targetId >= characters.length) return BattleProtocol.REJECTED;
+        Character target = characters[targetId];
+        try {
+            switch (op) {
+                case BattleProtocol.HEAL -> invoker.executeCommand(new HealCommand(target, amount));
+                case BattleProtocol.ATTACK, BattleProtocol.SEQUENCE -> {
+                    if (actorId < 0 || actorId >= characters.length) return BattleProtocol.REJECTED;
+                    Character actor = characters[actorId];
+                    if (actor.isDead() || actor == target) return BattleProtocol.REJECTED;
+                    if (op == BattleProtocol.ATTACK) {
+                        invoker.executeCommand(new AttackCommand(actor, target));
+                    } else if (amount == BattleProtocol.SEQUENCE_STANDARD) {
+                        runTurn(standardSequences, actor, target);
+                    } else if (amount == BattleProtocol.SEQUENCE_POWER) {
+                        runTurn(powerSequences, actor, target);
+                    } else {
+                        return BattleProtocol.REJECTED;
+                    }
+                }
+                default -> {
+                    return BattleProtocol.REJECTED;
+                }
+            }
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            // Invalid amount, or a Mage out of mana
+            return BattleProtocol.REJECTED;
+        } finally {
+            // Requests are never undone, so history would only grow
+            invoker.clearHistory();
+        }
+        return BattleProtocol.OK;
+    }
+
+    private static <S extends BattleSequence> void runTurn(SequencePool<S> pool, Character attacker,
+                                                           Character defender) {
+        S sequence = pool.acquire(attacker, defender);
+        try {
+            sequence.executeTurn();
+        } finally {
+            pool.release(sequence);
+        }
+    }
+
+    /**
+     * Buffers and frame parsing for one client.
+     */
+    private final class Connection {
+        private final SocketChannel channel;
+        private final SelectionKey key;
+        private final ByteBuffer in = ByteBuffer.allocate(BUFFER_BYTES);
+        private final ByteBuffer out = ByteBuffer.allocate(BUFFER_BYTES);
+
+        Connection(SocketChannel channel, SelectionKey key) {
+            this.channel = channel;
+            this.key = key;
+        }
+
+        void read() throws IOException {
+            if (channel.read(in) < 0) {
+                closeQuietly(key);
+                return;
+            }
+            process();
+        }
+
+        void process() throws IOException {
+            in.flip();
+            while (in.remaining() >= BattleProtocol.REQUEST_FRAME) {
+                if (out.remaining() < BattleProtocol.RESPONSE_FRAME) {
+                    flush();
+                    if (out.remaining() < BattleProtocol.RESPONSE_FRAME) break;
+                }
+                int length = in.getInt();
+                if (length != BattleProtocol.REQUEST_PAYLOAD) {
+                    throw new IllegalStateException("Bad frame length " + length);
+                }
+                byte op = in.get();
+                int requestId = in.getInt();
+                int actorId = in.getInt();
+                int targetId = in.getInt();
+                int amount = in.getInt();
+                byte status = execute(op, actorId, targetId, amount);
+                requests++;
+                int targetHealth = targetId >= 0 && targetId < characters.length
+                    ? characters[targetId].getStats().health() : -1;
+                int actorHealth = actorId >= 0 && actorId < characters.length
+                    ? characters[actorId].getStats().health() : -1;
+                BattleProtocol.putResponse(out, status, requestId, targetHealth, actorHealth);
+            }
+            in.compact();
+            flush();
+        }
+
+        /**
+         * Write queued responses. Reading is paused while any are left over.
+         *
+         * @return true if everything was written
+         */
+        boolean flush() throws IOException {
+            out.flip();
+            channel.write(out);
+            out.compact();
+            boolean drained = out.position() == 0;
+            int interest = drained ? SelectionKey.OP_READ : SelectionKey.OP_WRITE;
+            if (key.interestOps() != interest) {
+                key.interestOps(interest);
+            }
+            return drained;
+        }
+    }
+}
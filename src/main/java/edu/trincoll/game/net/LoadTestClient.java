@@ -0,0 +1,185 @@
+package edu.trincoll.game.net;
+
+import edu.trincoll.game.metrics.LatencyHistogram;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load generator for {@link BattleServer}.
+ *
+ * Opens many connections from a single selector thread and keeps up to
+ * {@code window} requests in flight on each, cycling through attacks,
+ * heals and sequence turns between roster ids. Responses arrive in
+ * request order, so each connection keeps its send times in a small ring
+ * and the round-trip latency of every response goes into a histogram.
+ */
+public class LoadTestClient {
+
+    /**
+     * Outcome of a load test. Latencies are round trips in nanoseconds.
+     */
+    public record Result(int connections, long requests, long ok, long rejected,
+                         long elapsedNanos, LatencyHistogram latencies) {
+        public double requestsPerSecond() {
+            return requests / Math.max(1e-9, elapsedNanos / 1e9);
+        }
+    }
+
+    private final InetSocketAddress address;
+    private final int connections;
+    private final int requestsPerConnection;
+    private final int window;
+    private final int rosterSize;
+
+    /**
+     * @param window     requests each connection keeps in flight
+     * @param rosterSize number of characters on the server; requests use ids below it
+     */
+    public LoadTestClient(InetSocketAddress address, int connections, int requestsPerConnection,
+                          int window, int rosterSize) {
+        if (address == null) throw new IllegalArgumentException("address cannot be null");
+        if (connections <= 0) throw new IllegalArgumentException("connections must be positive");
+        if (requestsPerConnection < 0) throw new IllegalArgumentException("requestsPerConnection cannot be negative");
+        if (window <= 0 || window * BattleProtocol.REQUEST_FRAME > BattleServer.BUFFER_BYTES) {
+            throw new IllegalArgumentException("window must be between 1 and "
+                + BattleServer.BUFFER_BYTES / BattleProtocol.REQUEST_FRAME);
+        }
+        if (rosterSize < 2) throw new IllegalArgumentException("rosterSize must be at least 2");
+        this.address = address;
+        this.connections = connections;
+        this.requestsPerConnection = requestsPerConnection;
+        this.window = window;
+        this.rosterSize = rosterSize;
+    }
+
+    /**
+     * Run the test to completion.
+     *
+     * @throws IllegalStateException if it does not finish within the timeout
+     */
+    public Result run(long timeout, TimeUnit unit) throws IOException {
+        LatencyHistogram latencies = new LatencyHistogram();
+        if (requestsPerConnection == 0) return new Result(connections, 0, 0, 0, 0, latencies);
+        long start = System.nanoTime();
+        long deadline = start + unit.toNanos(timeout);
+        long[] counts = new long[2]; // ok, rejected
+        try (Selector selector = Selector.open()) {
+            for (int c = 0; c < connections; c++) {
+                SocketChannel channel = SocketChannel.open();
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                SelectionKey key = channel.register(selector, SelectionKey.OP_CONNECT, new Client(c));
+                if (channel.connect(address)) {
+                    ((Client) key.attachment()).connected(key);
+                }
+            }
+            int finished = 0;
+            while (finished < connections) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new IllegalStateException("Load test timed out with "
+                        + (connections - finished) + " connections unfinished");
+                }
+                selector.select(Math.max(1, TimeUnit.NANOSECONDS.toMillis(remaining)));
+                for (var iterator = selector.selectedKeys().iterator(); iterator.hasNext(); ) {
+                    SelectionKey key = iterator.next();
+                    iterator.remove();
+                    Client client = (Client) key.attachment();
+                    if (client.handle(key, latencies, counts)) {
+                        finished++;
+                        key.cancel();
+                        key.channel().close();
+                    }
+                }
+            }
+            for (SelectionKey key : selector.keys()) {
+                key.channel().close();
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        return new Result(connections, counts[0] + counts[1], counts[0], counts[1], elapsed, latencies);
+    }
+
+    /**
+     * State of one connection.
+     */
+    private final class Client {
+        private final int index;
+        private final ByteBuffer in = ByteBuffer.allocate(BattleServer.BUFFER_BYTES);
+        private final ByteBuffer out = ByteBuffer.allocate(BattleServer.BUFFER_BYTES);
+        private final long[] sentAt = new long[window];
+        private int sent;
+        private int received;
+
+        Client(int index) {
+            this.index = index;
+        }
+
+        void connected(SelectionKey key) throws IOException {
+            key.interestOps(SelectionKey.OP_READ);
+            send(key);
+        }
+
+        /**
+         * @return true once every response has arrived
+         */
+        boolean handle(SelectionKey key, LatencyHistogram latencies, long[] counts) throws IOException {
+            SocketChannel channel = (SocketChannel) key.channel();
+            if (key.isConnectable()) {
+                channel.finishConnect();
+                connected(key);
+            }
+            if (key.isWritable()) {
+                send(key);
+            }
+            if (key.isReadable()) {
+                if (channel.read(in) < 0) throw new IOException("Server closed connection " + index);
+                in.flip();
+                while (in.remaining() >= BattleProtocol.RESPONSE_FRAME) {
+                    if (in.getInt() != BattleProtocol.RESPONSE_PAYLOAD) throw new IOException("Bad response frame");
+                    byte status = in.get();
+                    int requestId = in.getInt();
+                    in.getInt(); // target health
+                    in.getInt(); // actor health
+                    if (requestId != received) throw new IOException("Response out of order on " + index);
+                    latencies.record(System.nanoTime() - sentAt[received % window]);
+                    counts[status == BattleProtocol.OK ? 0 : 1]++;
+                    received++;
+                }
+                in.compact();
+                send(key);
+            }
+            return received == requestsPerConnection;
+        }
+
+        private void send(SelectionKey key) throws IOException {
+            while (sent < requestsPerConnection && sent - received < window) {
+                int actor = (index + sent) % rosterSize;
+                int target = (actor + 1 + sent % (rosterSize - 1)) % rosterSize;
+                byte op = switch (sent % 3) {
+                    case 0 -> BattleProtocol.ATTACK;
+                    case 1 -> BattleProtocol.HEAL;
+                    default -> BattleProtocol.SEQUENCE;
+                };
+                int amount = op == BattleProtocol.HEAL ? 10 : BattleProtocol.SEQUENCE_STANDARD;
+                BattleProtocol.putRequest(out, op, sent, actor, target, amount);
+                sentAt[sent % window] = System.nanoTime();
+                sent++;
+            }
+            out.flip();
+            ((SocketChannel) key.channel()).write(out);
+            out.compact();
+            int interest = out.position() > 0
+                ? SelectionKey.OP_READ | SelectionKey.OP_WRITE
+                : SelectionKey.OP_READ;
+            if (key.interestOps() != interest) key.interestOps(interest);
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package edu.trincoll.game.net;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.CharacterType;
+import edu.trincoll.game.template.BattleLoop;
+import edu.trincoll.game.template.PowerAttackSequence;
+import edu.trincoll.game.template.SequenceDefinition;
+import edu.trincoll.game.template.SequencePool;
+import edu.trincoll.game.template.StandardBattleSequence;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP API for running team battle simulations, on the JDK's built-in
+ * HttpServer with one virtual thread per request.
+ *
+ * {@code GET or POST /simulate} with query or form parameters:
+ * - teamA, teamB: comma-separated CharacterTypes, e.g. {@code WARRIOR,MAGE}
+ * - sequence: {@code standard} (default), {@code power}, or a
+ *   SequenceDefinition script such as {@code charge 50%, strike, recoil 10%}
+ * - iterations: number of battles (default 100)
+ * - seed: initiative seed (default 0)
+ *
+ * Each battle spawns both teams through CharacterFactory and runs a
+ * BattleLoop; a coin flip derived from the seed and battle number decides
+ * which team acts first. The response is streamed as JSON lines: a
+ * progress line every {@value #PROGRESS_EVERY} battles, then a final line
+ * with the totals and elapsed time.
+ *
+ * Requests are parsed before they wait for a slot, so bad requests get
+ * 400 without taking one. At most {@code maxConcurrent} simulations run
+ * at once; a request that cannot get a slot within the admission timeout gets 503 with
+ * Retry-After. The Server-Timing header reports how long parsing took
+ * and how long the request waited for a slot; the simulation time is in
+ * the final line, since headers go out before the body is streamed.
+ */
+public class SimulationHttpServer implements AutoCloseable {
+    public static final int MAX_TEAM_SIZE = 1000;
+    public static final int MAX_ITERATIONS = 1_000_000;
+    static final int PROGRESS_EVERY = 1000;
+    private static final long MAX_TICKS = 200L * BattleLoop.TICKS_PER_ROUND;
+
+    private final Semaphore slots;
+    private final long admissionTimeoutMillis;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * @param maxConcurrent          simulations allowed to run at once
+     * @param admissionTimeoutMillis how long a request may wait for a slot
+     */
+    public SimulationHttpServer(int maxConcurrent, long admissionTimeoutMillis) {
+        if (maxConcurrent <= 0) throw new IllegalArgumentException("maxConcurrent must be positive");
+        if (admissionTimeoutMillis < 0) throw new IllegalArgumentException("admissionTimeoutMillis cannot be negative");
+        this.slots = new Semaphore(maxConcurrent);
+        this.admissionTimeoutMillis = admissionTimeoutMillis;
+    }
+
+    /**
+     * Bind to the address (port 0 picks a free port) and start serving.
+     */
+    public void start(InetSocketAddress address) throws IOException {
+        if (server != null) throw new IllegalStateException("Server already started");
+        server = HttpServer.create(address, 0);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/simulate", this::handle);
+        server.start();
+    }
+
+    public InetSocketAddress getAddress() {
+        if (server == null) throw new IllegalStateException("Server not started");
+        return server.getAddress();
+    }
+
+    /**
+     * Number of simulations that could start right now.
+     */
+    public int availableSlots() {
+        return slots.availablePermits();
+    }
+
+    /**
+     * Stop accepting requests and interrupt running simulations.
+     */
+    @Override
+    public void close() {
+        if (server == null) return;
+        server.stop(0);
+        executor.shutdownNow();
+        server = null;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            if (!method.equals("GET") && !method.equals("POST")) {
+                sendText(exchange, 405, "Use GET or POST");
+                return;
+            }
+            long arrived = System.nanoTime();
+            Simulation simulation;
+            try {
+                simulation = Simulation.parse(parameters(exchange));
+            } catch (IllegalArgumentException e) {
+                sendText(exchange, 400, e.getMessage());
+                return;
+            }
+            long parsedAt = System.nanoTime();
+            boolean admitted;
+            try {
+                admitted = slots.tryAcquire(admissionTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (!admitted) {
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                sendText(exchange, 503, "Too many simulations in progress");
+                return;
+            }
+            try {
+                long admittedAt = System.nanoTime();
+                exchange.getResponseHeaders().set("Content-Type", "application/x-ndjson");
+                exchange.getResponseHeaders().set("Server-Timing",
+                    String.format(Locale.ROOT, "parse;dur=%.3f, admit;dur=%.3f",
+                        (parsedAt - arrived) / 1e6, (admittedAt - parsedAt) / 1e6));
+                exchange.sendResponseHeaders(200, 0);
+                try (OutputStream body = exchange.getResponseBody()) {
+                    simulation.run(body);
+                }
+            } finally {
+                slots.release();
+            }
+        }
+    }
+
+    private static void sendText(HttpExchange exchange, int status, String message) throws IOException {
+        byte[] bytes = (message + "\n").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private static Map<String, String> parameters(HttpExchange exchange) throws IOException {
+        Map<String, String> parameters = new HashMap<>();
+        parseForm(exchange.getRequestURI().getRawQuery(), parameters);
+        if (exchange.getRequestMethod().equals("POST")) {
+            try (InputStream in = exchange.getRequestBody()) {
+                parseForm(new String(in.readNBytes(64 * 1024), StandardCharsets.UTF_8), parameters);
+            }
+        }
+        return parameters;
+    }
+
+    private static void parseForm(String form, Map<String, String> parameters) {
+        if (form == null || form.isBlank()) return;
+        for (String pair : form.split("&")) {
+            int equals = pair.indexOf('=');
+            String key = equals < 0 ? pair : pair.substring(0, equals);
+            String value = equals < 0 ? "" : pair.substring(equals + 1);
+            parameters.put(URLDecoder.decode(key, StandardCharsets.UTF_8).trim(),
+                URLDecoder.decode(value, StandardCharsets.UTF_8).trim());
+        }
+    }
+
+    /**
+     * A parsed simulation request.
+     */
+    private record Simulation(List<CharacterType> teamA, List<CharacterType> teamB,
+                              SequencePool<?> sequences, String sequenceName, int iterations, long seed) {
+
+        static Simulation parse(Map<String, String> parameters) {
+            List<CharacterType> teamA = team(parameters.get("teamA"), "teamA");
+            List<CharacterType> teamB = team(parameters.get("teamB"), "teamB");
+            String sequence = parameters.getOrDefault("sequence", "standard");
+            SequencePool<?> sequences = switch (sequence.toLowerCase(Locale.ROOT)) {
+                case "standard" -> new SequencePool<>(StandardBattleSequence::new);
+                case "power" -> new SequencePool<>(PowerAttackSequence::new);
+                default -> new SequencePool<>(SequenceDefinition.parse("custom", sequence).compile()::newSequence);
+            };
+            int iterations = number(parameters.getOrDefault("iterations", "100"), "iterations");
+            if (iterations <= 0 || iterations > MAX_ITERATIONS) {
+                throw new IllegalArgumentException("iterations must be between 1 and " + MAX_ITERATIONS);
+            }
+            long seed;
+            try {
+                seed = Long.parseLong(parameters.getOrDefault("seed", "0"));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("seed must be a number");
+            }
+            return new Simulation(teamA, teamB, sequences, sequence, iterations, seed);
+        }
+
+        private static List<CharacterType> team(String spec, String parameter) {
+            if (spec == null || spec.isEmpty()) throw new IllegalArgumentException(parameter + " is required");
+            List<CharacterType> team = new ArrayList<>();
+            for (String name : spec.split(",")) {
+                try {
+                    team.add(CharacterType.valueOf(name.trim().toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Unknown character type in " + parameter + ": " + name.trim());
+                }
+            }
+            if (team.size() > MAX_TEAM_SIZE) {
+                throw new IllegalArgumentException(parameter + " cannot have more than " + MAX_TEAM_SIZE + " members");
+            }
+            return team;
+        }
+
+        private static int number(String value, String parameter) {
+            try {
+                return Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(parameter + " must be a number");
+            }
+        }
+
+        void run(OutputStream body) throws IOException {
+            long start = System.nanoTime();
+            long[] wins = new long[2];
+            long draws = 0;
+            long turns = 0;
+            for (int i = 0; i < iterations; i++) {
+                if (Thread.currentThread().isInterrupted()) throw new IOException("Simulation interrupted");
+                BattleLoop loop = new BattleLoop(sequences);
+                boolean teamAFirst = new SplittableRandom(seed + i).nextBoolean();
+                addTeam(loop, teamAFirst ? teamA : teamB, teamAFirst ? 0 : 1, "A");
+                addTeam(loop, teamAFirst ? teamB : teamA, teamAFirst ? 1 : 0, "B");
+                BattleLoop.Report report = loop.run(MAX_TICKS);
+                if (report.isDraw()) {
+                    draws++;
+                } else {
+                    wins[report.winningTeam()]++;
+                }
+                turns += report.turns();
+                if ((i + 1) % PROGRESS_EVERY == 0 && i + 1 < iterations) {
+                    write(body, String.format(Locale.ROOT,
+                        "{\"completed\":%d,\"teamAWins\":%d,\"teamBWins\":%d,\"draws\":%d}",
+                        i + 1, wins[0], wins[1], draws));
+                }
+            }
+            write(body, String.format(Locale.ROOT,
+                "{\"done\":true,\"sequence\":\"%s\",\"battles\":%d,\"teamAWins\":%d,\"teamBWins\":%d,"
+                    + "\"draws\":%d,\"teamAWinRate\":%.4f,\"averageTurns\":%.2f,\"elapsedMillis\":%.3f}",
+                escape(sequenceName), iterations, wins[0], wins[1], draws, (double) wins[0] / iterations,
+                (double) turns / iterations, (System.nanoTime() - start) / 1e6));
+        }
+
+        private static void addTeam(BattleLoop loop, List<CharacterType> types, int team, String prefix) {
+            for (int i = 0; i < types.size(); i++) {
+                loop.addCombatant(CharacterFactory.createCharacter(prefix + i, types.get(i)), team);
+            }
+        }
+
+        private static void write(OutputStream body, String line) throws IOException {
+            body.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+            body.flush();
+        }
+
+        private static String escape(String text) {
+            return text.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package edu.trincoll.game.persist;
+
+import edu.trincoll.game.factory.StrategyRegistry;
+import edu.trincoll.game.model.ChangeTracker;
+import edu.trincoll.game.model.Character;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Incremental checkpoints of a roster's state.
+ *
+ * The writer starts from a full {@link RosterSnapshot} (the base) and
+ * registers itself as every character's {@link ChangeTracker}. Each
+ * {@link #checkpoint()} appends one segment holding only the characters
+ * dirtied since the previous checkpoint - their id, health and mana, the
+ * only stats that change - so its cost scales with what changed rather
+ * than with the roster. Every {@code compactEvery} checkpoints the writer
+ * compacts: it writes a fresh base and empties the delta log.
+ *
+ * Directory contents:
+ * - base-&lt;sequence&gt;.snapshot: full roster as of that checkpoint
+ * - deltas.log: segments of (magic, sequence, count, records, CRC32)
+ *
+ * {@link #restore(Path, StrategyRegistry)} loads the newest base and
+ * replays later segments, stopping at the first torn or corrupt one.
+ */
+public class CheckpointWriter implements ChangeTracker, AutoCloseable {
+    static final int SEGMENT_MAGIC = 0x47434B50; // "GCKP"
+    static final String DELTAS = "deltas.log";
+    private static final String BASE_PREFIX = "base-";
+    private static final String BASE_SUFFIX = ".snapshot";
+    private static final int SEGMENT_HEADER_BYTES = 4 + 8 + 4;
+    private static final int RECORD_BYTES = 12;
+
+    private final Path directory;
+    private final List<Character> roster;
+    private final StrategyRegistry strategies;
+    private final int compactEvery;
+    private final Map<Character, Integer> ids = new IdentityHashMap<>();
+    private final List<Character> dirty = new ArrayList<>();
+    private ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+    private FileChannel deltas;
+    private long sequence;
+    private int segmentsSinceCompaction;
+
+    private CheckpointWriter(Path directory, List<Character> roster, StrategyRegistry strategies,
+                             int compactEvery) {
+        if (compactEvery <= 0) throw new IllegalArgumentException("compactEvery must be positive");
+        this.directory = directory;
+        this.roster = List.copyOf(roster);
+        this.strategies = strategies;
+        this.compactEvery = compactEvery;
+        for (int id = 0; id < this.roster.size(); id++) {
+            Character character = this.roster.get(id);
+            if (ids.put(character, id) != null) {
+                throw new IllegalArgumentException("Character appears twice: " + character.getName());
+            }
+            if (character.getChangeTracker() != null) {
+                throw new IllegalStateException(character.getName() + " is already tracked");
+            }
+        }
+    }
+
+    /**
+     * Write the initial base snapshot and start tracking the roster.
+     *
+     * @param compactEvery checkpoints between compactions
+     */
+    public static CheckpointWriter start(Path directory, List<Character> roster, StrategyRegistry strategies,
+                                         int compactEvery) throws IOException {
+        CheckpointWriter writer = new CheckpointWriter(directory, roster, strategies, compactEvery);
+        Files.createDirectories(directory);
+        for (Character character : writer.roster) {
+            character.setChangeTracker(writer);
+            character.clearDirty();
+        }
+        try {
+            writer.compact();
+        } catch (IOException | RuntimeException e) {
+            writer.close();
+            throw e;
+        }
+        return writer;
+    }
+
+    @Override
+    public void onDirty(Character character) {
+        dirty.add(character);
+    }
+
+    /**
+     * Number of characters changed since the last checkpoint.
+     */
+    public int dirtyCount() {
+        return dirty.size();
+    }
+
+    /**
+     * Sequence number of the last checkpoint.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Append a segment with every character changed since the last
+     * checkpoint, compacting when due.
+     *
+     * @return the number of characters written
+     */
+    public int checkpoint() throws IOException {
+        int count = dirty.size();
+        sequence++;
+        int size = SEGMENT_HEADER_BYTES + count * RECORD_BYTES + 4;
+        if (buffer.capacity() < size) buffer = ByteBuffer.allocate(Math.max(size, buffer.capacity() * 2));
+        buffer.clear();
+        buffer.putInt(SEGMENT_MAGIC).putLong(sequence).putInt(count);
+        for (Character character : dirty) {
+            buffer.putInt(ids.get(character))
+                .putInt(character.getStats().health())
+                .putInt(character.getStats().mana());
+            character.clearDirty();
+        }
+        dirty.clear();
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 4, buffer.position() - 4);
+        buffer.putInt((int) crc.getValue());
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            deltas.write(buffer);
+        }
+        if (++segmentsSinceCompaction >= compactEvery) {
+            compact();
+        }
+        return count;
+    }
+
+    /**
+     * Write a full base snapshot of the current state and empty the delta log.
+     * Pending changes are included in the base.
+     */
+    public void compact() throws IOException {
+        for (Character character : dirty) {
+            character.clearDirty();
+        }
+        dirty.clear();
+        Path base = directory.resolve(BASE_PREFIX + sequence + BASE_SUFFIX);
+        RosterSnapshot.write(base, roster, strategies);
+        if (deltas != null) deltas.close();
+        deltas = FileChannel.open(directory.resolve(DELTAS), StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        // Older bases are only removed once the new one is in place
+        for (Path old : bases(directory)) {
+            if (!old.equals(base)) Files.deleteIfExists(old);
+        }
+        segmentsSinceCompaction = 0;
+    }
+
+    /**
+     * Stop tracking the roster and close the delta log. Changes since the
+     * last checkpoint are not written.
+     */
+    @Override
+    public void close() throws IOException {
+        for (Character character : roster) {
+            if (character.getChangeTracker() == this) character.setChangeTracker(null);
+        }
+        if (deltas != null) deltas.close();
+    }
+
+    /**
+     * Rebuild the roster as of the last complete checkpoint.
+     */
+    public static List<Character> restore(Path directory, StrategyRegistry strategies) throws IOException {
+        Path base = null;
+        long baseSequence = -1;
+        for (Path candidate : bases(directory)) {
+            long candidateSequence = sequenceOf(candidate);
+            if (candidateSequence > baseSequence) {
+                base = candidate;
+                baseSequence = candidateSequence;
+            }
+        }
+        if (base == null) throw new IllegalArgumentException("No checkpoint in " + directory);
+
+        List<Character> roster = new ArrayList<>();
+        try (RosterSnapshot snapshot = RosterSnapshot.open(base, strategies)) {
+            for (int i = 0; i < snapshot.size(); i++) {
+                roster.add(snapshot.character(i));
+            }
+        }
+        Path log = directory.resolve(DELTAS);
+        if (Files.exists(log)) {
+            applySegments(ByteBuffer.wrap(Files.readAllBytes(log)), baseSequence, roster);
+        }
+        for (Character character : roster) {
+            character.clearDirty();
+        }
+        return roster;
+    }
+
+    private static void applySegments(ByteBuffer log, long baseSequence, List<Character> roster) {
+        while (log.remaining() >= SEGMENT_HEADER_BYTES) {
+            int start = log.position();
+            if (log.getInt() != SEGMENT_MAGIC) return;
+            long segmentSequence = log.getLong();
+            int count = log.getInt();
+            if (count < 0 || log.remaining() < (long) count * RECORD_BYTES + 4) return;
+            int recordsStart = log.position();
+            CRC32 crc = new CRC32();
+            crc.update(log.array(), start + 4, SEGMENT_HEADER_BYTES - 4 + count * RECORD_BYTES);
+            if (log.getInt(recordsStart + count * RECORD_BYTES) != (int) crc.getValue()) return;
+            for (int i = 0; i < count; i++) {
+                Character character = roster.get(log.getInt());
+                int health = log.getInt();
+                int mana = log.getInt();
+                if (segmentSequence > baseSequence) {
+                    character.setHealth(health);
+                    int current = character.getStats().mana();
+                    if (mana > current) {
+                        character.restoreMana(mana - current);
+                    } else if (mana < current) {
+                        character.useMana(current - mana);
+                    }
+                }
+            }
+            log.getInt(); // checksum
+        }
+    }
+
+    private static List<Path> bases(Path directory) throws IOException {
+        List<Path> bases = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, BASE_PREFIX + "*" + BASE_SUFFIX)) {
+            stream.forEach(bases::add);
+        }
+        return bases;
+    }
+
+    private static long sequenceOf(Path base) {
+        String name = base.getFileName().toString();
+        return Long.parseLong(name.substring(BASE_PREFIX.length(), name.length() - BASE_SUFFIX.length()));
+    }
+}
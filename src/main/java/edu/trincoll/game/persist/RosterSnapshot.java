@@ -0,0 +1,278 @@
+package edu.trincoll.game.persist;
+
+import edu.trincoll.game.factory.StrategyRegistry;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterStats;
+import edu.trincoll.game.model.CharacterType;
+import edu.trincoll.game.strategy.AttackStrategy;
+import edu.trincoll.game.strategy.DefenseStrategy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Memory-mapped binary snapshot of a roster of characters.
+ *
+ * File layout:
+ * - header: magic, version, character count, record width, region offsets
+ * - strategy id tables (attack, then defense)
+ * - fixed-width records: type, strategy indexes, the six stats fields,
+ *   name offset and length
+ * - name pool: UTF-8 names, back to back
+ *
+ * {@link #open(Path, StrategyRegistry)} maps the file and reads only the
+ * header; every accessor reads its record in place, and
+ * {@link #character(int)} builds a Character only for the record asked
+ * for. Opening a snapshot costs the same whatever its size.
+ *
+ * Each region must be smaller than 2 GB, about 59 million characters.
+ */
+public class RosterSnapshot implements AutoCloseable {
+    static final int MAGIC = 0x47525354; // "GRST"
+    static final int VERSION = 1;
+    static final int RECORD_BYTES = 36;
+    private static final int HEADER_BYTES = 40;
+    private static final int WRITE_BUFFER = 1 << 16;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer records;
+    private final MappedByteBuffer names;
+    private final int count;
+    private final AttackStrategy[] attacks;
+    private final DefenseStrategy[] defenses;
+    private final String[] attackIds;
+    private final String[] defenseIds;
+
+    private RosterSnapshot(FileChannel channel, StrategyRegistry strategies) throws IOException {
+        this.channel = channel;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        channel.read(header, 0);
+        header.flip();
+        if (header.remaining() < HEADER_BYTES || header.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a roster snapshot");
+        }
+        if (header.getInt(4) != VERSION) throw new IllegalArgumentException("Unsupported snapshot version");
+        if (header.getInt(12) != RECORD_BYTES) throw new IllegalArgumentException("Unexpected record width");
+        this.count = header.getInt(8);
+        long recordsOffset = header.getLong(16);
+        long namesOffset = header.getLong(24);
+        long namesLength = header.getLong(32);
+
+        ByteBuffer ids = ByteBuffer.allocate((int) (recordsOffset - HEADER_BYTES));
+        channel.read(ids, HEADER_BYTES);
+        ids.flip();
+        this.attackIds = readIds(ids);
+        this.defenseIds = readIds(ids);
+        this.attacks = new AttackStrategy[attackIds.length];
+        for (int i = 0; i < attacks.length; i++) {
+            attacks[i] = strategies.attack(attackIds[i]);
+        }
+        this.defenses = new DefenseStrategy[defenseIds.length];
+        for (int i = 0; i < defenses.length; i++) {
+            defenses[i] = strategies.defense(defenseIds[i]);
+        }
+
+        this.records = channel.map(FileChannel.MapMode.READ_ONLY, recordsOffset, (long) count * RECORD_BYTES);
+        this.names = channel.map(FileChannel.MapMode.READ_ONLY, namesOffset, namesLength);
+    }
+
+    /**
+     * Map a snapshot for reading. Strategy ids are resolved against the
+     * registry up front, so a snapshot naming unknown strategies fails here.
+     */
+    public static RosterSnapshot open(Path path, StrategyRegistry strategies) throws IOException {
+        if (strategies == null) throw new IllegalArgumentException("strategies cannot be null");
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new RosterSnapshot(channel, strategies);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Write a roster to a snapshot file, replacing any existing file.
+     *
+     * The snapshot is written and forced to a temporary file next to the
+     * target, then moved into place atomically. Readers that already have
+     * the old file mapped keep reading it unchanged.
+     */
+    public static void write(Path path, List<Character> roster, StrategyRegistry strategies) throws IOException {
+        if (roster.size() > Integer.MAX_VALUE / RECORD_BYTES) {
+            throw new IllegalArgumentException("Roster too large for one snapshot");
+        }
+        Map<String, Integer> attackIndex = new LinkedHashMap<>();
+        Map<String, Integer> defenseIndex = new LinkedHashMap<>();
+        byte[] attackIndexes = new byte[roster.size()];
+        byte[] defenseIndexes = new byte[roster.size()];
+        for (int i = 0; i < roster.size(); i++) {
+            Character character = roster.get(i);
+            attackIndexes[i] = index(attackIndex, strategies.attackIdOf(character.getAttackStrategy()));
+            defenseIndexes[i] = index(defenseIndex, strategies.defenseIdOf(character.getDefenseStrategy()));
+        }
+
+        ByteBuffer ids = ByteBuffer.allocate(2 + idBytes(attackIndex) + idBytes(defenseIndex));
+        writeIds(ids, attackIndex);
+        writeIds(ids, defenseIndex);
+        ids.flip();
+        long recordsOffset = HEADER_BYTES + ids.remaining();
+        long namesOffset = recordsOffset + (long) roster.size() * RECORD_BYTES;
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(ids, HEADER_BYTES);
+            ByteBuffer recordBuffer = ByteBuffer.allocate(WRITE_BUFFER / RECORD_BYTES * RECORD_BYTES);
+            ByteBuffer nameBuffer = ByteBuffer.allocate(WRITE_BUFFER);
+            long recordPosition = recordsOffset;
+            long namePosition = namesOffset;
+            int nameOffset = 0;
+            for (int i = 0; i < roster.size(); i++) {
+                Character character = roster.get(i);
+                byte[] name = character.getName().getBytes(StandardCharsets.UTF_8);
+                if (nameBuffer.remaining() < name.length) {
+                    namePosition += flush(channel, nameBuffer, namePosition);
+                    if (nameBuffer.capacity() < name.length) nameBuffer = ByteBuffer.allocate(name.length);
+                }
+                nameBuffer.put(name);
+                if (!recordBuffer.hasRemaining()) {
+                    recordPosition += flush(channel, recordBuffer, recordPosition);
+                }
+                CharacterStats stats = character.getStats();
+                recordBuffer.put((byte) character.getType().ordinal())
+                    .put(attackIndexes[i])
+                    .put(defenseIndexes[i])
+                    .put((byte) 0)
+                    .putInt(stats.health()).putInt(stats.maxHealth())
+                    .putInt(stats.attackPower()).putInt(stats.defense())
+                    .putInt(stats.mana()).putInt(stats.maxMana())
+                    .putInt(nameOffset).putInt(name.length);
+                nameOffset = Math.addExact(nameOffset, name.length);
+            }
+            flush(channel, recordBuffer, recordPosition);
+            flush(channel, nameBuffer, namePosition);
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC).putInt(VERSION).putInt(roster.size()).putInt(RECORD_BYTES)
+                .putLong(recordsOffset).putLong(namesOffset).putLong(nameOffset);
+            header.flip();
+            channel.write(header, 0);
+            channel.force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static byte index(Map<String, Integer> index, String id) {
+        Integer existing = index.get(id);
+        if (existing != null) return (byte) (int) existing;
+        if (index.size() == 255) throw new IllegalArgumentException("At most 255 distinct strategies per kind");
+        index.put(id, index.size());
+        return (byte) (index.size() - 1);
+    }
+
+    private static int flush(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        buffer.flip();
+        int written = 0;
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer, position + written);
+        }
+        buffer.clear();
+        return written;
+    }
+
+    private static int idBytes(Map<String, Integer> index) {
+        int bytes = 0;
+        for (String id : index.keySet()) {
+            bytes += 1 + id.getBytes(StandardCharsets.UTF_8).length;
+        }
+        return bytes;
+    }
+
+    private static void writeIds(ByteBuffer buffer, Map<String, Integer> index) {
+        buffer.put((byte) index.size());
+        for (String id : index.keySet()) {
+            byte[] utf8 = id.getBytes(StandardCharsets.UTF_8);
+            buffer.put((byte) utf8.length).put(utf8);
+        }
+    }
+
+    private static String[] readIds(ByteBuffer buffer) {
+        String[] ids = new String[buffer.get() & 0xFF];
+        for (int i = 0; i < ids.length; i++) {
+            byte[] utf8 = new byte[buffer.get() & 0xFF];
+            buffer.get(utf8);
+            ids[i] = new String(utf8, StandardCharsets.UTF_8);
+        }
+        return ids;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public CharacterType type(int index) {
+        return CharacterType.values()[records.get(offset(index))];
+    }
+
+    public int health(int index) {
+        return records.getInt(offset(index) + 4);
+    }
+
+    public int attackPower(int index) {
+        return records.getInt(offset(index) + 12);
+    }
+
+    public String attackStrategyId(int index) {
+        return attackIds[records.get(offset(index) + 1) & 0xFF];
+    }
+
+    public String defenseStrategyId(int index) {
+        return defenseIds[records.get(offset(index) + 2) & 0xFF];
+    }
+
+    public CharacterStats stats(int index) {
+        int at = offset(index);
+        return new CharacterStats(records.getInt(at + 4), records.getInt(at + 8), records.getInt(at + 12),
+            records.getInt(at + 16), records.getInt(at + 20), records.getInt(at + 24));
+    }
+
+    public String name(int index) {
+        int at = offset(index);
+        byte[] utf8 = new byte[records.getInt(at + 32)];
+        names.get(records.getInt(at + 28), utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Build the character stored at the index.
+     */
+    public Character character(int index) {
+        int at = offset(index);
+        return new Character(name(index), type(index), stats(index),
+            attacks[records.get(at + 1) & 0xFF], defenses[records.get(at + 2) & 0xFF]);
+    }
+
+    private int offset(int index) {
+        if (index < 0 || index >= count) throw new IndexOutOfBoundsException("index " + index);
+        return index * RECORD_BYTES;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
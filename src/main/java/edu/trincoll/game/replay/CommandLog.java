@@ -0,0 +1,207 @@
+package edu.trincoll.game.replay;
+
+import edu.trincoll.game.model.CharacterType;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * A recorded command stream in compact, columnar form.
+ *
+ * Each entry is an opcode plus three ints (actor id, target id, amount),
+ * stored in parallel primitive arrays rather than as GameCommand objects.
+ * Undo operations are recorded as fully specified inverse operations, so
+ * entries can be replayed strictly front to back without an undo stack.
+ *
+ * Amount meaning per opcode:
+ * - ATTACK: raw damage the attacker dealt (used to detect divergence early)
+ * - HEAL: requested healing amount
+ * - UNDO_ATTACK: damage to give back to the target (actor is the original attacker)
+ * - UNDO_HEAL: healing to take away from the target
+ *
+ * Checkpoints pair a command count with the expected roster state hash
+ * after that many commands.
+ */
+public class CommandLog implements CommandSink {
+    public static final byte ATTACK = 1;
+    public static final byte HEAL = 2;
+    public static final byte UNDO_ATTACK = 3;
+    public static final byte UNDO_HEAL = 4;
+
+    private static final int MAGIC = 0x47434C31; // "GCL1"
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Roster roster;
+    private final int checkpointInterval;
+
+    private byte[] ops = new byte[INITIAL_CAPACITY];
+    private int[] actors = new int[INITIAL_CAPACITY];
+    private int[] targets = new int[INITIAL_CAPACITY];
+    private int[] amounts = new int[INITIAL_CAPACITY];
+    private int size;
+
+    private int[] checkpointPositions = new int[INITIAL_CAPACITY];
+    private long[] checkpointHashes = new long[INITIAL_CAPACITY];
+    private int checkpointCount;
+
+    /**
+     * @param roster             the starting line-up the commands refer to
+     * @param checkpointInterval record a state hash every this many commands (0 = never)
+     */
+    public CommandLog(Roster roster, int checkpointInterval) {
+        if (roster == null) throw new IllegalArgumentException("roster cannot be null");
+        if (checkpointInterval < 0) throw new IllegalArgumentException("checkpointInterval cannot be negative");
+        this.roster = roster;
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    @Override
+    public void append(byte op, int actor, int target, int amount) {
+        if (size == ops.length) {
+            int capacity = size * 2;
+            ops = Arrays.copyOf(ops, capacity);
+            actors = Arrays.copyOf(actors, capacity);
+            targets = Arrays.copyOf(targets, capacity);
+            amounts = Arrays.copyOf(amounts, capacity);
+        }
+        ops[size] = op;
+        actors[size] = actor;
+        targets[size] = target;
+        amounts[size] = amount;
+        size++;
+    }
+
+    /**
+     * Record the expected state hash after the commands appended so far.
+     */
+    @Override
+    public void addCheckpoint(long stateHash) {
+        addCheckpoint(size, stateHash);
+    }
+
+    private void addCheckpoint(int position, long stateHash) {
+        if (checkpointCount == checkpointPositions.length) {
+            int capacity = checkpointCount * 2;
+            checkpointPositions = Arrays.copyOf(checkpointPositions, capacity);
+            checkpointHashes = Arrays.copyOf(checkpointHashes, capacity);
+        }
+        checkpointPositions[checkpointCount] = position;
+        checkpointHashes[checkpointCount] = stateHash;
+        checkpointCount++;
+    }
+
+    public Roster getRoster() {
+        return roster;
+    }
+
+    public int getCheckpointInterval() {
+        return checkpointInterval;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public byte op(int index) {
+        return ops[index];
+    }
+
+    public int actor(int index) {
+        return actors[index];
+    }
+
+    public int target(int index) {
+        return targets[index];
+    }
+
+    public int amount(int index) {
+        return amounts[index];
+    }
+
+    public int checkpointCount() {
+        return checkpointCount;
+    }
+
+    /**
+     * Number of commands executed when checkpoint {@code k} was taken.
+     */
+    public int checkpointPosition(int k) {
+        return checkpointPositions[k];
+    }
+
+    public long checkpointHash(int k) {
+        return checkpointHashes[k];
+    }
+
+    /**
+     * Write the roster, commands and checkpoints in a simple binary format.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeInt(checkpointInterval);
+        data.writeInt(roster.size());
+        for (int id = 0; id < roster.size(); id++) {
+            data.writeUTF(roster.getName(id));
+            data.writeByte(roster.getType(id).ordinal());
+        }
+        data.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            data.writeByte(ops[i]);
+            data.writeInt(actors[i]);
+            data.writeInt(targets[i]);
+            data.writeInt(amounts[i]);
+        }
+        data.writeInt(checkpointCount);
+        for (int k = 0; k < checkpointCount; k++) {
+            data.writeInt(checkpointPositions[k]);
+            data.writeLong(checkpointHashes[k]);
+        }
+        data.flush();
+    }
+
+    public static CommandLog readFrom(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a command log");
+        }
+        int checkpointInterval = data.readInt();
+        Roster roster = new Roster();
+        int rosterSize = data.readInt();
+        CharacterType[] types = CharacterType.values();
+        for (int id = 0; id < rosterSize; id++) {
+            String name = data.readUTF();
+            roster.add(name, types[data.readUnsignedByte()]);
+        }
+        CommandLog log = new CommandLog(roster, checkpointInterval);
+        int commands = data.readInt();
+        for (int i = 0; i < commands; i++) {
+            log.append(data.readByte(), data.readInt(), data.readInt(), data.readInt());
+        }
+        int checkpoints = data.readInt();
+        for (int k = 0; k < checkpoints; k++) {
+            log.addCheckpoint(data.readInt(), data.readLong());
+        }
+        return log;
+    }
+
+    public void save(Path path) throws IOException {
+        try (OutputStream out = Files.newOutputStream(path)) {
+            writeTo(out);
+        }
+    }
+
+    public static CommandLog load(Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            return readFrom(in);
+        }
+    }
+}
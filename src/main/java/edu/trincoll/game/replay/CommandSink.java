@@ -0,0 +1,43 @@
+package edu.trincoll.game.replay;
+
+/**
+ * Destination for encoded commands.
+ *
+ * Commands arrive as an opcode (see {@link CommandLog}) plus three ints,
+ * so implementations can store or ship them without holding on to
+ * GameCommand or Character objects.
+ */
+public interface CommandSink {
+    /**
+     * Accept one encoded command.
+     */
+    void append(byte op, int actor, int target, int amount);
+
+    /**
+     * Accept the roster state hash after the commands appended so far.
+     * Default implementation ignores it.
+     */
+    default void addCheckpoint(long stateHash) {
+        // Default: do nothing
+    }
+
+    /**
+     * Whether this sink can take commands that have no opcode of their own
+     * (see {@link #appendOther}). Sinks feeding replay can't, since such
+     * commands could not be replayed. Default is false.
+     */
+    default boolean acceptsOtherCommands() {
+        return false;
+    }
+
+    /**
+     * Accept a command that has no opcode of its own, identified by its
+     * class and description.
+     *
+     * @param undo true if the command was undone rather than executed
+     * @throws IllegalStateException if the sink does not accept other commands
+     */
+    default void appendOther(boolean undo, Class<?> type, String description) {
+        throw new IllegalStateException("This sink only records attack and heal commands");
+    }
+}
@@ -0,0 +1,281 @@
+package edu.trincoll.game.replay;
+
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterType;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Random access to a journal written by {@link JournalWriter}.
+ *
+ * Opening reads only the header and the segment index. {@link #seek(long)}
+ * finds the segment holding the requested command by binary search,
+ * restores that segment's health/mana snapshot and replays forward from
+ * there, so the cost is bounded by one segment regardless of how long the
+ * match was. {@link #read(long, long, CommandSink)} decodes a range of
+ * commands for viewers that step through a match.
+ */
+public class JournalReader implements AutoCloseable {
+    private final FileChannel channel;
+    private final Roster roster;
+    private final long[] firstCommands;
+    private final long[] offsets;
+    private final long[] stateHashes;
+    private final long indexOffset;
+    private final long size;
+
+    // Segment being decoded
+    private byte[] bytes = new byte[0];
+    private int length;
+    private int cursor;
+
+    private JournalReader(FileChannel channel) throws IOException {
+        this.channel = channel;
+        long fileSize = channel.size();
+        if (fileSize < JournalWriter.TRAILER_BYTES) throw new IllegalArgumentException("Not a command journal");
+        ByteBuffer trailer = readFully(fileSize - JournalWriter.TRAILER_BYTES, JournalWriter.TRAILER_BYTES);
+        indexOffset = trailer.getLong();
+        if (trailer.getInt() != JournalWriter.MAGIC) throw new IllegalArgumentException("Not a command journal");
+
+        ByteBuffer index = readFully(indexOffset, (int) (fileSize - JournalWriter.TRAILER_BYTES - indexOffset));
+        int segments = index.getInt();
+        firstCommands = new long[segments];
+        offsets = new long[segments];
+        stateHashes = new long[segments];
+        for (int s = 0; s < segments; s++) {
+            firstCommands[s] = index.getLong();
+            offsets[s] = index.getLong();
+            stateHashes[s] = index.getLong();
+        }
+        size = index.getLong();
+
+        int headerLength = (int) (segments > 0 ? offsets[0] : indexOffset);
+        DataInputStream header = new DataInputStream(new ByteArrayInputStream(readFully(0, headerLength).array()));
+        if (header.readInt() != JournalWriter.MAGIC) throw new IllegalArgumentException("Not a command journal");
+        roster = new Roster();
+        int rosterSize = header.readInt();
+        CharacterType[] types = CharacterType.values();
+        for (int id = 0; id < rosterSize; id++) {
+            String name = header.readUTF();
+            roster.add(name, types[header.readUnsignedByte()]);
+        }
+    }
+
+    public static JournalReader open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new JournalReader(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public Roster getRoster() {
+        return roster;
+    }
+
+    /**
+     * Number of commands in the journal.
+     */
+    public long size() {
+        return size;
+    }
+
+    public int segmentCount() {
+        return offsets.length;
+    }
+
+    /**
+     * Characters in the state after the first {@code command} commands,
+     * spawned from the roster.
+     */
+    public Character[] seek(long command) throws IOException {
+        return seek(command, roster.spawn());
+    }
+
+    /**
+     * Put the given characters (indexed by roster id) into the state after
+     * the first {@code command} commands.
+     *
+     * @throws IllegalStateException if the journal is corrupt or a replayed
+     *                               attack's damage differs from the recording
+     */
+    public Character[] seek(long command, Character[] characters) throws IOException {
+        if (command < 0 || command > size) {
+            throw new IllegalArgumentException("command must be between 0 and " + size);
+        }
+        if (characters.length != roster.size()) throw new IllegalArgumentException("characters do not match the roster");
+        int s = segmentOf(command);
+        loadSegment(s);
+        restoreSnapshot(characters);
+        if (Roster.stateHash(characters) != stateHashes[s]) {
+            throw new IllegalStateException("Snapshot of segment " + s + " does not match its state hash");
+        }
+        long position = firstCommands[s];
+        Decoder decoder = new Decoder();
+        while (position < command) {
+            if (!decoder.next()) throw new IllegalStateException("Segment " + s + " ends early");
+            if (decoder.op == 0) continue;
+            int damage = apply(characters, decoder.op, decoder.actor, decoder.target, decoder.amount);
+            if (decoder.op == CommandLog.ATTACK && damage != decoder.amount) {
+                throw new IllegalStateException("Replay diverges at command " + position);
+            }
+            position++;
+        }
+        return characters;
+    }
+
+    /**
+     * Decode {@code count} commands starting at {@code from} into the sink,
+     * along with the checkpoints taken after each of them.
+     */
+    public void read(long from, long count, CommandSink sink) throws IOException {
+        if (from < 0 || count < 0 || from + count > size) {
+            throw new IllegalArgumentException("range is outside the journal");
+        }
+        long end = from + count;
+        for (int s = segmentOf(from); s < offsets.length && firstCommands[s] <= end; s++) {
+            loadSegment(s);
+            skipSnapshot();
+            long position = firstCommands[s];
+            Decoder decoder = new Decoder();
+            while (decoder.next()) {
+                if (decoder.op == 0) {
+                    if (position > from) sink.addCheckpoint(decoder.hash);
+                } else {
+                    if (position == end) return;
+                    if (position >= from) sink.append(decoder.op, decoder.actor, decoder.target, decoder.amount);
+                    position++;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Apply one recorded command the way ReplayEngine does.
+     *
+     * @return the attacker's raw damage for ATTACK, otherwise the amount
+     */
+    static int apply(Character[] characters, byte op, int actor, int target, int amount) {
+        Character character = characters[target];
+        switch (op) {
+            case CommandLog.ATTACK -> {
+                int damage = characters[actor].attack(character);
+                character.takeDamage(damage);
+                return damage;
+            }
+            case CommandLog.HEAL, CommandLog.UNDO_ATTACK -> character.heal(amount);
+            case CommandLog.UNDO_HEAL -> character.setHealth(character.getStats().health() - amount);
+            default -> throw new IllegalStateException("Unknown opcode " + op);
+        }
+        return amount;
+    }
+
+    private int segmentOf(long command) {
+        int s = Arrays.binarySearch(firstCommands, command);
+        return s >= 0 ? s : -s - 2;
+    }
+
+    private void loadSegment(int s) throws IOException {
+        long end = s + 1 < offsets.length ? offsets[s + 1] : indexOffset;
+        length = (int) (end - offsets[s]);
+        if (bytes.length < length) bytes = new byte[length];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offsets[s] + buffer.position()) < 0) {
+                throw new IllegalArgumentException("Truncated command journal");
+            }
+        }
+        cursor = 0;
+    }
+
+    private void restoreSnapshot(Character[] characters) {
+        for (Character character : characters) {
+            character.setHealth((int) readVarLong());
+            int mana = (int) readVarLong();
+            int current = character.getStats().mana();
+            if (mana > current) {
+                character.restoreMana(mana - current);
+            } else if (mana < current) {
+                character.useMana(current - mana);
+            }
+        }
+    }
+
+    private void skipSnapshot() {
+        for (int i = 0; i < 2 * roster.size(); i++) {
+            readVarLong();
+        }
+    }
+
+    private long readVarLong() {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            if (cursor >= length) throw new IllegalStateException("Truncated segment");
+            b = bytes[cursor++];
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private ByteBuffer readFully(long offset, int count) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(count);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                throw new IllegalArgumentException("Truncated command journal");
+            }
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Walks the commands of the loaded segment, keeping the running deltas.
+     * op is 0 for a checkpoint, whose hash is then set.
+     */
+    private final class Decoder {
+        byte op;
+        int actor;
+        int target;
+        int amount;
+        long hash;
+
+        boolean next() {
+            if (cursor >= length) return false;
+            long head = readVarLong();
+            if (head == 0) {
+                op = 0;
+                hash = 0;
+                for (int i = 0; i < Long.BYTES; i++) {
+                    if (cursor >= length) throw new IllegalStateException("Truncated segment");
+                    hash = (hash << 8) | (bytes[cursor++] & 0xFF);
+                }
+                return true;
+            }
+            op = (byte) (head & ((1 << JournalWriter.OP_BITS) - 1));
+            actor += (int) unzigzag(head >>> JournalWriter.OP_BITS);
+            target += (int) unzigzag(readVarLong());
+            amount += (int) unzigzag(readVarLong());
+            return true;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package edu.trincoll.game.replay;
+
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterStats;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Writes a command stream to disk as compressed, seekable segments.
+ *
+ * Commands are varint encoded, with actor, target and amount stored as
+ * zigzagged differences from the previous command, so a typical command
+ * takes 3-5 bytes instead of the 13 CommandLog writes. Every
+ * {@code commandsPerSegment} commands a new segment starts with a
+ * snapshot of every character's health and mana, and a sparse index at
+ * the end of the file maps each segment's first command number to its
+ * file offset and state hash. {@link JournalReader} uses the index to
+ * seek to any command by restoring the nearest snapshot and replaying at
+ * most one segment.
+ *
+ * File layout:
+ * - header: magic, roster (name, type ordinal)
+ * - segments: health/mana per roster id, then commands; a command is
+ *   varint(zigzag(actor delta) &lt;&lt; 3 | op), zigzag(target delta),
+ *   zigzag(amount delta). A lone 0 byte followed by an 8-byte hash is a
+ *   state checkpoint. Deltas restart at each segment.
+ * - index: segment count, (first command, offset, state hash) per
+ *   segment, total commands
+ * - trailer: index offset, magic
+ *
+ * Plug it into a RecordingCommandInvoker over the same characters; each
+ * command must already be applied to them when it is appended.
+ */
+public class JournalWriter implements CommandSink, AutoCloseable {
+    static final int MAGIC = 0x47434A31; // "GCJ1"
+    static final int TRAILER_BYTES = 8 + 4;
+    static final int INDEX_ENTRY_BYTES = 8 + 8 + 8;
+    static final int OP_BITS = 3;
+    public static final int DEFAULT_COMMANDS_PER_SEGMENT = 64 * 1024;
+
+    private final Character[] characters;
+    private final int commandsPerSegment;
+    private final DataOutputStream out;
+    private byte[] segment = new byte[4096];
+    private int segmentLength;
+    private long position;
+    private long commands;
+    private int segmentCommands;
+    private int previousActor;
+    private int previousTarget;
+    private int previousAmount;
+
+    private int segments;
+    private long[] firstCommands = new long[16];
+    private long[] offsets = new long[16];
+    private long[] stateHashes = new long[16];
+    private boolean closed;
+
+    public JournalWriter(Path file, Roster roster, Character[] characters) throws IOException {
+        this(file, roster, characters, DEFAULT_COMMANDS_PER_SEGMENT);
+    }
+
+    /**
+     * @param characters the live characters commands are applied to, indexed by roster id
+     */
+    public JournalWriter(Path file, Roster roster, Character[] characters, int commandsPerSegment)
+            throws IOException {
+        if (roster == null) throw new IllegalArgumentException("roster cannot be null");
+        if (characters == null || characters.length != roster.size()) {
+            throw new IllegalArgumentException("characters do not match the roster");
+        }
+        if (commandsPerSegment <= 0) throw new IllegalArgumentException("commandsPerSegment must be positive");
+        this.characters = characters;
+        this.commandsPerSegment = commandsPerSegment;
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+        out.writeInt(MAGIC);
+        out.writeInt(roster.size());
+        for (int id = 0; id < roster.size(); id++) {
+            out.writeUTF(roster.getName(id));
+            out.writeByte(roster.getType(id).ordinal());
+        }
+        position = out.size();
+        startSegment();
+    }
+
+    /**
+     * Record every command of a log in a new journal file, rebuilding the
+     * per-segment state by replaying the log from the roster's spawn.
+     */
+    public static void write(CommandLog log, Path file, int commandsPerSegment) throws IOException {
+        Character[] characters = log.getRoster().spawn();
+        int nextCheckpoint = 0;
+        try (JournalWriter writer = new JournalWriter(file, log.getRoster(), characters, commandsPerSegment)) {
+            for (int i = 0; i <= log.size(); i++) {
+                while (nextCheckpoint < log.checkpointCount() && log.checkpointPosition(nextCheckpoint) == i) {
+                    writer.addCheckpoint(log.checkpointHash(nextCheckpoint++));
+                }
+                if (i == log.size()) break;
+                JournalReader.apply(characters, log.op(i), log.actor(i), log.target(i), log.amount(i));
+                writer.append(log.op(i), log.actor(i), log.target(i), log.amount(i));
+            }
+        }
+    }
+
+    /**
+     * Number of commands appended so far.
+     */
+    public long size() {
+        return commands;
+    }
+
+    @Override
+    public void append(byte op, int actor, int target, int amount) {
+        if (closed) throw new IllegalStateException("Journal is closed");
+        if (op < CommandLog.ATTACK || op > CommandLog.UNDO_HEAL) {
+            throw new IllegalArgumentException("Unknown opcode " + op);
+        }
+        ensureRoom(3 * 10);
+        putVarLong((zigzag((long) actor - previousActor) << OP_BITS) | op);
+        putVarLong(zigzag((long) target - previousTarget));
+        putVarLong(zigzag((long) amount - previousAmount));
+        previousActor = actor;
+        previousTarget = target;
+        previousAmount = amount;
+        commands++;
+        if (++segmentCommands == commandsPerSegment) {
+            try {
+                finishSegment();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            startSegment();
+        }
+    }
+
+    @Override
+    public void addCheckpoint(long stateHash) {
+        if (closed) throw new IllegalStateException("Journal is closed");
+        ensureRoom(1 + Long.BYTES);
+        segment[segmentLength++] = 0;
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            segment[segmentLength++] = (byte) (stateHash >>> shift);
+        }
+    }
+
+    /**
+     * Write the last segment and the index, and close the file.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        try {
+            finishSegment();
+            long indexOffset = position;
+            out.writeInt(segments);
+            for (int s = 0; s < segments; s++) {
+                out.writeLong(firstCommands[s]);
+                out.writeLong(offsets[s]);
+                out.writeLong(stateHashes[s]);
+            }
+            out.writeLong(commands);
+            out.writeLong(indexOffset);
+            out.writeInt(MAGIC);
+        } finally {
+            out.close();
+        }
+    }
+
+    private void startSegment() {
+        if (segments == offsets.length) {
+            int capacity = segments * 2;
+            firstCommands = Arrays.copyOf(firstCommands, capacity);
+            offsets = Arrays.copyOf(offsets, capacity);
+            stateHashes = Arrays.copyOf(stateHashes, capacity);
+        }
+        firstCommands[segments] = commands;
+        offsets[segments] = position;
+        stateHashes[segments] = Roster.stateHash(characters);
+        segments++;
+        segmentLength = 0;
+        segmentCommands = 0;
+        previousActor = 0;
+        previousTarget = 0;
+        previousAmount = 0;
+        ensureRoom(characters.length * 10);
+        for (Character character : characters) {
+            CharacterStats stats = character.getStats();
+            putVarLong(stats.health());
+            putVarLong(stats.mana());
+        }
+    }
+
+    private void finishSegment() throws IOException {
+        out.write(segment, 0, segmentLength);
+        position += segmentLength;
+        segmentLength = 0;
+    }
+
+    private void ensureRoom(int bytes) {
+        if (segmentLength + bytes > segment.length) {
+            segment = Arrays.copyOf(segment, Math.max(segment.length * 2, segmentLength + bytes));
+        }
+    }
+
+    private void putVarLong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            segment[segmentLength++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        segment[segmentLength++] = (byte) value;
+    }
+
+    private static long zigzag(long delta) {
+        return (delta << 1) ^ (delta >> 63);
+    }
+}
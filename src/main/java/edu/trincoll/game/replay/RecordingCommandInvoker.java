@@ -0,0 +1,140 @@
+package edu.trincoll.game.replay;
+
+import edu.trincoll.game.command.AttackCommand;
+import edu.trincoll.game.command.CommandInvoker;
+import edu.trincoll.game.command.GameCommand;
+import edu.trincoll.game.command.HealCommand;
+import edu.trincoll.game.model.Character;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Command invoker that encodes every executed and undone command into a
+ * {@link CommandSink} - a {@link CommandLog} for later replay, or any other
+ * consumer of the encoded stream.
+ *
+ * The characters must be the ones spawned from the roster the sink refers
+ * to; commands are translated to roster ids as they execute. Encoding does
+ * not allocate, so recording can stay on in the hot path.
+ *
+ * Commands other than attack and heal are passed to the sink by class and
+ * description when the sink accepts them (an audit log does); otherwise
+ * they are rejected before they run, since they could not be replayed.
+ */
+public class RecordingCommandInvoker extends CommandInvoker {
+    private final CommandSink sink;
+    private final CommandLog log;
+    private final Character[] characters;
+    private final int checkpointInterval;
+    private final Map<Character, Integer> ids = new IdentityHashMap<>();
+    private int recorded;
+
+    /**
+     * Record into a command log, checkpointing at the log's interval.
+     */
+    public RecordingCommandInvoker(CommandLog log, Character[] characters) {
+        this(log, log, characters, log.getCheckpointInterval());
+        if (characters.length != log.getRoster().size()) {
+            throw new IllegalArgumentException("characters do not match the roster");
+        }
+    }
+
+    /**
+     * @param checkpointInterval send a state hash every this many commands (0 = never)
+     */
+    public RecordingCommandInvoker(CommandSink sink, Character[] characters, int checkpointInterval) {
+        this(sink, null, characters, checkpointInterval);
+    }
+
+    private RecordingCommandInvoker(CommandSink sink, CommandLog log, Character[] characters,
+                                    int checkpointInterval) {
+        if (sink == null) throw new IllegalArgumentException("sink cannot be null");
+        if (checkpointInterval < 0) throw new IllegalArgumentException("checkpointInterval cannot be negative");
+        this.sink = sink;
+        this.log = log;
+        this.characters = characters;
+        this.checkpointInterval = checkpointInterval;
+        for (int id = 0; id < characters.length; id++) {
+            ids.put(characters[id], id);
+        }
+    }
+
+    public CommandSink getSink() {
+        return sink;
+    }
+
+    /**
+     * The command log being recorded, or null when recording into another sink.
+     */
+    public CommandLog getLog() {
+        return log;
+    }
+
+    /**
+     * Attack and heal commands must be between roster characters; other
+     * commands are rejected before they run unless the sink accepts them.
+     */
+    @Override
+    public void executeCommand(GameCommand command) {
+        if (command instanceof AttackCommand attack) {
+            idOf(attack.getAttacker());
+            idOf(attack.getTarget());
+        } else if (command instanceof HealCommand heal) {
+            idOf(heal.getTarget());
+        } else if (!sink.acceptsOtherCommands()) {
+            throw new IllegalArgumentException("Cannot record command: " + command.getDescription());
+        }
+        super.executeCommand(command);
+    }
+
+    @Override
+    protected void onExecuted(GameCommand command) {
+        if (command instanceof AttackCommand attack) {
+            sink.append(CommandLog.ATTACK, idOf(attack.getAttacker()), idOf(attack.getTarget()),
+                attack.getDamageDealt());
+        } else if (command instanceof HealCommand heal) {
+            int target = idOf(heal.getTarget());
+            sink.append(CommandLog.HEAL, target, target, heal.getAmount());
+        } else {
+            sink.appendOther(false, command.getClass(), command.getDescription());
+        }
+        maybeCheckpoint();
+    }
+
+    @Override
+    protected void onUndone(GameCommand command) {
+        if (command instanceof AttackCommand attack) {
+            sink.append(CommandLog.UNDO_ATTACK, idOf(attack.getAttacker()), idOf(attack.getTarget()),
+                attack.getDamageDealt());
+        } else if (command instanceof HealCommand heal) {
+            int target = idOf(heal.getTarget());
+            sink.append(CommandLog.UNDO_HEAL, target, target, heal.getActualHealingDone());
+        } else {
+            sink.appendOther(true, command.getClass(), command.getDescription());
+        }
+        maybeCheckpoint();
+    }
+
+    /**
+     * Record the current state hash, regardless of the checkpoint interval.
+     */
+    public void checkpoint() {
+        sink.addCheckpoint(Roster.stateHash(characters));
+    }
+
+    private void maybeCheckpoint() {
+        recorded++;
+        if (checkpointInterval > 0 && recorded % checkpointInterval == 0) {
+            checkpoint();
+        }
+    }
+
+    private int idOf(Character character) {
+        Integer id = ids.get(character);
+        if (id == null) {
+            throw new IllegalArgumentException(character.getName() + " is not on the roster");
+        }
+        return id;
+    }
+}
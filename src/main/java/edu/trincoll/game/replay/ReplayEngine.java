@@ -0,0 +1,75 @@
+package edu.trincoll.game.replay;
+
+import edu.trincoll.game.model.Character;
+
+/**
+ * Re-executes a recorded {@link CommandLog} as fast as possible.
+ *
+ * Unlike going through CommandInvoker, the replay does not create command
+ * objects, keep history or build descriptions - it decodes each entry and
+ * calls the Character methods the original command would have called:
+ * - ATTACK: damage = attacker.attack(target); target.takeDamage(damage)
+ * - HEAL: target.heal(amount)
+ * - UNDO_ATTACK: target.heal(amount)  (same as AttackCommand.undo)
+ * - UNDO_HEAL: target.setHealth(health - amount)  (same as HealCommand.undo)
+ *
+ * The replay stops at the first divergence: an attack whose raw damage
+ * differs from the recording, or a checkpoint whose state hash differs.
+ *
+ * Note: runtime strategy swaps are not part of the log, so matches that
+ * change strategies mid-fight replay with the factory defaults.
+ */
+public class ReplayEngine {
+
+    /**
+     * Rebuild the roster from CharacterFactory and replay the whole log.
+     */
+    public ReplayResult replay(CommandLog log) {
+        return replay(log, log.getRoster().spawn());
+    }
+
+    /**
+     * Replay the whole log against the given characters (indexed by roster id).
+     */
+    public ReplayResult replay(CommandLog log, Character[] characters) {
+        int size = log.size();
+        int checkpoints = log.checkpointCount();
+        int nextCheckpoint = 0;
+        while (nextCheckpoint < checkpoints && log.checkpointPosition(nextCheckpoint) == 0) {
+            long actual = Roster.stateHash(characters);
+            if (actual != log.checkpointHash(nextCheckpoint)) {
+                return new ReplayResult(0, nextCheckpoint, ReplayResult.Divergence.STATE_HASH,
+                    0, log.checkpointHash(nextCheckpoint), actual);
+            }
+            nextCheckpoint++;
+        }
+
+        for (int i = 0; i < size; i++) {
+            Character target = characters[log.target(i)];
+            int amount = log.amount(i);
+            switch (log.op(i)) {
+                case CommandLog.ATTACK -> {
+                    int damage = characters[log.actor(i)].attack(target);
+                    if (damage != amount) {
+                        return new ReplayResult(i, nextCheckpoint, ReplayResult.Divergence.DAMAGE,
+                            i, amount, damage);
+                    }
+                    target.takeDamage(damage);
+                }
+                case CommandLog.HEAL, CommandLog.UNDO_ATTACK -> target.heal(amount);
+                case CommandLog.UNDO_HEAL -> target.setHealth(target.getStats().health() - amount);
+                default -> throw new IllegalStateException("Unknown opcode " + log.op(i) + " at command " + i);
+            }
+
+            while (nextCheckpoint < checkpoints && log.checkpointPosition(nextCheckpoint) == i + 1) {
+                long actual = Roster.stateHash(characters);
+                if (actual != log.checkpointHash(nextCheckpoint)) {
+                    return new ReplayResult(i + 1, nextCheckpoint, ReplayResult.Divergence.STATE_HASH,
+                        i, log.checkpointHash(nextCheckpoint), actual);
+                }
+                nextCheckpoint++;
+            }
+        }
+        return ReplayResult.matched(size, nextCheckpoint);
+    }
+}
@@ -0,0 +1,32 @@
+package edu.trincoll.game.replay;
+
+/**
+ * Outcome of replaying a {@link CommandLog}.
+ *
+ * When the replay diverges, {@code divergedAt} is the index of the first
+ * command whose result did not match the recording, and expected/actual
+ * hold the mismatching values (raw damage for DAMAGE, state hash for
+ * STATE_HASH). Otherwise divergedAt is -1.
+ */
+public record ReplayResult(
+    int commandsReplayed,
+    int checkpointsVerified,
+    Divergence divergence,
+    int divergedAt,
+    long expected,
+    long actual
+) {
+    public enum Divergence {
+        NONE,
+        DAMAGE,
+        STATE_HASH
+    }
+
+    public static ReplayResult matched(int commandsReplayed, int checkpointsVerified) {
+        return new ReplayResult(commandsReplayed, checkpointsVerified, Divergence.NONE, -1, 0, 0);
+    }
+
+    public boolean diverged() {
+        return divergence != Divergence.NONE;
+    }
+}
@@ -0,0 +1,255 @@
+package edu.trincoll.game.replay;
+
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterType;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hot-standby copy of a primary's characters, kept current by the
+ * command stream from a {@link ReplicationPrimary}.
+ *
+ * After connecting, the replica's own thread receives the roster and a
+ * state snapshot (sent at the primary's next batch boundary), then applies
+ * each batch exactly as ReplayEngine would and acknowledges it. Attack damage and checkpoint hashes are checked as
+ * they arrive; on a mismatch the replica stops applying and reports
+ * {@link #isDiverged()}.
+ *
+ * The characters belong to the applier thread while it runs. For
+ * failover, {@link #promote()} stops replication and hands them over,
+ * already at the last applied command.
+ *
+ * Run as a process: {@code ReplicaNode <host> <port> <sequence>} waits
+ * until that many commands are applied, prints
+ * {@code REPLICA <sequence> <stateHash>} and exits.
+ */
+public class ReplicaNode implements AutoCloseable {
+    private final Socket socket;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+    private final Thread applier;
+    private volatile Roster roster;
+    private Character[] characters;
+    private volatile long applied;
+    private volatile boolean diverged;
+    private volatile boolean stopping;
+    private volatile IOException failure;
+
+    private ReplicaNode(Socket socket) throws IOException {
+        this.socket = socket;
+        this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), 1 << 16));
+        this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        applier = Thread.ofPlatform().name("replica-applier").daemon().start(this::applyLoop);
+    }
+
+    /**
+     * Read the roster and state snapshot that open the stream.
+     */
+    private void synchronize() throws IOException {
+        if (in.readInt() != ReplicationPrimary.MAGIC) throw new IOException("Not a replication stream");
+        Roster snapshotRoster = new Roster();
+        int size = in.readInt();
+        CharacterType[] types = CharacterType.values();
+        for (int id = 0; id < size; id++) {
+            String name = in.readUTF();
+            snapshotRoster.add(name, types[in.readUnsignedByte()]);
+        }
+        long sequence = in.readLong();
+        Character[] snapshot = snapshotRoster.spawn();
+        for (Character character : snapshot) {
+            character.setHealth(in.readInt());
+            int mana = in.readInt();
+            int current = character.getStats().mana();
+            if (mana > current) {
+                character.restoreMana(mana - current);
+            } else if (mana < current) {
+                character.useMana(current - mana);
+            }
+        }
+        characters = snapshot;
+        applied = sequence;
+        roster = snapshotRoster;
+    }
+
+    /**
+     * Connect to a primary and start applying its stream.
+     */
+    public static ReplicaNode connect(InetSocketAddress primary) throws IOException {
+        Socket socket = new Socket(primary.getAddress(), primary.getPort());
+        try {
+            socket.setTcpNoDelay(true);
+            return new ReplicaNode(socket);
+        } catch (IOException | RuntimeException e) {
+            socket.close();
+            throw e;
+        }
+    }
+
+    /**
+     * The primary's roster, or null until the snapshot has arrived.
+     */
+    public Roster getRoster() {
+        return roster;
+    }
+
+    /**
+     * Number of primary commands reflected in this replica's state.
+     */
+    public long appliedSequence() {
+        return roster == null ? -1 : applied;
+    }
+
+    public boolean isDiverged() {
+        return diverged;
+    }
+
+    /**
+     * True while the replica is connected and applying.
+     */
+    public boolean isRunning() {
+        return applier.isAlive();
+    }
+
+    /**
+     * Wait until at least {@code sequence} commands have been applied.
+     *
+     * @return false if the timeout passed or replication stopped first
+     */
+    public boolean awaitSequence(long sequence, long timeout, TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (roster == null || applied < sequence) {
+            if (!applier.isAlive() || System.nanoTime() >= deadline) {
+                return roster != null && applied >= sequence;
+            }
+            LockSupport.parkNanos(100_000);
+        }
+        return true;
+    }
+
+    /**
+     * Stop replicating and take over the characters, indexed by roster id.
+     */
+    public Character[] promote() throws IOException {
+        close();
+        if (roster == null) throw new IllegalStateException("Replica never received a snapshot");
+        return characters;
+    }
+
+    @Override
+    public void close() throws IOException {
+        stopping = true;
+        socket.close();
+        try {
+            applier.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure != null) throw failure;
+    }
+
+    private void applyLoop() {
+        byte[] bytes = new byte[4096];
+        try {
+            synchronize();
+            while (true) {
+                int length = in.readInt() - 8 - 4;
+                long first = in.readLong();
+                int count = in.readInt();
+                if (first != applied) throw new IOException("Expected sequence " + applied + ", got " + first);
+                if (bytes.length < length) bytes = new byte[Math.max(length, bytes.length * 2)];
+                in.readFully(bytes, 0, length);
+                if (!applyBatch(bytes, length, count)) {
+                    diverged = true;
+                    break;
+                }
+                out.writeLong(applied);
+                out.flush();
+            }
+        } catch (EOFException e) {
+            // Primary closed the stream
+        } catch (IOException e) {
+            if (!stopping) failure = e;
+        }
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Already closed
+        }
+    }
+
+    /**
+     * @return false at the first divergence from the primary
+     */
+    private boolean applyBatch(byte[] bytes, int length, int count) throws IOException {
+        int[] cursor = {0};
+        int actor = 0;
+        int target = 0;
+        int amount = 0;
+        int commands = 0;
+        while (cursor[0] < length) {
+            long head = readVarLong(bytes, length, cursor);
+            if (head == 0) {
+                if (cursor[0] + Long.BYTES > length) throw new IOException("Truncated checkpoint");
+                long hash = 0;
+                for (int i = 0; i < Long.BYTES; i++) {
+                    hash = (hash << 8) | (bytes[cursor[0]++] & 0xFF);
+                }
+                if (hash != Roster.stateHash(characters)) return false;
+                continue;
+            }
+            byte op = (byte) (head & ((1 << JournalWriter.OP_BITS) - 1));
+            actor += (int) unzigzag(head >>> JournalWriter.OP_BITS);
+            target += (int) unzigzag(readVarLong(bytes, length, cursor));
+            amount += (int) unzigzag(readVarLong(bytes, length, cursor));
+            int damage = JournalReader.apply(characters, op, actor, target, amount);
+            if (op == CommandLog.ATTACK && damage != amount) return false;
+            commands++;
+            applied++;
+        }
+        if (commands != count) throw new IOException("Batch held " + commands + " commands, expected " + count);
+        return true;
+    }
+
+    private static long readVarLong(byte[] bytes, int length, int[] cursor) throws IOException {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            if (cursor[0] >= length) throw new IOException("Truncated batch");
+            b = bytes[cursor[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("Usage: ReplicaNode <host> <port> <sequence>");
+            System.exit(2);
+        }
+        long target = Long.parseLong(args[2]);
+        try (ReplicaNode replica = connect(new InetSocketAddress(args[0], Integer.parseInt(args[1])))) {
+            if (!replica.awaitSequence(target, 60, TimeUnit.SECONDS)) {
+                System.err.println("Replica stopped at " + replica.appliedSequence()
+                    + (replica.isDiverged() ? " (diverged)" : ""));
+                System.exit(1);
+            }
+            Character[] characters = replica.promote();
+            System.out.println("REPLICA " + replica.appliedSequence() + " " + Roster.stateHash(characters));
+        }
+    }
+}
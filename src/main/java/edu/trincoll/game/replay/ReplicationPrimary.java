@@ -0,0 +1,395 @@
+package edu.trincoll.game.replay;
+
+import edu.trincoll.game.metrics.LatencyHistogram;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterStats;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Streams every executed command from a primary to hot-standby replicas.
+ *
+ * Plug it into a RecordingCommandInvoker over the primary's characters.
+ * Commands are encoded as they are appended - varints, with actor,
+ * target and amount delta-encoded against the previous command in the
+ * batch - and shipped in batches of up to {@code batchSize} commands, or
+ * earlier when {@link #flush()} is called (once per game tick, say).
+ * Checkpoints travel with the stream, so replicas can detect divergence.
+ *
+ * A replica that connects is sent the roster and a snapshot of every
+ * character's health and mana, taken on the game thread at the next
+ * batch boundary, followed by every later batch. Replicas therefore start
+ * hot and never replay from the beginning. Each replica acknowledges
+ * every batch it applies; {@link #lag()} is how many published commands
+ * the slowest replica has not yet acknowledged.
+ *
+ * Each replica has its own writer thread fed through a bounded queue of
+ * {@value #QUEUE_BATCHES} batches, so the game thread never waits on the
+ * network and one slow replica cannot hold back the others. A replica
+ * that falls that far behind, or whose connection fails, is dropped.
+ *
+ * Frames (big-endian):
+ * - snapshot: magic, roster (name, type ordinal), sequence, health and
+ *   mana per roster id
+ * - batch: payload length, first sequence, command count, commands in the
+ *   JournalWriter command encoding (a 0 byte plus 8 bytes is a checkpoint)
+ * - ack (replica to primary): sequence applied so far
+ */
+public class ReplicationPrimary implements CommandSink, AutoCloseable {
+    static final int MAGIC = 0x47525031; // "GRP1"
+    public static final int DEFAULT_BATCH_SIZE = 256;
+    static final int QUEUE_BATCHES = 1024;
+    private static final long CLOSE_TIMEOUT_MILLIS = 5000;
+
+    private final Roster roster;
+    private final Character[] characters;
+    private final int batchSize;
+    private final ServerSocket server;
+    private final Thread acceptor;
+    private final ConcurrentLinkedQueue<Socket> joining = new ConcurrentLinkedQueue<>();
+    private final List<Replica> replicas = new CopyOnWriteArrayList<>();
+    private final LatencyHistogram ackLatencies = new LatencyHistogram();
+    private volatile boolean closed;
+    private volatile long published;
+
+    // Batch being built on the game thread
+    private byte[] batch = new byte[4096];
+    private int batchLength;
+    private int batchCommands;
+    private long batchStart;
+    private int previousActor;
+    private int previousTarget;
+    private int previousAmount;
+
+    /**
+     * @param characters the live characters commands are applied to, indexed by roster id
+     * @param address    address replicas connect to (port 0 picks a free port)
+     */
+    public ReplicationPrimary(Roster roster, Character[] characters, InetSocketAddress address, int batchSize)
+            throws IOException {
+        if (roster == null) throw new IllegalArgumentException("roster cannot be null");
+        if (characters == null || characters.length != roster.size()) {
+            throw new IllegalArgumentException("characters do not match the roster");
+        }
+        if (batchSize <= 0) throw new IllegalArgumentException("batchSize must be positive");
+        this.roster = roster;
+        this.characters = characters;
+        this.batchSize = batchSize;
+        this.server = new ServerSocket();
+        server.bind(address);
+        this.acceptor = Thread.ofVirtual().name("replication-acceptor").start(this::acceptLoop);
+    }
+
+    public InetSocketAddress getAddress() {
+        return (InetSocketAddress) server.getLocalSocketAddress();
+    }
+
+    public int replicaCount() {
+        return replicas.size();
+    }
+
+    /**
+     * Number of commands appended so far (and the sequence of the next one).
+     */
+    public long publishedSequence() {
+        return published;
+    }
+
+    /**
+     * Highest sequence every connected replica has acknowledged.
+     */
+    public long acknowledgedSequence() {
+        long min = published;
+        for (Replica replica : replicas) {
+            min = Math.min(min, replica.acknowledged);
+        }
+        return min;
+    }
+
+    /**
+     * Commands published but not yet acknowledged by the slowest replica.
+     */
+    public long lag() {
+        return published - acknowledgedSequence();
+    }
+
+    /**
+     * Time from a batch leaving the sender to its acknowledgement, in nanoseconds.
+     */
+    public LatencyHistogram ackLatencies() {
+        return ackLatencies;
+    }
+
+    @Override
+    public void append(byte op, int actor, int target, int amount) {
+        if (op < CommandLog.ATTACK || op > CommandLog.UNDO_HEAL) {
+            throw new IllegalArgumentException("Unknown opcode " + op);
+        }
+        ensureRoom(3 * 10);
+        putVarLong((zigzag((long) actor - previousActor) << JournalWriter.OP_BITS) | op);
+        putVarLong(zigzag((long) target - previousTarget));
+        putVarLong(zigzag((long) amount - previousAmount));
+        previousActor = actor;
+        previousTarget = target;
+        previousAmount = amount;
+        batchCommands++;
+        published++;
+        if (batchCommands == batchSize) {
+            flush();
+        }
+    }
+
+    @Override
+    public void addCheckpoint(long stateHash) {
+        ensureRoom(1 + Long.BYTES);
+        batch[batchLength++] = 0;
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            batch[batchLength++] = (byte) (stateHash >>> shift);
+        }
+    }
+
+    /**
+     * Hand the current batch to every replica's writer and let waiting
+     * replicas join. Call from the game thread.
+     */
+    public void flush() {
+        if (closed) throw new IllegalStateException("Replication is closed");
+        if (batchLength > 0) {
+            Batch ready = new Batch(batchStart, batchCommands, Arrays.copyOf(batch, batchLength));
+            for (Replica replica : replicas) {
+                replica.offer(ready);
+            }
+            batchStart = published;
+            batchLength = 0;
+            batchCommands = 0;
+            previousActor = 0;
+            previousTarget = 0;
+            previousAmount = 0;
+        }
+        Socket socket;
+        while ((socket = joining.poll()) != null) {
+            join(socket);
+        }
+    }
+
+    /**
+     * Send what is pending, then disconnect every replica.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        flush();
+        closed = true;
+        server.close();
+        List<Replica> open = List.copyOf(replicas);
+        for (Replica replica : open) {
+            replica.offer(Stop.INSTANCE);
+        }
+        try {
+            acceptor.join();
+            for (Replica replica : open) {
+                // A replica that stopped reading would hold its writer forever
+                if (!replica.writer.join(Duration.ofMillis(CLOSE_TIMEOUT_MILLIS))) {
+                    replica.disconnect();
+                    replica.writer.join();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Socket socket;
+        while ((socket = joining.poll()) != null) {
+            socket.close();
+        }
+    }
+
+    private byte[] snapshot() {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream data = new DataOutputStream(bytes);
+            data.writeInt(MAGIC);
+            data.writeInt(roster.size());
+            for (int id = 0; id < roster.size(); id++) {
+                data.writeUTF(roster.getName(id));
+                data.writeByte(roster.getType(id).ordinal());
+            }
+            data.writeLong(published);
+            for (Character character : characters) {
+                CharacterStats stats = character.getStats();
+                data.writeInt(stats.health());
+                data.writeInt(stats.mana());
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void acceptLoop() {
+        while (!closed) {
+            try {
+                Socket socket = server.accept();
+                socket.setTcpNoDelay(true);
+                joining.add(socket);
+            } catch (IOException e) {
+                // Closed, or a failed accept; the loop condition decides
+            }
+        }
+    }
+
+    private void join(Socket socket) {
+        try {
+            Replica replica = new Replica(socket, published);
+            replica.offer(snapshot());
+            replicas.add(replica);
+            replica.start();
+        } catch (IOException e) {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // Already broken
+            }
+        }
+    }
+
+    private void ensureRoom(int bytes) {
+        if (batchLength + bytes > batch.length) {
+            batch = Arrays.copyOf(batch, Math.max(batch.length * 2, batchLength + bytes));
+        }
+    }
+
+    private void putVarLong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            batch[batchLength++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        batch[batchLength++] = (byte) value;
+    }
+
+    private static long zigzag(long delta) {
+        return (delta << 1) ^ (delta >> 63);
+    }
+
+    private record Batch(long firstSequence, int commands, byte[] bytes) {
+    }
+
+    private enum Stop {
+        INSTANCE
+    }
+
+    /**
+     * One connected replica. Written by its own writer thread from a
+     * bounded queue, acks read on another virtual thread.
+     */
+    private final class Replica {
+        final Socket socket;
+        final DataOutputStream out;
+        final DataInputStream in;
+        final BlockingQueue<Object> outbox = new ArrayBlockingQueue<>(QUEUE_BATCHES);
+        final ConcurrentLinkedQueue<long[]> inFlight = new ConcurrentLinkedQueue<>(); // {last sequence, sent at}
+        volatile long acknowledged;
+        Thread writer;
+
+        Replica(Socket socket, long sequence) throws IOException {
+            this.socket = socket;
+            this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 1 << 16));
+            this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            this.acknowledged = sequence;
+        }
+
+        void start() {
+            writer = Thread.ofVirtual().name("replication-writer").start(this::writeLoop);
+            Thread.ofVirtual().name("replication-acks").start(this::readAcks);
+        }
+
+        /**
+         * Queue a snapshot, batch or stop for the writer. A replica whose
+         * queue is full has fallen too far behind and is dropped.
+         */
+        void offer(Object item) {
+            if (!outbox.offer(item)) disconnect();
+        }
+
+        void writeLoop() {
+            try {
+                while (true) {
+                    Object item = outbox.take();
+                    if (item instanceof Batch batch) {
+                        send(batch);
+                    } else if (item instanceof byte[] snapshot) {
+                        out.write(snapshot);
+                        out.flush();
+                    } else {
+                        break;
+                    }
+                }
+            } catch (IOException e) {
+                // Dropped below
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            disconnect();
+        }
+
+        private void send(Batch batch) throws IOException {
+            // Queued before writing: on loopback the ack can beat flush() back
+            long[] sent = {batch.firstSequence() + batch.commands(), System.nanoTime()};
+            inFlight.add(sent);
+            try {
+                out.writeInt(8 + 4 + batch.bytes().length);
+                out.writeLong(batch.firstSequence());
+                out.writeInt(batch.commands());
+                out.write(batch.bytes());
+                out.flush();
+            } catch (IOException e) {
+                inFlight.remove(sent);
+                throw e;
+            }
+        }
+
+        void readAcks() {
+            try {
+                while (true) {
+                    long sequence = in.readLong();
+                    acknowledged = sequence;
+                    long now = System.nanoTime();
+                    long[] sent;
+                    while ((sent = inFlight.peek()) != null && sent[0] <= sequence) {
+                        inFlight.poll();
+                        ackLatencies.record(now - sent[1]);
+                    }
+                }
+            } catch (IOException e) {
+                disconnect();
+            }
+        }
+
+        void disconnect() {
+            replicas.remove(this);
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Already closed
+            }
+            // Wake a writer waiting for work; one blocked in a write fails on the closed socket
+            outbox.clear();
+            outbox.offer(Stop.INSTANCE);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package edu.trincoll.game.replay;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterStats;
+import edu.trincoll.game.model.CharacterType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The initial line-up of a match: an ordered list of (name, type) pairs.
+ *
+ * A character's id is its position in the roster. Recorded commands refer
+ * to characters by id, so a replay can rebuild the exact starting state
+ * through CharacterFactory instead of storing full Character objects.
+ */
+public class Roster {
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final List<String> names = new ArrayList<>();
+    private final List<CharacterType> types = new ArrayList<>();
+
+    /**
+     * Add a character to the roster.
+     *
+     * @return the id assigned to the character
+     */
+    public int add(String name, CharacterType type) {
+        if (name == null) throw new IllegalArgumentException("name cannot be null");
+        if (type == null) throw new IllegalArgumentException("type cannot be null");
+        names.add(name);
+        types.add(type);
+        return names.size() - 1;
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    public String getName(int id) {
+        return names.get(id);
+    }
+
+    public CharacterType getType(int id) {
+        return types.get(id);
+    }
+
+    /**
+     * Create fresh characters for every roster entry, indexed by id.
+     */
+    public Character[] spawn() {
+        Character[] characters = new Character[names.size()];
+        for (int id = 0; id < characters.length; id++) {
+            characters[id] = CharacterFactory.createCharacter(names.get(id), types.get(id));
+        }
+        return characters;
+    }
+
+    /**
+     * Hash the mutable part of every character's state (health and mana).
+     * Attack power, defense and the maximums never change during a match,
+     * so they are left out.
+     */
+    public static long stateHash(Character[] characters) {
+        long hash = FNV_OFFSET;
+        for (Character character : characters) {
+            CharacterStats stats = character.getStats();
+            hash = (hash ^ stats.health()) * FNV_PRIME;
+            hash = (hash ^ stats.mana()) * FNV_PRIME;
+        }
+        return hash;
+    }
+}
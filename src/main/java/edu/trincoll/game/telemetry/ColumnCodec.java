@@ -0,0 +1,64 @@
+package edu.trincoll.game.telemetry;
+
+/**
+ * Delta + zigzag varint encoding for int columns.
+ *
+ * Each value is stored as the difference from the previous one, zigzagged
+ * so small negative differences stay small, then written 7 bits per byte.
+ * Runs of equal or slowly changing values shrink to one byte each before
+ * the chunk is deflated.
+ */
+final class ColumnCodec {
+
+    private ColumnCodec() {
+    }
+
+    /**
+     * Worst-case encoded size of {@code count} values.
+     */
+    static int maxEncodedSize(int count) {
+        return count * 5;
+    }
+
+    /**
+     * Encode values[0..count) into out.
+     *
+     * @return bytes written
+     */
+    static int encodeDeltas(int[] values, int count, byte[] out) {
+        int position = 0;
+        int previous = 0;
+        for (int i = 0; i < count; i++) {
+            int delta = values[i] - previous;
+            previous = values[i];
+            int zigzag = (delta << 1) ^ (delta >> 31);
+            while ((zigzag & ~0x7F) != 0) {
+                out[position++] = (byte) ((zigzag & 0x7F) | 0x80);
+                zigzag >>>= 7;
+            }
+            out[position++] = (byte) zigzag;
+        }
+        return position;
+    }
+
+    /**
+     * Decode {@code count} values from in into values.
+     */
+    static void decodeDeltas(byte[] in, int length, int[] values, int count) {
+        int position = 0;
+        int previous = 0;
+        for (int i = 0; i < count; i++) {
+            int zigzag = 0;
+            int shift = 0;
+            byte b;
+            do {
+                if (position >= length) throw new IllegalArgumentException("Truncated int column");
+                b = in[position++];
+                zigzag |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            previous += (zigzag >>> 1) ^ -(zigzag & 1);
+            values[i] = previous;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package edu.trincoll.game.telemetry;
+
+/**
+ * Columns of a telemetry file, one row per attack.
+ *
+ * Type columns are dictionary-encoded against the CharacterType names in
+ * the file header; the others are delta-encoded ints.
+ */
+public enum TelemetryColumn {
+    ATTACKER_TYPE(true),
+    DEFENDER_TYPE(true),
+    /** Health the defender lost. */
+    DAMAGE(false),
+    /** Damage beyond the health the defender had left; 0 unless it died. */
+    OVERKILL(false),
+    /** Mana the attacker spent. */
+    MANA_USED(false),
+    /** Turns the defender survived as a target, counting this one; 0 unless it died. */
+    TURNS_TO_KILL(false);
+
+    private final boolean dictionary;
+
+    TelemetryColumn(boolean dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    public boolean isDictionary() {
+        return dictionary;
+    }
+}
@@ -0,0 +1,39 @@
+package edu.trincoll.game.telemetry;
+
+import edu.trincoll.game.command.AttackCommand;
+import edu.trincoll.game.command.CommandInvoker;
+import edu.trincoll.game.command.GameCommand;
+import edu.trincoll.game.metrics.CommandMetrics;
+
+/**
+ * Command invoker that records a telemetry row for every attack command
+ * it executes. Other commands and undos are not recorded.
+ */
+public class TelemetryCommandInvoker extends CommandInvoker {
+    private final TelemetryWriter telemetry;
+
+    public TelemetryCommandInvoker(TelemetryWriter telemetry) {
+        this(telemetry, null);
+    }
+
+    public TelemetryCommandInvoker(TelemetryWriter telemetry, CommandMetrics metrics) {
+        super(metrics);
+        if (telemetry == null) throw new IllegalArgumentException("telemetry cannot be null");
+        this.telemetry = telemetry;
+    }
+
+    public TelemetryWriter getTelemetry() {
+        return telemetry;
+    }
+
+    @Override
+    public void executeCommand(GameCommand command) {
+        if (command instanceof AttackCommand attack) {
+            telemetry.beginTurn(attack.getAttacker(), attack.getTarget());
+            super.executeCommand(command);
+            telemetry.endTurn(attack.getAttacker(), attack.getTarget());
+        } else {
+            super.executeCommand(command);
+        }
+    }
+}
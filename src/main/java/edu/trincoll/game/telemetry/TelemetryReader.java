@@ -0,0 +1,225 @@
+package edu.trincoll.game.telemetry;
+
+import edu.trincoll.game.model.CharacterType;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads files written by {@link TelemetryWriter}.
+ *
+ * Only the footer is read when the file is opened. A scan then reads and
+ * inflates just the requested column's chunks, so summing damage over a
+ * large file touches a fraction of its bytes. Type counts are taken on
+ * the dictionary codes without building a CharacterType per row.
+ */
+public class TelemetryReader implements AutoCloseable {
+    private static final int COLUMNS = TelemetryColumn.values().length;
+
+    private final FileChannel channel;
+    private final CharacterType[] dictionary;
+    private final int[] chunkRows;
+    private final long[] columnOffsets;
+    private final int[] compressedLengths;
+    private final int[] encodedLengths;
+    private final long rowCount;
+    private final Inflater inflater = new Inflater();
+    private ByteBuffer compressed = ByteBuffer.allocate(0);
+    private byte[] encoded = new byte[0];
+    private int[] values = new int[0];
+
+    private TelemetryReader(FileChannel channel) throws IOException {
+        this.channel = channel;
+        long size = channel.size();
+        if (size < TelemetryWriter.TRAILER_BYTES) throw new IllegalArgumentException("Not a telemetry file");
+
+        ByteBuffer trailer = readFully(size - TelemetryWriter.TRAILER_BYTES, TelemetryWriter.TRAILER_BYTES);
+        long footerOffset = trailer.getLong();
+        if (trailer.getInt() != TelemetryWriter.MAGIC) throw new IllegalArgumentException("Not a telemetry file");
+
+        DataInputStream header = new DataInputStream(new ByteArrayInputStream(
+            readFully(0, (int) Math.min(footerOffset, 4096)).array()));
+        if (header.readInt() != TelemetryWriter.MAGIC) throw new IllegalArgumentException("Not a telemetry file");
+        int version = header.readUnsignedByte();
+        if (version != TelemetryWriter.VERSION) {
+            throw new IllegalArgumentException("Unsupported telemetry version: " + version);
+        }
+        dictionary = new CharacterType[header.readUnsignedByte()];
+        for (int code = 0; code < dictionary.length; code++) {
+            dictionary[code] = CharacterType.valueOf(header.readUTF());
+        }
+
+        ByteBuffer footer = readFully(footerOffset, (int) (size - TelemetryWriter.TRAILER_BYTES - footerOffset));
+        int chunks = footer.getInt();
+        if (footer.get() != COLUMNS) throw new IllegalArgumentException("Unexpected column count");
+        chunkRows = new int[chunks];
+        columnOffsets = new long[chunks * COLUMNS];
+        compressedLengths = new int[chunks * COLUMNS];
+        encodedLengths = new int[chunks * COLUMNS];
+        long rows = 0;
+        int maxRows = 0;
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            chunkRows[chunk] = footer.getInt();
+            rows += chunkRows[chunk];
+            maxRows = Math.max(maxRows, chunkRows[chunk]);
+            for (int c = 0; c < COLUMNS; c++) {
+                int index = chunk * COLUMNS + c;
+                columnOffsets[index] = footer.getLong();
+                compressedLengths[index] = footer.getInt();
+                encodedLengths[index] = footer.getInt();
+            }
+        }
+        rowCount = rows;
+        values = new int[maxRows];
+    }
+
+    public static TelemetryReader open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new TelemetryReader(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public long rowCount() {
+        return rowCount;
+    }
+
+    public int chunkCount() {
+        return chunkRows.length;
+    }
+
+    /**
+     * Pass every value of an int column to the consumer, in row order.
+     */
+    public void scanInts(TelemetryColumn column, IntConsumer consumer) throws IOException {
+        requireInts(column);
+        for (int chunk = 0; chunk < chunkRows.length; chunk++) {
+            int rows = chunkRows[chunk];
+            int length = load(chunk, column);
+            ColumnCodec.decodeDeltas(encoded, length, values, rows);
+            for (int i = 0; i < rows; i++) {
+                consumer.accept(values[i]);
+            }
+        }
+    }
+
+    /**
+     * Sum of an int column.
+     */
+    public long sum(TelemetryColumn column) throws IOException {
+        long[] total = {0};
+        scanInts(column, value -> total[0] += value);
+        return total[0];
+    }
+
+    /**
+     * Pass every value of a type column to the consumer, in row order.
+     */
+    public void scanTypes(TelemetryColumn column, Consumer<CharacterType> consumer)
+            throws IOException {
+        requireTypes(column);
+        for (int chunk = 0; chunk < chunkRows.length; chunk++) {
+            int rows = chunkRows[chunk];
+            load(chunk, column);
+            for (int i = 0; i < rows; i++) {
+                consumer.accept(decode(encoded[i]));
+            }
+        }
+    }
+
+    /**
+     * Rows per character type in a type column, indexed by CharacterType ordinal.
+     */
+    public long[] countByType(TelemetryColumn column) throws IOException {
+        requireTypes(column);
+        long[] codeCounts = new long[dictionary.length];
+        for (int chunk = 0; chunk < chunkRows.length; chunk++) {
+            int rows = chunkRows[chunk];
+            load(chunk, column);
+            for (int i = 0; i < rows; i++) {
+                codeCounts[encoded[i] & 0xFF]++;
+            }
+        }
+        long[] counts = new long[CharacterType.values().length];
+        for (int code = 0; code < dictionary.length; code++) {
+            counts[dictionary[code].ordinal()] += codeCounts[code];
+        }
+        return counts;
+    }
+
+    @Override
+    public void close() throws IOException {
+        inflater.end();
+        channel.close();
+    }
+
+    private CharacterType decode(byte code) {
+        int index = code & 0xFF;
+        if (index >= dictionary.length) throw new IllegalArgumentException("Unknown type code: " + index);
+        return dictionary[index];
+    }
+
+    private static void requireInts(TelemetryColumn column) {
+        if (column.isDictionary()) throw new IllegalArgumentException(column + " is not an int column");
+    }
+
+    private static void requireTypes(TelemetryColumn column) {
+        if (!column.isDictionary()) throw new IllegalArgumentException(column + " is not a type column");
+    }
+
+    /**
+     * Read and inflate one column chunk into {@code encoded}.
+     *
+     * @return encoded length
+     */
+    private int load(int chunk, TelemetryColumn column) throws IOException {
+        int index = chunk * COLUMNS + column.ordinal();
+        int compressedLength = compressedLengths[index];
+        int length = encodedLengths[index];
+        if (compressed.capacity() < compressedLength) compressed = ByteBuffer.allocate(compressedLength);
+        if (encoded.length < length) encoded = new byte[length];
+        compressed.clear().limit(compressedLength);
+        long offset = columnOffsets[index];
+        while (compressed.hasRemaining()) {
+            if (channel.read(compressed, offset + compressed.position()) < 0) {
+                throw new IllegalArgumentException("Truncated telemetry file");
+            }
+        }
+        inflater.reset();
+        inflater.setInput(compressed.array(), 0, compressedLength);
+        try {
+            int inflated = 0;
+            while (inflated < length && !inflater.finished()) {
+                int n = inflater.inflate(encoded, inflated, length - inflated);
+                if (n == 0 && inflater.needsInput()) break;
+                inflated += n;
+            }
+            if (inflated != length) throw new IllegalArgumentException("Corrupt column chunk");
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Corrupt column chunk", e);
+        }
+        return length;
+    }
+
+    private ByteBuffer readFully(long offset, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                throw new IllegalArgumentException("Truncated telemetry file");
+            }
+        }
+        return buffer.flip();
+    }
+}
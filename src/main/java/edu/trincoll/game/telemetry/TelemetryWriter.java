@@ -0,0 +1,237 @@
+package edu.trincoll.game.telemetry;
+
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterType;
+import edu.trincoll.game.template.TurnObserver;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+/**
+ * Writes battle telemetry - one row per attack - to a compressed columnar
+ * file that {@link TelemetryReader} can scan one column at a time.
+ *
+ * Rows are buffered in per-column arrays and flushed as a chunk every
+ * {@code rowsPerChunk} rows. Within a chunk each column is encoded on its
+ * own (dictionary codes for character types, delta varints for ints) and
+ * deflated, so similar values sit next to each other and compress well.
+ * A footer records where every column chunk lives.
+ *
+ * File layout:
+ * - header: magic, version, CharacterType names (the dictionary)
+ * - chunks: for each chunk, each column's deflated bytes
+ * - footer: chunk count; per chunk the row count and, per column, offset,
+ *   compressed length and encoded length
+ * - trailer: footer offset, magic
+ *
+ * As a {@link TurnObserver} the writer records turns run by an
+ * ObservedSequence; {@link TelemetryCommandInvoker} records attack
+ * commands. Rows can also be added directly with {@link #record}.
+ * The writer counts hits per defender until it dies; call
+ * {@link #endBattle()} after each battle so survivors' counts are dropped.
+ * Use one writer per simulation thread.
+ */
+public class TelemetryWriter implements TurnObserver, AutoCloseable {
+    static final int MAGIC = 0x47544C4D; // "GTLM"
+    static final int VERSION = 1;
+    static final int TRAILER_BYTES = 8 + 4;
+    public static final int DEFAULT_ROWS_PER_CHUNK = 64 * 1024;
+
+    private static final TelemetryColumn[] COLUMNS = TelemetryColumn.values();
+
+    private final DataOutputStream out;
+    private final int rowsPerChunk;
+    private final byte[][] codes = new byte[COLUMNS.length][];
+    private final int[][] ints = new int[COLUMNS.length][];
+    private final Deflater deflater = new Deflater();
+    private byte[] encoded;
+    private byte[] compressed;
+    private int rows;
+    private long position;
+    private long totalRows;
+
+    // Footer entries, grown as chunks are written
+    private int chunks;
+    private int[] chunkRows = new int[16];
+    private long[] columnOffsets = new long[16 * COLUMNS.length];
+    private int[] compressedLengths = new int[16 * COLUMNS.length];
+    private int[] encodedLengths = new int[16 * COLUMNS.length];
+
+    // Turn in progress, for the TurnObserver hooks
+    private final Map<Character, Integer> hitsTaken = new IdentityHashMap<>();
+    private int defenderHealth;
+    private long defenderDamageTaken;
+    private int attackerMana;
+
+    public TelemetryWriter(Path file) throws IOException {
+        this(file, DEFAULT_ROWS_PER_CHUNK);
+    }
+
+    public TelemetryWriter(Path file, int rowsPerChunk) throws IOException {
+        if (rowsPerChunk <= 0) throw new IllegalArgumentException("rowsPerChunk must be positive");
+        this.rowsPerChunk = rowsPerChunk;
+        for (TelemetryColumn column : COLUMNS) {
+            if (column.isDictionary()) {
+                codes[column.ordinal()] = new byte[rowsPerChunk];
+            } else {
+                ints[column.ordinal()] = new int[rowsPerChunk];
+            }
+        }
+        this.encoded = new byte[ColumnCodec.maxEncodedSize(rowsPerChunk)];
+        this.compressed = new byte[encoded.length + 64];
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+        writeHeader();
+    }
+
+    private void writeHeader() throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        CharacterType[] types = CharacterType.values();
+        out.writeByte(types.length);
+        for (CharacterType type : types) {
+            out.writeUTF(type.name());
+        }
+        position = out.size();
+    }
+
+    /**
+     * Number of rows recorded so far.
+     */
+    public long rowCount() {
+        return totalRows;
+    }
+
+    /**
+     * Add one row.
+     */
+    public void record(CharacterType attackerType, CharacterType defenderType,
+                       int damage, int overkill, int manaUsed, int turnsToKill) throws IOException {
+        codes[TelemetryColumn.ATTACKER_TYPE.ordinal()][rows] = (byte) attackerType.ordinal();
+        codes[TelemetryColumn.DEFENDER_TYPE.ordinal()][rows] = (byte) defenderType.ordinal();
+        ints[TelemetryColumn.DAMAGE.ordinal()][rows] = damage;
+        ints[TelemetryColumn.OVERKILL.ordinal()][rows] = overkill;
+        ints[TelemetryColumn.MANA_USED.ordinal()][rows] = manaUsed;
+        ints[TelemetryColumn.TURNS_TO_KILL.ordinal()][rows] = turnsToKill;
+        totalRows++;
+        if (++rows == rowsPerChunk) {
+            flushChunk();
+        }
+    }
+
+    @Override
+    public void beginTurn(Character attacker, Character defender) {
+        defenderHealth = defender.getStats().health();
+        defenderDamageTaken = defender.getDamageTaken();
+        attackerMana = attacker.getStats().mana();
+    }
+
+    @Override
+    public void endTurn(Character attacker, Character defender) {
+        int damage = Math.max(0, defenderHealth - defender.getStats().health());
+        int manaUsed = Math.max(0, attackerMana - attacker.getStats().mana());
+        int overkill = 0;
+        int turnsToKill = 0;
+        if (defenderHealth > 0) {
+            int hits = hitsTaken.merge(defender, 1, Integer::sum);
+            if (defender.isDead()) {
+                overkill = (int) Math.max(0, defender.getDamageTaken() - defenderDamageTaken - damage);
+                turnsToKill = hits;
+                hitsTaken.remove(defender);
+            }
+        }
+        try {
+            record(attacker.getType(), defender.getType(), damage, overkill, manaUsed, turnsToKill);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Forget the hit counts of defenders still alive at the end of a battle.
+     */
+    public void endBattle() {
+        hitsTaken.clear();
+    }
+
+    private void flushChunk() throws IOException {
+        if (rows == 0) return;
+        ensureFooterCapacity();
+        chunkRows[chunks] = rows;
+        for (TelemetryColumn column : COLUMNS) {
+            int index = chunks * COLUMNS.length + column.ordinal();
+            int length;
+            if (column.isDictionary()) {
+                System.arraycopy(codes[column.ordinal()], 0, encoded, 0, rows);
+                length = rows;
+            } else {
+                length = ColumnCodec.encodeDeltas(ints[column.ordinal()], rows, encoded);
+            }
+            int compressedLength = deflate(length);
+            out.write(compressed, 0, compressedLength);
+            columnOffsets[index] = position;
+            compressedLengths[index] = compressedLength;
+            encodedLengths[index] = length;
+            position += compressedLength;
+        }
+        chunks++;
+        rows = 0;
+    }
+
+    private int deflate(int length) {
+        deflater.reset();
+        deflater.setInput(encoded, 0, length);
+        deflater.finish();
+        int total = 0;
+        while (!deflater.finished()) {
+            if (total == compressed.length) {
+                compressed = Arrays.copyOf(compressed, compressed.length * 2);
+            }
+            total += deflater.deflate(compressed, total, compressed.length - total);
+        }
+        return total;
+    }
+
+    private void ensureFooterCapacity() {
+        if (chunks < chunkRows.length) return;
+        int capacity = chunkRows.length * 2;
+        chunkRows = Arrays.copyOf(chunkRows, capacity);
+        columnOffsets = Arrays.copyOf(columnOffsets, capacity * COLUMNS.length);
+        compressedLengths = Arrays.copyOf(compressedLengths, capacity * COLUMNS.length);
+        encodedLengths = Arrays.copyOf(encodedLengths, capacity * COLUMNS.length);
+    }
+
+    /**
+     * Flush the last partial chunk, write the footer and close the file.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flushChunk();
+            long footerOffset = position;
+            out.writeInt(chunks);
+            out.writeByte(COLUMNS.length);
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                out.writeInt(chunkRows[chunk]);
+                for (int c = 0; c < COLUMNS.length; c++) {
+                    int index = chunk * COLUMNS.length + c;
+                    out.writeLong(columnOffsets[index]);
+                    out.writeInt(compressedLengths[index]);
+                    out.writeInt(encodedLengths[index]);
+                }
+            }
+            out.writeLong(footerOffset);
+            out.writeInt(MAGIC);
+        } finally {
+            deflater.end();
+            out.close();
+        }
+    }
+}
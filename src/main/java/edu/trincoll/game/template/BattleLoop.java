@@ -0,0 +1,333 @@
+package edu.trincoll.game.template;
+
+import edu.trincoll.game.model.Character;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Drives a whole battle by running one BattleSequence turn after another.
+ *
+ * Each combatant acts every {@code TICKS_PER_ROUND / speed} ticks, so fast
+ * characters take more turns. On its turn a combatant attacks the first
+ * living member of the next team that still has survivors, using a
+ * sequence built by the supplied factory (for example
+ * {@code StandardBattleSequence::new}). The battle ends when only one team
+ * has living members, or when the tick limit is reached (a draw).
+ *
+ * Turns are scheduled on a {@link TimingWheel}, which keeps scheduling at
+ * O(1) per turn for thousands of combatants. Small battles use a binary
+ * heap instead, which skips straight to the next due turn. Both are
+ * deterministic; combatants due on the same tick act in scheduling order
+ * on the wheel and in id order on the heap.
+ *
+ * Constructed with a {@link SequencePool}, the loop reuses pooled
+ * sequences instead of creating one per turn.
+ *
+ * A turn whose attack throws IllegalStateException (a Mage out of mana)
+ * is lost, and the combatant acts again at its next turn.
+ *
+ * Combatants can also die outside their own turns, for example from a
+ * poison pulse. The loop re-checks a combatant's health before it acts
+ * and before it is picked as a target, so the dead never act or get
+ * attacked and team counts stay correct.
+ */
+public class BattleLoop {
+    public static final int DEFAULT_SPEED = 10;
+    public static final int TICKS_PER_ROUND = 1000;
+    static final int SMALL_BATTLE = 64;
+
+    /**
+     * Outcome of a battle. winningTeam is -1 for a draw.
+     */
+    public record Report(int winningTeam, long ticks, long turns, long elapsedNanos) {
+        public boolean isDraw() {
+            return winningTeam < 0;
+        }
+
+        public double ticksPerSecond() {
+            return ticks / Math.max(1e-9, elapsedNanos / 1e9);
+        }
+
+        public double turnsPerSecond() {
+            return turns / Math.max(1e-9, elapsedNanos / 1e9);
+        }
+    }
+
+    private final BiFunction<Character, Character, BattleSequence> sequenceFactory;
+    private final SequencePool<?> pool;
+    private final List<Character> combatants = new ArrayList<>();
+    private final List<int[]> teamAndSpeed = new ArrayList<>();
+
+    // Battle state, rebuilt by run()
+    private Character[] characters;
+    private int[] teamOf;
+    private int[][] members;
+    private int[] firstAlive;
+    private int[] aliveCount;
+    private boolean[] dead;
+    private int teamsAlive;
+    private long turns;
+    private long currentTick;
+
+    public BattleLoop(BiFunction<Character, Character, BattleSequence> sequenceFactory) {
+        if (sequenceFactory == null) throw new IllegalArgumentException("sequenceFactory cannot be null");
+        this.sequenceFactory = sequenceFactory;
+        this.pool = null;
+    }
+
+    public BattleLoop(SequencePool<?> pool) {
+        if (pool == null) throw new IllegalArgumentException("pool cannot be null");
+        this.sequenceFactory = null;
+        this.pool = pool;
+    }
+
+    /**
+     * Add a combatant at the default speed.
+     *
+     * @return the combatant's id
+     */
+    public int addCombatant(Character character, int team) {
+        return addCombatant(character, team, DEFAULT_SPEED);
+    }
+
+    /**
+     * Add a combatant.
+     *
+     * @param team  team number (0, 1, ...)
+     * @param speed turns per round; higher is faster
+     * @return the combatant's id
+     */
+    public int addCombatant(Character character, int team, int speed) {
+        if (character == null) throw new IllegalArgumentException("character cannot be null");
+        if (team < 0) throw new IllegalArgumentException("team cannot be negative");
+        if (speed <= 0 || speed > TICKS_PER_ROUND) {
+            throw new IllegalArgumentException("speed must be between 1 and " + TICKS_PER_ROUND);
+        }
+        combatants.add(character);
+        teamAndSpeed.add(new int[]{team, speed});
+        return combatants.size() - 1;
+    }
+
+    /**
+     * Tick of the turn being executed, for sequences and observers that
+     * need the battle clock.
+     */
+    public long now() {
+        return currentTick;
+    }
+
+    /**
+     * Run the battle until one team is left standing or maxTicks have passed.
+     */
+    public Report run(long maxTicks) {
+        int[] intervals = prepare();
+        long start = System.nanoTime();
+        long ticks = characters.length >= SMALL_BATTLE
+            ? runOnWheel(intervals, maxTicks)
+            : runOnHeap(intervals, maxTicks);
+        long elapsed = System.nanoTime() - start;
+        for (int id = 0; id < characters.length; id++) {
+            checkDeath(id);
+        }
+        return new Report(winningTeam(), ticks, turns, elapsed);
+    }
+
+    private int[] prepare() {
+        int count = combatants.size();
+        characters = combatants.toArray(new Character[0]);
+        teamOf = new int[count];
+        int[] intervals = new int[count];
+        int teams = 0;
+        for (int id = 0; id < count; id++) {
+            int[] config = teamAndSpeed.get(id);
+            teamOf[id] = config[0];
+            intervals[id] = TICKS_PER_ROUND / config[1];
+            teams = Math.max(teams, config[0] + 1);
+        }
+
+        int[] sizes = new int[teams];
+        for (int id = 0; id < count; id++) {
+            sizes[teamOf[id]]++;
+        }
+        members = new int[teams][];
+        for (int t = 0; t < teams; t++) {
+            members[t] = new int[sizes[t]];
+        }
+        int[] fill = new int[teams];
+        for (int id = 0; id < count; id++) {
+            members[teamOf[id]][fill[teamOf[id]]++] = id;
+        }
+
+        firstAlive = new int[teams];
+        aliveCount = new int[teams];
+        dead = new boolean[count];
+        teamsAlive = 0;
+        turns = 0;
+        currentTick = 0;
+        for (int id = 0; id < count; id++) {
+            if (characters[id].isDead()) {
+                dead[id] = true;
+            } else if (aliveCount[teamOf[id]]++ == 0) {
+                teamsAlive++;
+            }
+        }
+        if (teamsAlive < 2) {
+            throw new IllegalStateException("A battle needs living combatants on at least two teams");
+        }
+        return intervals;
+    }
+
+    private long runOnWheel(int[] intervals, long maxTicks) {
+        TimingWheel wheel = new TimingWheel(characters.length);
+        for (int id = 0; id < characters.length; id++) {
+            if (!dead[id]) wheel.schedule(id, intervals[id]);
+        }
+        while (teamsAlive > 1 && wheel.now() < maxTicks && wheel.size() > 0) {
+            wheel.advance(id -> {
+                currentTick = wheel.now();
+                if (teamsAlive > 1 && takeTurn(id)) {
+                    wheel.schedule(id, wheel.now() + intervals[id]);
+                }
+            });
+        }
+        return wheel.now();
+    }
+
+    private long runOnHeap(int[] intervals, long maxTicks) {
+        // Keys pack (tick, id) so the heap orders by tick, then id
+        long[] heap = new long[characters.length];
+        int size = 0;
+        for (int id = 0; id < characters.length; id++) {
+            if (!dead[id]) size = push(heap, size, ((long) intervals[id] << 32) | id);
+        }
+        long now = 0;
+        while (teamsAlive > 1 && size > 0) {
+            long key = heap[0];
+            long tick = key >>> 32;
+            if (tick > maxTicks) {
+                now = maxTicks;
+                break;
+            }
+            size = pop(heap, size);
+            now = tick;
+            currentTick = tick;
+            int id = (int) key;
+            if (takeTurn(id)) {
+                size = push(heap, size, ((tick + intervals[id]) << 32) | id);
+            }
+        }
+        return now;
+    }
+
+    /**
+     * Run one turn for a combatant.
+     *
+     * @return true if the combatant should act again
+     */
+    private boolean takeTurn(int id) {
+        checkDeath(id);
+        if (dead[id]) return false;
+        int target = findTarget(teamOf[id]);
+        if (target < 0) return false;
+        if (pool != null) {
+            executePooled(pool, characters[id], characters[target]);
+        } else {
+            execute(sequenceFactory.apply(characters[id], characters[target]));
+        }
+        turns++;
+        checkDeath(target);
+        checkDeath(id);
+        return !dead[id];
+    }
+
+    private static <S extends BattleSequence> void executePooled(SequencePool<S> pool,
+                                                                 Character attacker, Character defender) {
+        S sequence = pool.acquire(attacker, defender);
+        try {
+            execute(sequence);
+        } finally {
+            pool.release(sequence);
+        }
+    }
+
+    private static void execute(BattleSequence sequence) {
+        try {
+            sequence.executeTurn();
+        } catch (IllegalStateException e) {
+            // Not enough mana to attack - the turn is lost
+        }
+    }
+
+    private int findTarget(int team) {
+        int teams = members.length;
+        for (int offset = 1; offset < teams; offset++) {
+            int enemy = (team + offset) % teams;
+            if (aliveCount[enemy] == 0) continue;
+            int[] roster = members[enemy];
+            int index = firstAlive[enemy];
+            while (index < roster.length && isDown(roster[index])) {
+                index++;
+            }
+            firstAlive[enemy] = index;
+            if (index < roster.length) return roster[index];
+        }
+        return -1;
+    }
+
+    private boolean isDown(int id) {
+        checkDeath(id);
+        return dead[id];
+    }
+
+    private void checkDeath(int id) {
+        if (!dead[id] && characters[id].isDead()) {
+            dead[id] = true;
+            if (--aliveCount[teamOf[id]] == 0) {
+                teamsAlive--;
+            }
+        }
+    }
+
+    private int winningTeam() {
+        if (teamsAlive != 1) return -1;
+        for (int t = 0; t < aliveCount.length; t++) {
+            if (aliveCount[t] > 0) return t;
+        }
+        return -1;
+    }
+
+    private static int push(long[] heap, int size, long key) {
+        int i = size;
+        heap[i] = key;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= heap[i]) break;
+            swap(heap, i, parent);
+            i = parent;
+        }
+        return size + 1;
+    }
+
+    private static int pop(long[] heap, int size) {
+        int last = size - 1;
+        heap[0] = heap[last];
+        int i = 0;
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= last) break;
+            int smallest = left + 1 < last && heap[left + 1] < heap[left] ? left + 1 : left;
+            if (heap[i] <= heap[smallest]) break;
+            swap(heap, i, smallest);
+            i = smallest;
+        }
+        return last;
+    }
+
+    private static void swap(long[] heap, int a, int b) {
+        long tmp = heap[a];
+        heap[a] = heap[b];
+        heap[b] = tmp;
+    }
+}
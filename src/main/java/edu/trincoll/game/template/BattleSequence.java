@@ -27,16 +27,69 @@ import edu.trincoll.game.model.Character;
  * 5. End turn
  *
  * Subclasses can override hook methods to customize behavior.
+ *
+ * Sequences can be rebound to a new attacker and defender with
+ * {@link #bind(Character, Character)}, so one instance can serve many
+ * turns (see {@link SequencePool}). Subclasses that keep per-turn state
+ * override {@link #reset()} to clear it.
  */
 public abstract class BattleSequence {
-    protected final Character attacker;
-    protected final Character defender;
+    protected Character attacker;
+    protected Character defender;
+    // Set while released to a SequencePool, so a second release is caught
+    boolean pooled;
+
+    /**
+     * Create an unbound sequence; call bind() before executing a turn.
+     */
+    protected BattleSequence() {
+    }
 
     public BattleSequence(Character attacker, Character defender) {
         this.attacker = attacker;
         this.defender = defender;
     }
 
+    /**
+     * Point this sequence at a new attacker and defender and clear any
+     * state left over from a previous turn.
+     *
+     * @return this sequence
+     */
+    public final BattleSequence bind(Character attacker, Character defender) {
+        if (attacker == null) throw new IllegalArgumentException("attacker cannot be null");
+        if (defender == null) throw new IllegalArgumentException("defender cannot be null");
+        this.attacker = attacker;
+        this.defender = defender;
+        reset();
+        return this;
+    }
+
+    /**
+     * Drop the character references so a pooled sequence does not keep them alive.
+     */
+    final void unbind() {
+        attacker = null;
+        defender = null;
+        reset();
+    }
+
+    public Character getAttacker() {
+        return attacker;
+    }
+
+    public Character getDefender() {
+        return defender;
+    }
+
+    /**
+     * Hook method - called when the sequence is rebound.
+     * Subclasses with per-turn fields reset them here.
+     */
+    protected void reset() {
+        // Default: no state to clear
+    }
+
     /**
      * TODO 5a: Implement the template method executeTurn()
      *
@@ -51,6 +104,7 @@ public abstract class BattleSequence {
      * Make this method final so subclasses can't override the sequence.
      */
     public final void executeTurn() {
+        if (attacker == null) throw new IllegalStateException("Sequence is not bound");
         beginTurn();
         preAttackAction();
         performAttack();
@@ -0,0 +1,74 @@
+package edu.trincoll.game.template;
+
+import edu.trincoll.game.model.Character;
+
+import java.util.function.BiFunction;
+
+/**
+ * Wraps a battle sequence so a {@link TurnObserver} runs in its
+ * beginTurn() and endTurn() hooks, before and after the wrapped
+ * sequence's own hooks. Rebinding the wrapper rebinds the wrapped sequence.
+ */
+public class ObservedSequence extends BattleSequence {
+    private final BattleSequence sequence;
+    private final TurnObserver observer;
+
+    public ObservedSequence(BattleSequence sequence, TurnObserver observer) {
+        if (sequence == null) throw new IllegalArgumentException("sequence cannot be null");
+        if (observer == null) throw new IllegalArgumentException("observer cannot be null");
+        this.sequence = sequence;
+        this.observer = observer;
+        // Take over the wrapped sequence's characters without bind(), which
+        // would call the overridable reset() on a half-built wrapper
+        this.attacker = sequence.getAttacker();
+        this.defender = sequence.getDefender();
+    }
+
+    /**
+     * Wrap every sequence a factory creates, e.g. for a BattleLoop.
+     */
+    public static BiFunction<Character, Character, BattleSequence> observing(
+            BiFunction<Character, Character, ? extends BattleSequence> factory, TurnObserver observer) {
+        return (attacker, defender) -> new ObservedSequence(factory.apply(attacker, defender), observer);
+    }
+
+    public BattleSequence getSequence() {
+        return sequence;
+    }
+
+    @Override
+    protected void reset() {
+        if (attacker != null) {
+            sequence.bind(attacker, defender);
+        } else {
+            sequence.unbind();
+        }
+    }
+
+    @Override
+    protected void beginTurn() {
+        observer.beginTurn(attacker, defender);
+        sequence.beginTurn();
+    }
+
+    @Override
+    protected void preAttackAction() {
+        sequence.preAttackAction();
+    }
+
+    @Override
+    protected void performAttack() {
+        sequence.performAttack();
+    }
+
+    @Override
+    protected void postAttackAction() {
+        sequence.postAttackAction();
+    }
+
+    @Override
+    protected void endTurn() {
+        sequence.endTurn();
+        observer.endTurn(attacker, defender);
+    }
+}
@@ -26,10 +26,18 @@ import edu.trincoll.game.model.Character;
 public class PowerAttackSequence extends BattleSequence {
     private int damageBonus = 0;
 
+    public PowerAttackSequence() {
+    }
+
     public PowerAttackSequence(Character attacker, Character defender) {
         super(attacker, defender);
     }
 
+    @Override
+    protected void reset() {
+        damageBonus = 0;
+    }
+
     /**
      * TODO 5c: Implement preAttackAction()
      *
@@ -0,0 +1,113 @@
+package edu.trincoll.game.template;
+
+/**
+ * Compiles a BattleSequence into a fused turn kernel.
+ *
+ * executeTurn() always calls all five steps, even though most sequences
+ * override only performAttack() and leave the other hooks empty. The
+ * compiler inspects which hooks the sequence's class actually overrides
+ * (once per class) and returns a Runnable that calls only those, in
+ * template order. For a sequence like StandardBattleSequence the kernel
+ * is a direct call to performAttack().
+ *
+ * Running the kernel has exactly the same effect as executeTurn():
+ * <pre>
+ * Runnable turn = SequenceCompiler.compile(new PowerAttackSequence(a, b));
+ * turn.run(); // preAttackAction, performAttack, postAttackAction
+ * </pre>
+ */
+public final class SequenceCompiler {
+    public static final int BEGIN_TURN = 1;
+    public static final int PRE_ATTACK = 1 << 1;
+    public static final int POST_ATTACK = 1 << 2;
+    public static final int END_TURN = 1 << 3;
+
+    private static final String[] HOOK_NAMES = {
+        "beginTurn", "preAttackAction", "postAttackAction", "endTurn"
+    };
+
+    private static final ClassValue<Integer> OVERRIDDEN = new ClassValue<>() {
+        @Override
+        protected Integer computeValue(Class<?> type) {
+            return findOverriddenHooks(type);
+        }
+    };
+
+    private SequenceCompiler() {
+    }
+
+    /**
+     * Build a turn kernel for the sequence.
+     */
+    public static Runnable compile(BattleSequence sequence) {
+        if (sequence == null) throw new IllegalArgumentException("sequence cannot be null");
+        return switch (overriddenHooks(sequence.getClass())) {
+            case 0 -> sequence::performAttack;
+            case PRE_ATTACK -> () -> {
+                sequence.preAttackAction();
+                sequence.performAttack();
+            };
+            case POST_ATTACK -> () -> {
+                sequence.performAttack();
+                sequence.postAttackAction();
+            };
+            case PRE_ATTACK | POST_ATTACK -> () -> {
+                sequence.preAttackAction();
+                sequence.performAttack();
+                sequence.postAttackAction();
+            };
+            default -> new FusedTurn(sequence, overriddenHooks(sequence.getClass()));
+        };
+    }
+
+    /**
+     * Bit set of the optional hooks (BEGIN_TURN, PRE_ATTACK, POST_ATTACK,
+     * END_TURN) that the class overrides. Computed once per class.
+     */
+    public static int overriddenHooks(Class<? extends BattleSequence> type) {
+        return OVERRIDDEN.get(type);
+    }
+
+    private static int findOverriddenHooks(Class<?> type) {
+        int hooks = 0;
+        for (Class<?> c = type; c != BattleSequence.class; c = c.getSuperclass()) {
+            for (int i = 0; i < HOOK_NAMES.length; i++) {
+                try {
+                    c.getDeclaredMethod(HOOK_NAMES[i]);
+                    hooks |= 1 << i;
+                } catch (NoSuchMethodException e) {
+                    // Not declared at this level
+                }
+            }
+        }
+        return hooks;
+    }
+
+    /**
+     * General kernel for sequences that override beginTurn() or endTurn().
+     */
+    private static final class FusedTurn implements Runnable {
+        private final BattleSequence sequence;
+        private final boolean begin;
+        private final boolean pre;
+        private final boolean post;
+        private final boolean end;
+
+        FusedTurn(BattleSequence sequence, int hooks) {
+            this.sequence = sequence;
+            this.begin = (hooks & BEGIN_TURN) != 0;
+            this.pre = (hooks & PRE_ATTACK) != 0;
+            this.post = (hooks & POST_ATTACK) != 0;
+            this.end = (hooks & END_TURN) != 0;
+        }
+
+        @Override
+        public void run() {
+            if (begin) sequence.beginTurn();
+            if (pre) sequence.preAttackAction();
+            sequence.performAttack();
+            if (post) sequence.postAttackAction();
+            if (end) sequence.endTurn();
+        }
+    }
+}
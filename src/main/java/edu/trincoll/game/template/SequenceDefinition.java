@@ -0,0 +1,178 @@
+package edu.trincoll.game.template;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Declarative description of a battle sequence.
+ *
+ * A definition is an ordered list of steps, built in code:
+ * <pre>
+ * SequenceDefinition power = SequenceDefinition.builder("Power Attack")
+ *     .charge(25).strike().recoil(10)
+ *     .build();
+ * </pre>
+ * or parsed from text, one step per line or separated by commas:
+ * <pre>
+ * # Berserker
+ * charge 25%, double strike
+ * recoil 10%
+ * heal 5%
+ * </pre>
+ *
+ * Steps:
+ * - charge N%: every later strike this turn deals N% of the attacker's
+ *   attack power as bonus damage (default 25%)
+ * - strike [N]: attack the defender N times (default 1); "double strike"
+ *   and "triple strike" are shorthands
+ * - recoil N%: the attacker loses N% of max health, ignoring defense (default 10%)
+ * - heal N%: the attacker heals N% of max health (default 10%)
+ *
+ * {@link #compile()} turns the definition into a {@link SequenceProgram}
+ * that creates ordinary BattleSequence instances.
+ */
+public final class SequenceDefinition {
+
+    public enum Op {
+        CHARGE,
+        STRIKE,
+        RECOIL,
+        HEAL
+    }
+
+    public record Step(Op op, int value) {
+        public Step {
+            if (op == null) throw new IllegalArgumentException("op cannot be null");
+            if (value < 0) throw new IllegalArgumentException("step value cannot be negative");
+        }
+    }
+
+    private final String name;
+    private final List<Step> steps;
+
+    private SequenceDefinition(String name, List<Step> steps) {
+        this.name = name;
+        this.steps = List.copyOf(steps);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<Step> getSteps() {
+        return steps;
+    }
+
+    /**
+     * Compile into a program with static parameters folded.
+     */
+    public SequenceProgram compile() {
+        return SequenceProgram.compile(this);
+    }
+
+    public static Builder builder(String name) {
+        return new Builder(name);
+    }
+
+    /**
+     * Parse the text format described above.
+     *
+     * @throws IllegalArgumentException with the line number of the first bad step
+     */
+    public static SequenceDefinition parse(String name, String text) {
+        if (text == null) throw new IllegalArgumentException("text cannot be null");
+        Builder builder = builder(name);
+        String[] lines = text.split("\\R");
+        for (int line = 0; line < lines.length; line++) {
+            String content = lines[line];
+            int comment = content.indexOf('#');
+            if (comment >= 0) content = content.substring(0, comment);
+            for (String step : content.split(",")) {
+                String trimmed = step.trim().toLowerCase(Locale.ROOT);
+                if (trimmed.isEmpty()) continue;
+                try {
+                    parseStep(builder, trimmed.split("\\s+"));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException(
+                        "Line " + (line + 1) + ": " + e.getMessage() + " in '" + step.trim() + "'", e);
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    private static void parseStep(Builder builder, String[] words) {
+        if (words.length > 2) throw new IllegalArgumentException("too many words");
+        String argument = words.length == 2 ? words[1] : null;
+        switch (words[0]) {
+            case "charge" -> builder.charge(argument == null ? 25 : percent(argument));
+            case "recoil" -> builder.recoil(argument == null ? 10 : percent(argument));
+            case "heal" -> builder.heal(argument == null ? 10 : percent(argument));
+            case "strike" -> builder.strike(argument == null ? 1 : number(argument));
+            case "double" -> builder.strike(shorthand(argument, 2));
+            case "triple" -> builder.strike(shorthand(argument, 3));
+            default -> throw new IllegalArgumentException("unknown step");
+        }
+    }
+
+    private static int shorthand(String argument, int count) {
+        if (!"strike".equals(argument)) throw new IllegalArgumentException("expected 'strike'");
+        return count;
+    }
+
+    private static int percent(String argument) {
+        if (!argument.endsWith("%")) throw new IllegalArgumentException("expected a percentage");
+        return number(argument.substring(0, argument.length() - 1));
+    }
+
+    private static int number(String argument) {
+        try {
+            return Integer.parseInt(argument);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("expected a number");
+        }
+    }
+
+    public static class Builder {
+        private final String name;
+        private final List<Step> steps = new ArrayList<>();
+
+        private Builder(String name) {
+            if (name == null || name.isBlank()) throw new IllegalArgumentException("name cannot be blank");
+            this.name = name;
+        }
+
+        public Builder charge(int percent) {
+            return step(Op.CHARGE, percent);
+        }
+
+        public Builder strike() {
+            return strike(1);
+        }
+
+        public Builder strike(int times) {
+            return step(Op.STRIKE, times);
+        }
+
+        public Builder recoil(int percent) {
+            return step(Op.RECOIL, percent);
+        }
+
+        public Builder heal(int percent) {
+            return step(Op.HEAL, percent);
+        }
+
+        public Builder step(Op op, int value) {
+            steps.add(new Step(op, value));
+            return this;
+        }
+
+        public SequenceDefinition build() {
+            if (steps.stream().noneMatch(step -> step.op() == Op.STRIKE && step.value() > 0)) {
+                throw new IllegalStateException("A sequence needs at least one strike");
+            }
+            return new SequenceDefinition(name, steps);
+        }
+    }
+}
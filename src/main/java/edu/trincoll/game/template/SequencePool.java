@@ -0,0 +1,101 @@
+package edu.trincoll.game.template;
+
+import edu.trincoll.game.model.Character;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Pool of reusable battle sequences of one type.
+ *
+ * acquire() hands out an idle sequence bound to the given characters,
+ * creating one only when the pool is empty; release() unbinds it and
+ * keeps it for the next turn. Once the pool has warmed up, running turns
+ * allocates no sequence objects:
+ * <pre>
+ * SequencePool&lt;PowerAttackSequence&gt; pool = new SequencePool&lt;&gt;(PowerAttackSequence::new);
+ * PowerAttackSequence turn = pool.acquire(attacker, defender);
+ * turn.executeTurn();
+ * pool.release(turn);
+ * </pre>
+ *
+ * A pool is not thread-safe; give each worker thread its own.
+ */
+public class SequencePool<S extends BattleSequence> {
+    public static final int DEFAULT_MAX_IDLE = 64;
+
+    private final Supplier<S> factory;
+    private final int maxIdle;
+    private BattleSequence[] idle;
+    private int idleCount;
+    private long created;
+
+    /**
+     * @param factory creates unbound sequences, e.g. {@code StandardBattleSequence::new}
+     */
+    public SequencePool(Supplier<S> factory) {
+        this(factory, DEFAULT_MAX_IDLE);
+    }
+
+    /**
+     * @param factory creates unbound sequences
+     * @param maxIdle most sequences kept for reuse; extras are dropped on release
+     */
+    public SequencePool(Supplier<S> factory, int maxIdle) {
+        if (factory == null) throw new IllegalArgumentException("factory cannot be null");
+        if (maxIdle < 0) throw new IllegalArgumentException("maxIdle cannot be negative");
+        this.factory = factory;
+        this.maxIdle = maxIdle;
+        this.idle = new BattleSequence[Math.min(maxIdle, 16)];
+    }
+
+    /**
+     * Take a sequence from the pool, bound to the given characters.
+     */
+    @SuppressWarnings("unchecked")
+    public S acquire(Character attacker, Character defender) {
+        S sequence;
+        if (idleCount > 0) {
+            sequence = (S) idle[--idleCount];
+            idle[idleCount] = null;
+        } else {
+            sequence = factory.get();
+            created++;
+        }
+        sequence.pooled = false;
+        sequence.bind(attacker, defender);
+        return sequence;
+    }
+
+    /**
+     * Return a sequence to the pool. It must not be used again until it is
+     * acquired.
+     *
+     * @throws IllegalStateException if the sequence was already released
+     */
+    public void release(S sequence) {
+        if (sequence == null) throw new IllegalArgumentException("sequence cannot be null");
+        if (sequence.pooled) throw new IllegalStateException("Sequence was already released");
+        sequence.pooled = true;
+        sequence.unbind();
+        if (idleCount == maxIdle) return;
+        if (idleCount == idle.length) {
+            idle = Arrays.copyOf(idle, Math.min(maxIdle, idle.length * 2));
+        }
+        idle[idleCount++] = sequence;
+    }
+
+    /**
+     * Number of sequences waiting in the pool.
+     */
+    public int idleCount() {
+        return idleCount;
+    }
+
+    /**
+     * Number of sequences the factory has created so far.
+     */
+    public long createdCount() {
+        return created;
+    }
+}
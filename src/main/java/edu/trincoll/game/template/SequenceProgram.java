@@ -0,0 +1,183 @@
+package edu.trincoll.game.template;
+
+import edu.trincoll.game.model.Character;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A compiled {@link SequenceDefinition}: a flat array of STRIKE, RECOIL
+ * and HEAL instructions.
+ *
+ * Compilation folds everything that does not change from turn to turn:
+ * - charge steps disappear; each strike carries the charges in effect
+ *   at that point
+ * - adjacent strikes with the same bonus merge into one repeated strike,
+ *   and adjacent recoil or heal steps add up
+ * - steps with no effect are dropped
+ * When a sequence is bound to its characters, percentages are resolved
+ * once against the attacker's attack power and max health, so a turn does
+ * no arithmetic beyond the attacks themselves. Each folded percentage is
+ * rounded on its own before the amounts are added, so folding never
+ * changes a result.
+ *
+ * Sequences created here are ordinary BattleSequences, usable with
+ * BattleLoop, SequencePool and SequenceCompiler:
+ * <pre>
+ * SequenceProgram program = SequenceDefinition.parse("Berserker", text).compile();
+ * BattleLoop loop = new BattleLoop(program::newSequence);
+ * </pre>
+ */
+public final class SequenceProgram {
+    static final byte STRIKE = 0;
+    static final byte RECOIL = 1;
+    static final byte HEAL = 2;
+
+    private final String name;
+    private final byte[] ops;
+    private final int[] counts;   // STRIKE: repetitions
+    // Percentages behind each instruction, parts[partEnds[i - 1] .. partEnds[i]):
+    // STRIKE: the charges in effect; RECOIL/HEAL: the merged steps' shares of max health
+    private final int[] parts;
+    private final int[] partEnds;
+
+    private SequenceProgram(String name, byte[] ops, int[] counts, int[] parts, int[] partEnds) {
+        this.name = name;
+        this.ops = ops;
+        this.counts = counts;
+        this.parts = parts;
+        this.partEnds = partEnds;
+    }
+
+    static SequenceProgram compile(SequenceDefinition definition) {
+        return compile(definition, true);
+    }
+
+    /**
+     * @param fold merge adjacent steps; without folding every strike,
+     *             recoil and heal step stays its own instruction
+     */
+    static SequenceProgram compile(SequenceDefinition definition, boolean fold) {
+        List<SequenceDefinition.Step> steps = definition.getSteps();
+        byte[] ops = new byte[steps.size()];
+        int[] counts = new int[steps.size()];
+        int[] partEnds = new int[steps.size()];
+        List<Integer> parts = new ArrayList<>();
+        List<Integer> charges = new ArrayList<>();
+        boolean chargedSinceStrike = false;
+        int length = 0;
+        for (SequenceDefinition.Step step : steps) {
+            int value = step.value();
+            if (value == 0) continue;
+            byte op;
+            switch (step.op()) {
+                case CHARGE -> {
+                    charges.add(value);
+                    chargedSinceStrike = true;
+                    continue;
+                }
+                case STRIKE -> op = STRIKE;
+                case RECOIL -> op = RECOIL;
+                default -> op = HEAL;
+            }
+            int last = length - 1;
+            boolean merge = fold && last >= 0 && ops[last] == op;
+            if (op == STRIKE) {
+                if (merge && !chargedSinceStrike) {
+                    counts[last] += value;
+                } else {
+                    ops[length] = STRIKE;
+                    counts[length] = value;
+                    parts.addAll(charges);
+                    partEnds[length++] = parts.size();
+                }
+                chargedSinceStrike = false;
+            } else if (merge) {
+                // Keep each step's share separate so rounding matches the unfolded steps
+                parts.add(value);
+                partEnds[last] = parts.size();
+            } else {
+                ops[length] = op;
+                parts.add(value);
+                partEnds[length++] = parts.size();
+            }
+        }
+        return new SequenceProgram(definition.getName(), Arrays.copyOf(ops, length), Arrays.copyOf(counts, length),
+            parts.stream().mapToInt(Integer::intValue).toArray(), Arrays.copyOf(partEnds, length));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Number of instructions left after folding.
+     */
+    public int length() {
+        return ops.length;
+    }
+
+    /**
+     * Create an unbound sequence, e.g. for a SequencePool.
+     */
+    public Sequence newSequence() {
+        return new Sequence(this);
+    }
+
+    public Sequence newSequence(Character attacker, Character defender) {
+        Sequence sequence = new Sequence(this);
+        sequence.bind(attacker, defender);
+        return sequence;
+    }
+
+    /**
+     * Battle sequence that runs a compiled program in performAttack().
+     */
+    public static final class Sequence extends BattleSequence {
+        private final SequenceProgram program;
+        private final int[] amounts;
+
+        private Sequence(SequenceProgram program) {
+            this.program = program;
+            this.amounts = new int[program.ops.length];
+        }
+
+        public SequenceProgram getProgram() {
+            return program;
+        }
+
+        @Override
+        protected void reset() {
+            if (attacker == null) return;
+            int attackPower = attacker.getStats().attackPower();
+            int maxHealth = attacker.getStats().maxHealth();
+            int part = 0;
+            for (int i = 0; i < amounts.length; i++) {
+                int base = program.ops[i] == STRIKE ? attackPower : maxHealth;
+                int amount = 0;
+                for (; part < program.partEnds[i]; part++) {
+                    amount += base * program.parts[part] / 100;
+                }
+                amounts[i] = amount;
+            }
+        }
+
+        @Override
+        protected void performAttack() {
+            byte[] ops = program.ops;
+            int[] counts = program.counts;
+            for (int i = 0; i < ops.length; i++) {
+                switch (ops[i]) {
+                    case STRIKE -> {
+                        for (int n = counts[i]; n > 0; n--) {
+                            defender.takeDamage(attacker.attack(defender) + amounts[i]);
+                        }
+                    }
+                    case RECOIL -> attacker.setHealth(attacker.getStats().health() - amounts[i]);
+                    default -> attacker.heal(amounts[i]);
+                }
+            }
+        }
+    }
+}
@@ -17,6 +17,9 @@ import edu.trincoll.game.model.Character;
  */
 public class StandardBattleSequence extends BattleSequence {
 
+    public StandardBattleSequence() {
+    }
+
     public StandardBattleSequence(Character attacker, Character defender) {
         super(attacker, defender);
     }
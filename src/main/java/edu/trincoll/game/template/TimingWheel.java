@@ -0,0 +1,188 @@
+package edu.trincoll.game.template;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Hierarchical timing wheel for scheduling integer ids at future ticks.
+ *
+ * Four levels of 64 slots cover 2^24 ticks ahead; each slot is an
+ * intrusive doubly linked list threaded through primitive arrays, so
+ * schedule, cancel and firing are O(1) per id and nothing is allocated
+ * after the arrays have grown to the number of ids in use. When a lower
+ * level wraps, the matching slot of the level above is cascaded down.
+ * Deadlines further out than the wheel covers are parked in the top level
+ * and re-placed each time they cascade.
+ *
+ * Each id can be scheduled at most once at a time; scheduling it again
+ * moves it to the new deadline.
+ */
+public class TimingWheel {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long SPAN = 1L << (SLOT_BITS * LEVELS);
+    private static final int NONE = -1;
+
+    private final int[] heads = new int[SLOTS * LEVELS];
+    private int[] next;
+    private int[] prev;
+    private int[] slotOf;
+    private long[] deadlines;
+    private long now;
+    private int scheduled;
+
+    public TimingWheel() {
+        this(64);
+    }
+
+    public TimingWheel(int initialIds) {
+        int capacity = Math.max(1, initialIds);
+        Arrays.fill(heads, NONE);
+        next = new int[capacity];
+        prev = new int[capacity];
+        slotOf = new int[capacity];
+        deadlines = new long[capacity];
+        Arrays.fill(slotOf, NONE);
+    }
+
+    /**
+     * Current tick. Ids scheduled for this tick have already fired.
+     */
+    public long now() {
+        return now;
+    }
+
+    /**
+     * Number of ids currently scheduled.
+     */
+    public int size() {
+        return scheduled;
+    }
+
+    public boolean isScheduled(int id) {
+        return id < slotOf.length && slotOf[id] != NONE;
+    }
+
+    /**
+     * Schedule an id to fire at the given tick (at least one tick from now).
+     */
+    public void schedule(int id, long tick) {
+        if (id < 0) throw new IllegalArgumentException("id cannot be negative");
+        ensureCapacity(id);
+        if (slotOf[id] != NONE) {
+            unlink(id);
+        } else {
+            scheduled++;
+        }
+        deadlines[id] = Math.max(tick, now + 1);
+        insert(id);
+    }
+
+    /**
+     * Remove an id from the wheel.
+     *
+     * @return true if it was scheduled
+     */
+    public boolean cancel(int id) {
+        if (!isScheduled(id)) return false;
+        unlink(id);
+        scheduled--;
+        return true;
+    }
+
+    /**
+     * Move to the next tick and fire every id due at it, in scheduling order.
+     * The callback may schedule or cancel ids, including the one firing.
+     */
+    public void advance(IntConsumer fire) {
+        now++;
+        cascade();
+        int slot = (int) (now & SLOT_MASK);
+        int id;
+        // Pop one at a time so callbacks can safely cancel other due ids
+        while ((id = heads[slot]) != NONE) {
+            unlink(id);
+            scheduled--;
+            fire.accept(id);
+        }
+    }
+
+    private void cascade() {
+        int level = 0;
+        while (level < LEVELS - 1 && ((now >>> (SLOT_BITS * level)) & SLOT_MASK) == 0) {
+            level++;
+        }
+        // Move entries down from the highest level whose index wrapped
+        for (int l = level; l >= 1; l--) {
+            int slot = l * SLOTS + (int) ((now >>> (SLOT_BITS * l)) & SLOT_MASK);
+            int id = heads[slot];
+            heads[slot] = NONE;
+            while (id != NONE) {
+                int following = next[id];
+                insert(id);
+                id = following;
+            }
+        }
+    }
+
+    private void insert(int id) {
+        long deadline = deadlines[id];
+        long delta = deadline - now;
+        int slot;
+        if (delta >= SPAN) {
+            // Too far ahead: park in the top level, just behind the current index
+            slot = (LEVELS - 1) * SLOTS
+                + (int) (((now >>> (SLOT_BITS * (LEVELS - 1))) - 1) & SLOT_MASK);
+        } else {
+            int level = 0;
+            while (delta >= (1L << (SLOT_BITS * (level + 1)))) {
+                level++;
+            }
+            slot = level * SLOTS + (int) ((deadline >>> (SLOT_BITS * level)) & SLOT_MASK);
+        }
+        // Append at the tail so ids due at the same tick fire in scheduling order
+        slotOf[id] = slot;
+        next[id] = NONE;
+        int head = heads[slot];
+        if (head == NONE) {
+            heads[slot] = id;
+            prev[id] = id;
+        } else {
+            int tail = prev[head];
+            next[tail] = id;
+            prev[id] = tail;
+            prev[head] = id;
+        }
+    }
+
+    private void unlink(int id) {
+        int slot = slotOf[id];
+        int head = heads[slot];
+        int following = next[id];
+        if (head == id) {
+            heads[slot] = following;
+            if (following != NONE) prev[following] = prev[id];
+        } else {
+            next[prev[id]] = following;
+            if (following != NONE) {
+                prev[following] = prev[id];
+            } else {
+                prev[head] = prev[id];
+            }
+        }
+        slotOf[id] = NONE;
+    }
+
+    private void ensureCapacity(int id) {
+        if (id < slotOf.length) return;
+        int capacity = Math.max(id + 1, slotOf.length * 2);
+        int oldLength = slotOf.length;
+        next = Arrays.copyOf(next, capacity);
+        prev = Arrays.copyOf(prev, capacity);
+        deadlines = Arrays.copyOf(deadlines, capacity);
+        slotOf = Arrays.copyOf(slotOf, capacity);
+        Arrays.fill(slotOf, oldLength, capacity, NONE);
+    }
+}
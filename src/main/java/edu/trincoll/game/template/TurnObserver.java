@@ -0,0 +1,15 @@
+package edu.trincoll.game.template;
+
+import edu.trincoll.game.model.Character;
+
+/**
+ * Receives the begin and end of every turn run by an {@link ObservedSequence}.
+ */
+public interface TurnObserver {
+
+    default void beginTurn(Character attacker, Character defender) {
+    }
+
+    default void endTurn(Character attacker, Character defender) {
+    }
+}
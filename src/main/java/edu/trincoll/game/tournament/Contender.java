@@ -0,0 +1,30 @@
+package edu.trincoll.game.tournament;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterType;
+
+import java.util.function.Supplier;
+
+/**
+ * A build entered into a tournament: a name plus a way to create a fresh
+ * character for every battle.
+ */
+public record Contender(String name, Supplier<Character> factory) {
+
+    public Contender {
+        if (name == null) throw new IllegalArgumentException("name cannot be null");
+        if (factory == null) throw new IllegalArgumentException("factory cannot be null");
+    }
+
+    /**
+     * The CharacterFactory archetype for a type.
+     */
+    public static Contender of(CharacterType type) {
+        return new Contender(type.name(), () -> CharacterFactory.createCharacter(type.name(), type));
+    }
+
+    public Character create() {
+        return factory.get();
+    }
+}
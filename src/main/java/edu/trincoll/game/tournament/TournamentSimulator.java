@@ -0,0 +1,196 @@
+package edu.trincoll.game.tournament;
+
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterType;
+import edu.trincoll.game.template.BattleSequence;
+import edu.trincoll.game.template.StandardBattleSequence;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiFunction;
+
+/**
+ * Monte Carlo balance tournament between character builds.
+ *
+ * Every pairing of contenders (including mirror matches) fights a number
+ * of one-on-one battles. Combat itself is deterministic, so the random
+ * element is the initiative roll that decides who strikes first; each
+ * battle's roll is derived from the seed and the battle number, so
+ * results do not depend on how work is split across threads.
+ *
+ * Battles are spread over a fork-join pool in chunks. Each chunk counts
+ * wins and draws into its own primitive array; chunk results are summed
+ * as the tasks join, so workers never share counters.
+ */
+public class TournamentSimulator {
+    public static final int DEFAULT_MAX_TURNS = 200;
+    private static final int CHUNK = 2048;
+
+    private final ForkJoinPool pool;
+    private final BiFunction<Character, Character, BattleSequence> sequenceFactory;
+    private final int maxTurns;
+
+    public TournamentSimulator(ForkJoinPool pool) {
+        this(pool, StandardBattleSequence::new, DEFAULT_MAX_TURNS);
+    }
+
+    /**
+     * @param sequenceFactory sequence used for every turn of every battle
+     * @param maxTurns        turns after which a battle is a draw
+     */
+    public TournamentSimulator(ForkJoinPool pool,
+                               BiFunction<Character, Character, BattleSequence> sequenceFactory,
+                               int maxTurns) {
+        if (pool == null) throw new IllegalArgumentException("pool cannot be null");
+        if (sequenceFactory == null) throw new IllegalArgumentException("sequenceFactory cannot be null");
+        if (maxTurns <= 0) throw new IllegalArgumentException("maxTurns must be positive");
+        this.pool = pool;
+        this.sequenceFactory = sequenceFactory;
+        this.maxTurns = maxTurns;
+    }
+
+    /**
+     * Round robin between the CharacterFactory archetype of every CharacterType.
+     */
+    public WinRateMatrix roundRobin(int battlesPerPairing, long seed) {
+        List<Contender> contenders = new ArrayList<>();
+        for (CharacterType type : CharacterType.values()) {
+            contenders.add(Contender.of(type));
+        }
+        return roundRobin(contenders, battlesPerPairing, seed);
+    }
+
+    /**
+     * Every contender fights every contender (itself included)
+     * battlesPerPairing times.
+     */
+    public WinRateMatrix roundRobin(List<Contender> contenders, int battlesPerPairing, long seed) {
+        if (contenders.isEmpty()) throw new IllegalArgumentException("contenders cannot be empty");
+        if (battlesPerPairing <= 0) throw new IllegalArgumentException("battlesPerPairing must be positive");
+
+        int n = contenders.size();
+        int pairings = n * (n + 1) / 2;
+        int[] rowOf = new int[pairings];
+        int[] columnOf = new int[pairings];
+        int p = 0;
+        for (int row = 0; row < n; row++) {
+            for (int column = row; column < n; column++) {
+                rowOf[p] = row;
+                columnOf[p] = column;
+                p++;
+            }
+        }
+
+        long total = (long) pairings * battlesPerPairing;
+        long[] counts = pool.invoke(new BattleChunk(contenders, rowOf, columnOf, battlesPerPairing,
+            seed, 0, total));
+
+        long[][] wins = new long[n][n];
+        long[][] draws = new long[n][n];
+        long[][] battles = new long[n][n];
+        for (p = 0; p < pairings; p++) {
+            int row = rowOf[p];
+            int column = columnOf[p];
+            wins[row][column] = counts[3 * p];
+            if (row != column) {
+                wins[column][row] = counts[3 * p + 1];
+            }
+            draws[row][column] = draws[column][row] = counts[3 * p + 2];
+            battles[row][column] = battles[column][row] = battlesPerPairing;
+        }
+        List<String> names = new ArrayList<>(n);
+        for (Contender contender : contenders) {
+            names.add(contender.name());
+        }
+        return new WinRateMatrix(names, wins, draws, battles);
+    }
+
+    /**
+     * Fight a one-on-one battle, alternating turns.
+     *
+     * @return 1 if a wins, -1 if b wins, 0 for a draw
+     */
+    public int duel(Character a, Character b, boolean aFirst) {
+        Character attacker = aFirst ? a : b;
+        Character defender = aFirst ? b : a;
+        for (int turn = 0; turn < maxTurns; turn++) {
+            try {
+                sequenceFactory.apply(attacker, defender).executeTurn();
+            } catch (IllegalStateException e) {
+                // Not enough mana to attack - the turn is lost
+            }
+            if (a.isDead() || b.isDead()) {
+                if (a.isDead() == b.isDead()) return 0;
+                return a.isDead() ? -1 : 1;
+            }
+            Character swap = attacker;
+            attacker = defender;
+            defender = swap;
+        }
+        return 0;
+    }
+
+    /**
+     * Initiative roll for one battle: splitmix64 of seed + battle number.
+     */
+    static boolean firstSideStrikesFirst(long seed, long battle) {
+        long z = seed + (battle + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return ((z ^ (z >>> 31)) & 1) == 0;
+    }
+
+    /**
+     * Counts outcomes for battles [from, to); result holds
+     * (first side wins, second side wins, draws) per pairing.
+     */
+    private final class BattleChunk extends RecursiveTask<long[]> {
+        private static final long serialVersionUID = 1L;
+
+        // ForkJoinTask is Serializable, but chunks never leave the pool
+        private final transient List<Contender> contenders;
+        private final int[] rowOf;
+        private final int[] columnOf;
+        private final int battlesPerPairing;
+        private final long seed;
+        private final long from;
+        private final long to;
+
+        BattleChunk(List<Contender> contenders, int[] rowOf, int[] columnOf, int battlesPerPairing,
+                    long seed, long from, long to) {
+            this.contenders = contenders;
+            this.rowOf = rowOf;
+            this.columnOf = columnOf;
+            this.battlesPerPairing = battlesPerPairing;
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from > CHUNK) {
+                long middle = (from + to) >>> 1;
+                BattleChunk left = new BattleChunk(contenders, rowOf, columnOf, battlesPerPairing, seed, from, middle);
+                BattleChunk right = new BattleChunk(contenders, rowOf, columnOf, battlesPerPairing, seed, middle, to);
+                left.fork();
+                long[] counts = right.compute();
+                long[] leftCounts = left.join();
+                Arrays.setAll(counts, i -> counts[i] + leftCounts[i]);
+                return counts;
+            }
+            long[] counts = new long[3 * rowOf.length];
+            for (long battle = from; battle < to; battle++) {
+                int pairing = (int) (battle / battlesPerPairing);
+                Character a = contenders.get(rowOf[pairing]).create();
+                Character b = contenders.get(columnOf[pairing]).create();
+                int outcome = duel(a, b, firstSideStrikesFirst(seed, battle));
+                counts[3 * pairing + (outcome > 0 ? 0 : outcome < 0 ? 1 : 2)]++;
+            }
+            return counts;
+        }
+    }
+}
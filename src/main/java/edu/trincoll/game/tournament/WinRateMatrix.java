@@ -0,0 +1,96 @@
+package edu.trincoll.game.tournament;
+
+import java.util.List;
+
+/**
+ * Results of a round-robin tournament.
+ *
+ * Cell (row, column) holds the battles between the two contenders, how
+ * many the row contender won and how many were draws. Win rates come with 95% Wilson score
+ * confidence intervals, which stay sensible even near 0% and 100%.
+ */
+public class WinRateMatrix {
+    private static final double Z_95 = 1.959964;
+
+    private final List<String> names;
+    private final long[][] wins;
+    private final long[][] draws;
+    private final long[][] battles;
+
+    WinRateMatrix(List<String> names, long[][] wins, long[][] draws, long[][] battles) {
+        this.names = List.copyOf(names);
+        this.wins = wins;
+        this.draws = draws;
+        this.battles = battles;
+    }
+
+    public List<String> getNames() {
+        return names;
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    public long wins(int row, int column) {
+        return wins[row][column];
+    }
+
+    public long battles(int row, int column) {
+        return battles[row][column];
+    }
+
+    /**
+     * Battles between the two contenders that ended with no winner.
+     */
+    public long draws(int row, int column) {
+        return draws[row][column];
+    }
+
+    /**
+     * Fraction of battles the row contender won against the column contender.
+     * For mirror matches this is the win rate of the first side.
+     */
+    public double winRate(int row, int column) {
+        long n = battles[row][column];
+        return n == 0 ? 0.0 : (double) wins[row][column] / n;
+    }
+
+    /**
+     * 95% Wilson score interval for winRate(row, column).
+     *
+     * @return {lower, upper}
+     */
+    public double[] confidenceInterval(int row, int column) {
+        long n = battles[row][column];
+        if (n == 0) return new double[]{0.0, 1.0};
+        double p = winRate(row, column);
+        double z2 = Z_95 * Z_95;
+        double denominator = 1 + z2 / n;
+        double center = (p + z2 / (2.0 * n)) / denominator;
+        double margin = Z_95 * Math.sqrt(p * (1 - p) / n + z2 / (4.0 * n * n)) / denominator;
+        return new double[]{Math.max(0.0, center - margin), Math.min(1.0, center + margin)};
+    }
+
+    /**
+     * Text table of win rates (row vs column) with their intervals.
+     */
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(String.format("%-12s", ""));
+        for (String name : names) {
+            text.append(String.format(" %-20s", name));
+        }
+        text.append('\n');
+        for (int row = 0; row < names.size(); row++) {
+            text.append(String.format("%-12s", names.get(row)));
+            for (int column = 0; column < names.size(); column++) {
+                double[] interval = confidenceInterval(row, column);
+                text.append(String.format(" %5.1f%% [%4.1f-%5.1f]",
+                    100 * winRate(row, column), 100 * interval[0], 100 * interval[1]));
+            }
+            text.append('\n');
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,186 @@
+package edu.trincoll.game.arena;
+
+import edu.trincoll.game.net.BattleProtocol;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Multi-Process Arena Tests")
+class ArenaCoordinatorTest {
+
+    @Nested
+    @DisplayName("Layout")
+    class LayoutTests {
+
+        @Test
+        @DisplayName("Arenas are dealt round robin and ids map to local indexes")
+        void testLayout() {
+            ArenaLayout layout = new ArenaLayout(2, 5, 10);
+
+            assertThat(layout.characterCount()).isEqualTo(50);
+            assertThat(layout.workerOf(25)).isEqualTo(0); // arena 2
+            assertThat(layout.localIndex(25)).isEqualTo(15);
+            assertThat(layout.workerOf(37)).isEqualTo(1); // arena 3
+            assertThat(layout.localIndex(37)).isEqualTo(17);
+            assertThat(layout.arenasOf(0)).isEqualTo(3);
+            assertThat(layout.arenasOf(1)).isEqualTo(2);
+            assertThat(layout.spawn(1)[17].getName()).isEqualTo("A3-7");
+            assertThatThrownBy(() -> layout.workerOf(50)).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Worker Processes")
+    class ProcessTests {
+
+        @Test
+        @DisplayName("Commands are routed to the worker that owns the arena")
+        void testRouting() throws IOException {
+            ArenaLayout layout = new ArenaLayout(2, 4, 8);
+            try (ArenaCoordinator coordinator = ArenaCoordinator.spawn(layout, 30, TimeUnit.SECONDS)) {
+                // Arena 1 lives on worker 1; slot 0 is a Warrior, slot 1 a Mage
+                ArenaCoordinator.Result attack = coordinator.attack(8, 9);
+                assertThat(attack.isOk()).isTrue();
+                assertThat(attack.targetHealth()).isLessThan(80);
+
+                ArenaCoordinator.Result heal = coordinator.heal(9, 5);
+                assertThat(heal.targetHealth()).isEqualTo(attack.targetHealth() + 5);
+
+                // Same slots in arena 0 (worker 0) are untouched
+                assertThat(coordinator.heal(1, 0).targetHealth()).isEqualTo(80);
+
+                assertThatThrownBy(() -> coordinator.attack(0, 9))
+                    .isInstanceOf(IllegalArgumentException.class);
+            }
+        }
+
+        @Test
+        @DisplayName("Batches run across all workers in order")
+        void testBatch() throws IOException {
+            ArenaLayout layout = new ArenaLayout(3, 6, 4);
+            List<ArenaCoordinator.Request> batch = new ArrayList<>();
+            for (int round = 0; round < 100; round++) {
+                for (int arena = 0; arena < layout.arenas(); arena++) {
+                    int base = arena * layout.charactersPerArena();
+                    batch.add(new ArenaCoordinator.Request(BattleProtocol.SEQUENCE, base, base + 2,
+                        BattleProtocol.SEQUENCE_STANDARD));
+                    batch.add(new ArenaCoordinator.Request(BattleProtocol.HEAL, base + 2, base + 2, 1000));
+                }
+            }
+
+            try (ArenaCoordinator coordinator = ArenaCoordinator.spawn(layout, 30, TimeUnit.SECONDS)) {
+                List<ArenaCoordinator.Result> results = coordinator.executeAll(batch);
+
+                assertThat(results).hasSize(batch.size());
+                // Every heal tops the archer in slot 2 back up to full health
+                for (int i = 1; i < results.size(); i += 2) {
+                    assertThat(results.get(i - 1).isOk()).isTrue();
+                    assertThat(results.get(i).targetHealth()).isEqualTo(results.get(1).targetHealth());
+                }
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Connection")
+    class ConnectionTests {
+
+        @Test
+        @DisplayName("A response for another request breaks the connection")
+        void testMismatchedResponse() throws IOException {
+            try (ServerSocketChannel fakeWorker = ServerSocketChannel.open()) {
+                fakeWorker.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+                SocketChannel channel = SocketChannel.open(fakeWorker.getLocalAddress());
+                try (SocketChannel worker = fakeWorker.accept();
+                     ArenaCoordinator coordinator = new ArenaCoordinator(new ArenaLayout(1, 1, 4),
+                         List.of(), new SocketChannel[] {channel})) {
+                    ByteBuffer stale = ByteBuffer.allocate(BattleProtocol.RESPONSE_FRAME);
+                    BattleProtocol.putResponse(stale, BattleProtocol.OK, 41, 100, 100);
+                    stale.flip();
+                    while (stale.hasRemaining()) worker.write(stale);
+
+                    assertThatThrownBy(() -> coordinator.attack(0, 1))
+                        .isInstanceOf(IOException.class)
+                        .hasMessageContaining("41");
+                    assertThat(channel.isOpen()).isFalse();
+                    assertThatThrownBy(() -> coordinator.heal(1, 5)).isInstanceOf(IOException.class);
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("A failing worker does not take healthy workers down with it")
+        void testOneWorkerFails() throws Exception {
+            try (ServerSocketChannel badListener = ServerSocketChannel.open();
+                 ServerSocketChannel goodListener = ServerSocketChannel.open()) {
+                badListener.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+                goodListener.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+                SocketChannel[] channels = {
+                    SocketChannel.open(badListener.getLocalAddress()),
+                    SocketChannel.open(goodListener.getLocalAddress())
+                };
+                // Arena 0 (ids 0-3) is on the bad worker, arena 1 (ids 4-7) on the good one
+                try (SocketChannel bad = badListener.accept();
+                     SocketChannel good = goodListener.accept();
+                     ArenaCoordinator coordinator = new ArenaCoordinator(new ArenaLayout(2, 2, 4),
+                         List.of(), channels)) {
+                    Thread badWorker = serve(bad, 1000);
+                    Thread goodWorker = serve(good, 0);
+
+                    assertThatThrownBy(() -> coordinator.executeAll(List.of(
+                            new ArenaCoordinator.Request(BattleProtocol.ATTACK, 0, 1, 0),
+                            new ArenaCoordinator.Request(BattleProtocol.ATTACK, 4, 5, 0),
+                            new ArenaCoordinator.Request(BattleProtocol.ATTACK, 5, 4, 0))))
+                        .isInstanceOf(IOException.class)
+                        .hasMessageContaining("Worker 0");
+
+                    assertThat(coordinator.attack(4, 5).isOk()).isTrue();
+                    assertThat(coordinator.heal(5, 1).isOk()).isTrue();
+                    assertThatThrownBy(() -> coordinator.attack(0, 1))
+                        .isInstanceOf(IOException.class)
+                        .hasMessageContaining("Worker 0");
+                    coordinator.close();
+                    badWorker.join(5000);
+                    goodWorker.join(5000);
+                }
+            }
+        }
+
+        /**
+         * Answer every request OK, with the request id shifted by idOffset.
+         */
+        private Thread serve(SocketChannel worker, int idOffset) {
+            return Thread.ofVirtual().start(() -> {
+                ByteBuffer request = ByteBuffer.allocate(BattleProtocol.REQUEST_FRAME);
+                ByteBuffer response = ByteBuffer.allocate(BattleProtocol.RESPONSE_FRAME);
+                try {
+                    while (true) {
+                        request.clear();
+                        while (request.hasRemaining()) {
+                            if (worker.read(request) < 0) return;
+                        }
+                        int id = request.getInt(4 + 1);
+                        response.clear();
+                        BattleProtocol.putResponse(response, BattleProtocol.OK, id + idOffset, 100, 100);
+                        response.flip();
+                        while (response.hasRemaining()) worker.write(response);
+                    }
+                } catch (IOException e) {
+                    // Coordinator hung up
+                }
+            });
+        }
+    }
+}
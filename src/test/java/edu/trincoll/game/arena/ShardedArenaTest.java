@@ -0,0 +1,159 @@
+package edu.trincoll.game.arena;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Sharded Arena Tests")
+class ShardedArenaTest {
+
+    @Nested
+    @DisplayName("SPSC Queue")
+    class SpscLongQueueTests {
+
+        @Test
+        @DisplayName("Queue rejects offers when full and accepts after draining")
+        void testBounded() {
+            SpscLongQueue queue = new SpscLongQueue(3);
+            assertThat(queue.capacity()).isEqualTo(4);
+            for (int i = 0; i < 4; i++) {
+                assertThat(queue.offer(i)).isTrue();
+            }
+            assertThat(queue.offer(99)).isFalse();
+
+            List<Long> drained = new ArrayList<>();
+            assertThat(queue.drain(drained::add)).isEqualTo(4);
+
+            assertThat(drained).containsExactly(0L, 1L, 2L, 3L);
+            assertThat(queue.offer(99)).isTrue();
+        }
+
+        @Test
+        @DisplayName("Messages arrive in order across threads")
+        void testCrossThread() throws InterruptedException {
+            SpscLongQueue queue = new SpscLongQueue(64);
+            int count = 200_000;
+            Thread producer = new Thread(() -> {
+                for (long i = 0; i < count; i++) {
+                    while (!queue.offer(i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            producer.start();
+
+            long[] expected = {0};
+            boolean[] ordered = {true};
+            while (expected[0] < count) {
+                queue.drain(value -> {
+                    ordered[0] &= value == expected[0];
+                    expected[0]++;
+                });
+            }
+            producer.join();
+
+            assertThat(ordered[0]).isTrue();
+            assertThat(queue.isEmpty()).isTrue();
+        }
+    }
+
+    @Nested
+    @DisplayName("Arena")
+    class ArenaTests {
+
+        @Test
+        @DisplayName("Local battles run through the shard's invoker")
+        void testLocalBattle() throws InterruptedException {
+            ShardedArena arena = new ShardedArena(2, 16);
+            Character warrior = CharacterFactory.createWarrior("Conan");
+            Character rogue = CharacterFactory.createRogue("Shade");
+            int w = arena.spawn(1, warrior);
+            int r = arena.spawn(1, rogue);
+            arena.engage(w, r);
+
+            arena.run(2);
+
+            assertThat(ShardedArena.shardOf(w)).isEqualTo(1);
+            assertThat(rogue.getStats().health()).isEqualTo(90 - 2 * 38);
+            assertThat(arena.shard(1).getLocalAttacks()).isEqualTo(2L);
+            assertThat(arena.shard(1).getInvoker().getCommandHistory()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Attacks into another shard travel as messages")
+        void testCrossShardStrikes() throws InterruptedException {
+            ShardedArena arena = new ShardedArena(2, 4);
+            Character warrior = CharacterFactory.createWarrior("Conan");
+            Character target = CharacterFactory.createWarrior("Dummy");
+            int w = arena.spawn(0, warrior);
+            int t = arena.spawn(1, target);
+            arena.engage(w, t);
+
+            arena.run(5);
+
+            assertThat(arena.shard(0).getStrikesSent()).isEqualTo(5L);
+            assertThat(arena.shard(1).getStrikesReceived()).isEqualTo(5L);
+            assertThat(target.getStats().health()).isEqualTo(150 - 5 * 18);
+        }
+
+        @Test
+        @DisplayName("A target's hooks only run on its own shard's thread")
+        void testRemoteTargetStaysOnOwnerThread() throws InterruptedException {
+            ShardedArena arena = new ShardedArena(2, 4);
+            Character warrior = CharacterFactory.createWarrior("Conan");
+            Character target = CharacterFactory.createWarrior("Dummy");
+            Set<String> threads = ConcurrentHashMap.newKeySet();
+            target.setChangeTracker(character -> {
+                threads.add(Thread.currentThread().getName());
+                character.clearDirty();
+            });
+            int w = arena.spawn(0, warrior);
+            int t = arena.spawn(1, target);
+            arena.engage(w, t);
+
+            arena.run(5);
+
+            assertThat(threads).containsExactly("arena-shard-1");
+            assertThat(arena.shard(1).publishedHealth(ShardedArena.slotOf(t)))
+                .isEqualTo(target.getStats().health());
+        }
+
+        @Test
+        @DisplayName("Every strike sent across shards is delivered")
+        void testManyShards() throws InterruptedException {
+            int shards = 4;
+            ShardedArena arena = new ShardedArena(shards, 8);
+            List<Character> all = new ArrayList<>();
+            int[] ids = new int[400];
+            for (int i = 0; i < ids.length; i++) {
+                Character c = CharacterFactory.createWarrior("W" + i);
+                all.add(c);
+                ids[i] = arena.spawn(i % shards, c);
+            }
+            for (int i = 0; i < ids.length; i++) {
+                arena.engage(ids[i], ids[(i + 1) % ids.length]);
+            }
+
+            arena.run(20);
+
+            long sent = 0;
+            long received = 0;
+            for (int i = 0; i < shards; i++) {
+                sent += arena.shard(i).getStrikesSent();
+                received += arena.shard(i).getStrikesReceived();
+            }
+            assertThat(sent).isGreaterThan(0L);
+            assertThat(received).isEqualTo(sent);
+            assertThat(all.stream().anyMatch(Character::isDead)).isTrue();
+        }
+    }
+}
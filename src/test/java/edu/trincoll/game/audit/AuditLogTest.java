@@ -0,0 +1,163 @@
+package edu.trincoll.game.audit;
+
+import edu.trincoll.game.command.AttackCommand;
+import edu.trincoll.game.command.GameCommand;
+import edu.trincoll.game.command.HealCommand;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterType;
+import edu.trincoll.game.replay.CommandLog;
+import edu.trincoll.game.replay.RecordingCommandInvoker;
+import edu.trincoll.game.replay.Roster;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Audit Log Tests")
+class AuditLogTest {
+
+    @TempDir
+    Path dir;
+
+    private Roster roster;
+
+    @BeforeEach
+    void setUp() {
+        roster = new Roster();
+        roster.add("Conan", CharacterType.WARRIOR);
+        roster.add("Gandalf", CharacterType.MAGE);
+    }
+
+    @Test
+    @DisplayName("Commands are rendered to text only when the log is read")
+    void testRendersCommands() throws Exception {
+        Path file = dir.resolve("audit.bin");
+        Character[] characters = roster.spawn();
+
+        try (AuditLog audit = new AuditLog(roster, 16, Files.newOutputStream(file))) {
+            RecordingCommandInvoker invoker = new RecordingCommandInvoker(audit, characters, 0);
+            invoker.executeCommand(new AttackCommand(characters[0], characters[1]));
+            invoker.executeCommand(new HealCommand(characters[1], 30));
+            invoker.undoLastCommand();
+        }
+
+        List<String> lines = AuditLogReader.readDescriptions(file);
+
+        assertThat(lines).containsExactly(
+            "Conan attacks Gandalf (48 damage)",
+            "Heal Gandalf for 30 HP",
+            "Undo: Heal Gandalf for 30 HP");
+    }
+
+    @Test
+    @DisplayName("Reader exposes structured fields and the roster")
+    void testStructuredFields() throws Exception {
+        Path file = dir.resolve("fields.bin");
+        try (AuditLog audit = new AuditLog(roster, 4, Files.newOutputStream(file))) {
+            audit.append(CommandLog.ATTACK, 1, 0, 70);
+        }
+
+        try (AuditLogReader reader = new AuditLogReader(Files.newInputStream(file))) {
+            assertThat(reader.getRoster().getName(0)).isEqualTo("Conan");
+            assertThat(reader.next()).isTrue();
+            assertThat(reader.op()).isEqualTo(CommandLog.ATTACK);
+            assertThat(reader.actor()).isEqualTo(1);
+            assertThat(reader.target()).isEqualTo(0);
+            assertThat(reader.amount()).isEqualTo(70);
+            assertThat(reader.next()).isFalse();
+        }
+    }
+
+    @Test
+    @DisplayName("A small ring wraps around without losing records")
+    void testRingWrapsAround() throws Exception {
+        Path file = dir.resolve("wrap.bin");
+        try (AuditLog audit = new AuditLog(roster, 3, Files.newOutputStream(file))) {
+            for (int i = 0; i < 10_000; i++) {
+                audit.append(CommandLog.HEAL, 0, 0, i);
+            }
+            audit.flush();
+            assertThat(audit.size()).isEqualTo(10_000L);
+        }
+
+        try (AuditLogReader reader = new AuditLogReader(Files.newInputStream(file))) {
+            int expected = 0;
+            while (reader.next()) {
+                assertThat(reader.amount()).isEqualTo(expected++);
+            }
+            assertThat(expected).isEqualTo(10_000);
+        }
+    }
+
+    @Test
+    @DisplayName("Commands without an opcode are audited by type and description")
+    void testOtherCommands() throws Exception {
+        Path file = dir.resolve("other.bin");
+        Character[] characters = roster.spawn();
+        GameCommand shout = new GameCommand() {
+            @Override
+            public void execute() {
+            }
+
+            @Override
+            public void undo() {
+            }
+
+            @Override
+            public String getDescription() {
+                return "Conan shouts";
+            }
+        };
+
+        try (AuditLog audit = new AuditLog(roster, 4, Files.newOutputStream(file))) {
+            RecordingCommandInvoker invoker = new RecordingCommandInvoker(audit, characters, 0);
+            invoker.executeCommand(shout);
+            invoker.executeCommand(new HealCommand(characters[1], 30));
+            invoker.executeCommand(shout);
+            invoker.undoLastCommand();
+            assertThat(invoker.getCommandHistory()).hasSize(2);
+        }
+
+        assertThat(AuditLogReader.readDescriptions(file)).containsExactly(
+            "Conan shouts",
+            "Heal Gandalf for 30 HP",
+            "Conan shouts",
+            "Undo: Conan shouts");
+        try (AuditLogReader reader = new AuditLogReader(Files.newInputStream(file))) {
+            assertThat(reader.next()).isTrue();
+            assertThat(reader.commandType()).isEqualTo(shout.getClass().getName());
+            assertThat(reader.next()).isTrue();
+            assertThat(reader.commandType()).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("An idle writer wakes up for new records")
+    void testWriterWakesFromIdle() throws Exception {
+        Path file = dir.resolve("idle.bin");
+        try (AuditLog audit = new AuditLog(roster, 4, Files.newOutputStream(file))) {
+            audit.append(CommandLog.HEAL, 0, 0, 1);
+            audit.flush();
+            Thread.sleep(20);
+            audit.append(CommandLog.HEAL, 0, 0, 2);
+            audit.flush();
+            assertThat(AuditLogReader.readDescriptions(file)).hasSize(2);
+        }
+    }
+
+    @Test
+    @DisplayName("Appending after close is rejected")
+    void testAppendAfterClose() throws Exception {
+        AuditLog audit = new AuditLog(roster, 4, Files.newOutputStream(dir.resolve("closed.bin")));
+        audit.close();
+
+        assertThatThrownBy(() -> audit.append(CommandLog.HEAL, 0, 0, 1))
+            .isInstanceOf(IllegalStateException.class);
+    }
+}
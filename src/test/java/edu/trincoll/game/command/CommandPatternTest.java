@@ -1,12 +1,19 @@
 package edu.trincoll.game.command;
 
 import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.command.QueuedCommandInvoker.Admission;
+import edu.trincoll.game.command.QueuedCommandInvoker.Priority;
 import edu.trincoll.game.model.Character;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 import static org.assertj.core.api.Assertions.*;
 
 @DisplayName("Command Pattern Tests")
@@ -239,4 +246,131 @@ class CommandPatternTest {
                 .doesNotThrowAnyException();
         }
     }
+
+    @Nested
+    @DisplayName("Queued Command Invoker")
+    class QueuedCommandInvokerTests {
+
+        private QueuedCommandInvoker queue;
+        private Character target;
+
+        @BeforeEach
+        void setUp() {
+            queue = new QueuedCommandInvoker(new CommandInvoker(), 3, 2);
+            target = CharacterFactory.createWarrior("Target");
+            target.takeDamage(100);
+        }
+
+        @Test
+        @DisplayName("Queued commands run when drained")
+        void testDrainExecutesCommands() {
+            int initialHealth = target.getStats().health();
+
+            assertThat(queue.submit(new HealCommand(target, 5))).isEqualTo(Admission.ACCEPTED);
+            assertThat(target.getStats().health()).isEqualTo(initialHealth);
+
+            assertThat(queue.drain(10)).isEqualTo(1);
+            assertThat(target.getStats().health()).isEqualTo(initialHealth + 5);
+            assertThat(queue.getInvoker().getCommandHistory()).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("Full queue rejects instead of growing")
+        void testRejectsWhenFull() {
+            for (int i = 0; i < 3; i++) {
+                assertThat(queue.submit(new HealCommand(target, 1))).isEqualTo(Admission.ACCEPTED);
+            }
+
+            assertThat(queue.submit(new HealCommand(target, 1))).isEqualTo(Admission.REJECTED);
+            assertThat(queue.depth()).isEqualTo(3);
+            assertThat(queue.rejectedCount()).isEqualTo(1L);
+        }
+
+        @Test
+        @DisplayName("Low priority commands are shed under load")
+        void testShedsLowPriority() {
+            assertThat(queue.submit(new HealCommand(target, 1), Priority.LOW)).isEqualTo(Admission.ACCEPTED);
+            queue.submit(new HealCommand(target, 1));
+
+            assertThat(queue.submit(new HealCommand(target, 1), Priority.LOW)).isEqualTo(Admission.SHED);
+            assertThat(queue.shedCount()).isEqualTo(1L);
+        }
+
+        @Test
+        @DisplayName("Queued low priority commands make room for high priority ones")
+        void testEvictsLowPriority() {
+            List<GameCommand> evicted = new ArrayList<>();
+            queue = new QueuedCommandInvoker(new CommandInvoker(), 3, 2, evicted::add);
+            HealCommand low = new HealCommand(target, 1);
+            queue.submit(low, Priority.LOW);
+            queue.submit(new HealCommand(target, 2));
+            queue.submit(new HealCommand(target, 3));
+            int initialHealth = target.getStats().health();
+
+            assertThat(queue.submit(new HealCommand(target, 4), Priority.HIGH)).isEqualTo(Admission.ACCEPTED);
+            assertThat(queue.depth()).isEqualTo(3);
+            assertThat(evicted).containsExactly(low);
+
+            queue.drain(10);
+            assertThat(target.getStats().health()).isEqualTo(initialHealth + 9);
+        }
+
+        @Test
+        @DisplayName("Without an eviction listener admitted commands are never dropped")
+        void testNoEvictionWithoutListener() {
+            queue.submit(new HealCommand(target, 1), Priority.LOW);
+            queue.submit(new HealCommand(target, 2));
+            queue.submit(new HealCommand(target, 3));
+            int initialHealth = target.getStats().health();
+
+            assertThat(queue.submit(new HealCommand(target, 4), Priority.HIGH)).isEqualTo(Admission.REJECTED);
+
+            queue.drain(10);
+            assertThat(target.getStats().health()).isEqualTo(initialHealth + 6);
+        }
+
+        @Test
+        @DisplayName("Blocking submit times out at its deadline")
+        void testBlockingSubmitTimesOut() throws InterruptedException {
+            for (int i = 0; i < 3; i++) {
+                queue.submit(new HealCommand(target, 1));
+            }
+
+            Admission admission = queue.submit(new HealCommand(target, 1), Priority.NORMAL, 20, TimeUnit.MILLISECONDS);
+
+            assertThat(admission).isEqualTo(Admission.TIMED_OUT);
+            assertThat(queue.timedOutCount()).isEqualTo(1);
+            assertThat(queue.rejectedCount()).isZero();
+            assertThat(queue.acceptedCount()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Blocking submit proceeds once the consumer makes room")
+        void testBlockingSubmitWaitsForRoom() throws InterruptedException {
+            for (int i = 0; i < 3; i++) {
+                queue.submit(new HealCommand(target, 1));
+            }
+            CountDownLatch started = new CountDownLatch(1);
+            Thread consumer = new Thread(() -> {
+                started.countDown();
+                try {
+                    queue.executeNext(1, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            consumer.start();
+            started.await();
+
+            Admission admission = queue.submit(new HealCommand(target, 1), Priority.NORMAL, 5, TimeUnit.SECONDS);
+            consumer.join();
+
+            assertThat(admission).isEqualTo(Admission.ACCEPTED);
+            assertThat(queue.depth()).isEqualTo(3);
+            // Waiting for room is not a rejection
+            assertThat(queue.acceptedCount()).isEqualTo(4);
+            assertThat(queue.rejectedCount()).isZero();
+            assertThat(queue.timedOutCount()).isZero();
+        }
+    }
 }
@@ -0,0 +1,253 @@
+package edu.trincoll.game.effect;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.template.BattleLoop;
+import edu.trincoll.game.template.ObservedSequence;
+import edu.trincoll.game.template.StandardBattleSequence;
+import edu.trincoll.game.template.TurnObserver;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Status Effect Tests")
+class EffectEngineTest {
+
+    @Nested
+    @DisplayName("Periodic Effects")
+    class PeriodicTests {
+
+        @Test
+        @DisplayName("Poison pulses on schedule and then expires")
+        void testPoison() {
+            EffectEngine engine = new EffectEngine();
+            Character warrior = CharacterFactory.createWarrior("Conan");
+            long handle = engine.poison(warrior, 10, 3, 5);
+
+            engine.advanceTo(4);
+            assertThat(warrior.getStats().health()).isEqualTo(150);
+            engine.advanceTo(5);
+            assertThat(warrior.getStats().health()).isEqualTo(140);
+            engine.advanceTo(100);
+
+            assertThat(warrior.getStats().health()).isEqualTo(120);
+            assertThat(engine.isActive(handle)).isFalse();
+            assertThat(engine.activeCount()).isEqualTo(0);
+        }
+
+        @Test
+        @DisplayName("Regeneration heals up to max health")
+        void testRegeneration() {
+            EffectEngine engine = new EffectEngine();
+            Character mage = CharacterFactory.createMage("Gandalf");
+            mage.setHealth(50);
+            engine.regenerate(mage, 20, 4, 1);
+
+            engine.advanceTo(2);
+            assertThat(mage.getStats().health()).isEqualTo(80);
+            engine.advanceTo(10);
+            assertThat(mage.getStats().health()).isEqualTo(mage.getStats().maxHealth());
+        }
+
+        @Test
+        @DisplayName("Effects on dead characters stop")
+        void testDeadTargetsStop() {
+            EffectEngine engine = new EffectEngine();
+            Character rogue = CharacterFactory.createRogue("Shade");
+            engine.poison(rogue, 100, 10, 1);
+            engine.regenerate(rogue, 5, 10, 1);
+
+            engine.advanceTo(2);
+
+            assertThat(rogue.isDead()).isTrue();
+            assertThat(engine.activeCount()).isEqualTo(0);
+        }
+    }
+
+    @Nested
+    @DisplayName("Combat Modifiers")
+    class CombatModifierTests {
+
+        @Test
+        @DisplayName("Shields absorb damage after defense until they expire")
+        void testShield() {
+            EffectEngine engine = new EffectEngine();
+            Character warrior = CharacterFactory.createWarrior("Conan");
+            engine.shield(warrior, 30, 10);
+
+            warrior.takeDamage(40); // 10 after heavy armor, all absorbed
+            assertThat(warrior.getStats().health()).isEqualTo(150);
+            assertThat(engine.shieldOf(warrior)).isEqualTo(20);
+
+            warrior.takeDamage(60); // 30 after armor: 20 absorbed, 10 taken
+            assertThat(warrior.getStats().health()).isEqualTo(140);
+
+            engine.shield(warrior, 50, 5);
+            engine.advanceTo(10);
+            warrior.takeDamage(40);
+            assertThat(warrior.getStats().health()).isEqualTo(130);
+            assertThat(engine.activeCount(EffectType.SHIELD)).isEqualTo(0);
+            assertThat(engine.shieldOf(warrior)).isEqualTo(0);
+        }
+
+        @Test
+        @DisplayName("Expiring shields keep the damage absorbed by later shields")
+        void testShieldExpiryKeepsRemainder() {
+            EffectEngine engine = new EffectEngine();
+            Character warrior = CharacterFactory.createWarrior("Conan");
+            engine.shield(warrior, 50, 5);
+            engine.shield(warrior, 50, 20);
+
+            warrior.takeDamage(90); // 60 after armor
+            engine.advanceTo(5);
+
+            assertThat(engine.shieldOf(warrior)).isEqualTo(40);
+        }
+
+        @Test
+        @DisplayName("Attack buffs raise damage until removed")
+        void testAttackBuff() {
+            EffectEngine engine = new EffectEngine();
+            Character warrior = CharacterFactory.createWarrior("Conan");
+            Character target = CharacterFactory.createRogue("Shade");
+            int base = warrior.attack(target);
+            long handle = engine.buffAttack(warrior, 50, 100);
+
+            assertThat(warrior.attack(target)).isEqualTo(base + base / 2);
+            assertThat(engine.remove(handle)).isTrue();
+            assertThat(warrior.attack(target)).isEqualTo(base);
+            assertThat(engine.remove(handle)).isFalse();
+        }
+
+        @Test
+        @DisplayName("A stale handle does not touch the effect that reuses its slot")
+        void testStaleHandle() {
+            EffectEngine engine = new EffectEngine();
+            Character warrior = CharacterFactory.createWarrior("Conan");
+            long stale = engine.buffAttack(warrior, 50, 100);
+            engine.remove(stale);
+            long current = engine.buffAttack(warrior, 20, 100);
+
+            assertThat((int) current).isEqualTo((int) stale);
+            assertThat(engine.isActive(stale)).isFalse();
+            assertThat(engine.remove(stale)).isFalse();
+            assertThat(engine.isActive(current)).isTrue();
+            assertThat(engine.attackBonusOf(warrior)).isEqualTo(20);
+        }
+
+        @Test
+        @DisplayName("Characters with another modifier are rejected")
+        void testForeignModifier() {
+            Character warrior = CharacterFactory.createWarrior("Conan");
+            warrior.setCombatModifier(new EffectEngine());
+
+            assertThatThrownBy(() -> new EffectEngine().shield(warrior, 10, 10))
+                .isInstanceOf(IllegalStateException.class);
+        }
+
+        @Test
+        @DisplayName("A character whose effects have all ended can join another engine")
+        void testReleasedCharacterMoves() {
+            EffectEngine first = new EffectEngine();
+            EffectEngine second = new EffectEngine();
+            Character warrior = CharacterFactory.createWarrior("Conan");
+            long buff = first.buffAttack(warrior, 50, 100);
+            first.shield(warrior, 10, 5);
+
+            first.advanceTo(5);
+            assertThat(warrior.getCombatModifier()).isSameAs(first);
+            first.remove(buff);
+
+            assertThat(warrior.getCombatModifier()).isNull();
+            assertThat(first.characterCount()).isZero();
+            second.shield(warrior, 10, 10);
+            assertThat(warrior.getCombatModifier()).isSameAs(second);
+            assertThat(second.shieldOf(warrior)).isEqualTo(10);
+        }
+    }
+
+    @Nested
+    @DisplayName("Scale and Integration")
+    class IntegrationTests {
+
+        @Test
+        @DisplayName("Many effects expire exactly on time")
+        void testManyEffects() {
+            EffectEngine engine = new EffectEngine();
+            List<Character> army = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                Character c = CharacterFactory.createWarrior("W" + i);
+                army.add(c);
+                for (int j = 0; j < 100; j++) {
+                    engine.buffAttack(c, 1, 1 + (i * 100 + j) % 5000);
+                }
+            }
+            assertThat(engine.activeCount()).isEqualTo(100_000);
+
+            engine.advanceTo(2500);
+            assertThat(engine.activeCount()).isEqualTo(50_000);
+            engine.advanceTo(5000);
+
+            assertThat(engine.activeCount()).isEqualTo(0);
+            assertThat(army.stream().allMatch(c -> engine.attackBonusOf(c) == 0)).isTrue();
+            // Every character is let go once its last buff expires
+            assertThat(engine.characterCount()).isZero();
+        }
+
+        @Test
+        @DisplayName("Observed sequences advance effects to the battle clock")
+        void testBattleLoopIntegration() {
+            BattleLoop[] holder = new BattleLoop[1];
+            EffectEngine engine = new EffectEngine(() -> holder[0].now());
+            BattleLoop loop = new BattleLoop(ObservedSequence.observing(StandardBattleSequence::new, engine));
+            holder[0] = loop;
+            Character warrior = CharacterFactory.createWarrior("Conan");
+            Character rogue = CharacterFactory.createRogue("Shade");
+            loop.addCombatant(warrior, 0);
+            loop.addCombatant(rogue, 1);
+            engine.poison(warrior, 1000, 1, 150);
+
+            BattleLoop.Report report = loop.run(1_000_000);
+
+            assertThat(report.winningTeam()).isEqualTo(1);
+            assertThat(engine.now()).isEqualTo(200L);
+        }
+
+        @Test
+        @DisplayName("A combatant killed by poison between its turns never acts again")
+        void testPoisonedCombatantStopsActing() {
+            BattleLoop[] holder = new BattleLoop[1];
+            EffectEngine engine = new EffectEngine(() -> holder[0].now());
+            Character a = CharacterFactory.createWarrior("A");
+            Character b = CharacterFactory.createWarrior("B");
+            Character c = CharacterFactory.createWarrior("C");
+            int[] turnsWhileDead = {0};
+            TurnObserver observer = new TurnObserver() {
+                @Override
+                public void beginTurn(Character attacker, Character defender) {
+                    engine.beginTurn(attacker, defender);
+                    if (attacker.isDead() || defender.isDead()) turnsWhileDead[0]++;
+                }
+            };
+            BattleLoop loop = new BattleLoop(ObservedSequence.observing(StandardBattleSequence::new, observer));
+            holder[0] = loop;
+            loop.addCombatant(a, 0);
+            loop.addCombatant(b, 1);
+            loop.addCombatant(c, 1);
+            engine.poison(c, 1000, 1, 250);
+
+            BattleLoop.Report report = loop.run(1_000_000);
+
+            assertThat(c.isDead()).isTrue();
+            assertThat(turnsWhileDead[0]).isEqualTo(0);
+            assertThat(report.isDraw()).isFalse();
+            Character survivor = report.winningTeam() == 0 ? a : b;
+            assertThat(survivor.isAlive()).isTrue();
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package edu.trincoll.game.event;
+
+import edu.trincoll.game.command.AttackCommand;
+import edu.trincoll.game.command.HealCommand;
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.template.ObservedSequence;
+import edu.trincoll.game.template.PowerAttackSequence;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Battle Event Bus Tests")
+class BattleEventRingTest {
+
+    private static final int EVENTS = 200_000;
+
+    @Nested
+    @DisplayName("Ring Buffer")
+    class RingTests {
+
+        @Test
+        @DisplayName("Every handler sees every event in order when blocking")
+        void testBlockingDeliversEverything() {
+            Character hero = CharacterFactory.createWarrior("Hero");
+            BattleEventRing ring = new BattleEventRing(64, BattleEventRing.Overflow.BLOCK);
+            long[] sums = new long[2];
+            boolean[] ordered = {true, true};
+            for (int h = 0; h < 2; h++) {
+                int index = h;
+                long[] expected = {0};
+                ring.addHandler("handler-" + h, (event, sequence, endOfBatch) -> {
+                    ordered[index] &= sequence == expected[0]++ && event.getAmount() == (int) sequence;
+                    sums[index] += event.getAmount();
+                });
+            }
+            ring.start();
+
+            for (int i = 0; i < EVENTS; i++) {
+                ring.publish(BattleEventType.DAMAGE_DEALT, hero, hero, i);
+            }
+            ring.close();
+
+            long expectedSum = (long) EVENTS * (EVENTS - 1) / 2;
+            assertThat(ring.publishedCount()).isEqualTo((long) EVENTS);
+            assertThat(sums[0]).isEqualTo(expectedSum);
+            assertThat(sums[1]).isEqualTo(expectedSum);
+            assertThat(ordered[0] && ordered[1]).isTrue();
+        }
+
+        @Test
+        @DisplayName("A slow handler loses events instead of stalling the producer")
+        void testOverwriteDoesNotStall() {
+            BattleEventRing ring = new BattleEventRing(16);
+            AtomicLong seen = new AtomicLong();
+            BattleEventRing.Processor slow = ring.addHandler("slow", (event, sequence, endOfBatch) -> {
+                seen.incrementAndGet();
+                Thread.sleep(1);
+            });
+            ring.start();
+
+            for (int i = 0; i < EVENTS; i++) {
+                ring.publish(BattleEventType.HEALED, null, null, i);
+            }
+            ring.close();
+
+            assertThat(slow.getLost()).isGreaterThan(0L);
+            assertThat(seen.get() + slow.getLost()).isEqualTo((long) EVENTS);
+            assertThat(slow.getSequence()).isEqualTo((long) EVENTS - 1);
+        }
+
+        @Test
+        @DisplayName("Handler exceptions are counted and processing continues")
+        void testHandlerErrors() {
+            BattleEventRing ring = new BattleEventRing(8, BattleEventRing.Overflow.BLOCK);
+            BattleEventRing.Processor processor = ring.addHandler("failing", (event, sequence, endOfBatch) -> {
+                if (sequence % 2 == 0) throw new IllegalStateException("boom");
+            });
+            ring.start();
+            for (int i = 0; i < 10; i++) {
+                ring.publish(BattleEventType.TURN_STARTED, null, null, 0);
+            }
+            ring.close();
+
+            assertThat(processor.getErrors()).isEqualTo(5L);
+            assertThat(processor.getSequence()).isEqualTo(9L);
+        }
+
+        @Test
+        @DisplayName("A blocking ring that is not running refuses to overwrite unread events")
+        void testBlockBeforeStart() {
+            BattleEventRing ring = new BattleEventRing(4, BattleEventRing.Overflow.BLOCK);
+            List<Integer> amounts = new CopyOnWriteArrayList<>();
+            BattleEventRing.Processor processor = ring.addHandler("late",
+                (event, sequence, endOfBatch) -> amounts.add(event.getAmount()));
+            for (int i = 0; i < 4; i++) {
+                ring.publish(BattleEventType.DAMAGE_DEALT, null, null, i);
+            }
+
+            assertThatThrownBy(() -> ring.publish(BattleEventType.DAMAGE_DEALT, null, null, 4))
+                .isInstanceOf(IllegalStateException.class);
+
+            ring.start();
+            ring.close();
+            assertThat(amounts).containsExactly(0, 1, 2, 3);
+            assertThat(processor.getLost()).isEqualTo(0L);
+        }
+
+        @Test
+        @DisplayName("Handlers cannot be added after start")
+        void testAddAfterStart() {
+            BattleEventRing ring = new BattleEventRing(8);
+            ring.start();
+
+            assertThatThrownBy(() -> ring.addHandler("late", (event, sequence, endOfBatch) -> { }))
+                .isInstanceOf(IllegalStateException.class);
+            ring.close();
+        }
+    }
+
+    @Nested
+    @DisplayName("Publishers")
+    class PublisherTests {
+
+        private final List<String> events = new ArrayList<>();
+        private final BattleEventSink sink = (type, source, target, amount) ->
+            events.add(type + ":" + (source == null ? "-" : source.getName())
+                + ":" + (target == null ? "-" : target.getName()) + ":" + amount);
+
+        @Test
+        @DisplayName("Commands publish damage, mana, deaths and heals")
+        void testCommandEvents() {
+            Character mage = CharacterFactory.createMage("Gandalf");
+            Character rogue = CharacterFactory.createRogue("Shade");
+            rogue.setHealth(10);
+
+            new AttackCommand(mage, rogue, sink).execute();
+            new HealCommand(rogue, 50, sink).execute();
+
+            assertThat(events).containsExactly(
+                "MANA_SPENT:Gandalf:-:10",
+                "DAMAGE_DEALT:Gandalf:Shade:10",
+                "DIED:Gandalf:Shade:0",
+                "HEALED:-:Shade:50");
+        }
+
+        @Test
+        @DisplayName("Observed sequences publish their turn phases")
+        void testSequenceEvents() {
+            Character warrior = CharacterFactory.createWarrior("Conan");
+            Character rogue = CharacterFactory.createRogue("Shade");
+            SequenceEventPublisher publisher = new SequenceEventPublisher(sink);
+
+            new ObservedSequence(new PowerAttackSequence(warrior, rogue), publisher).executeTurn();
+
+            int damage = 90 - rogue.getStats().health();
+            assertThat(events).containsExactly(
+                "TURN_STARTED:Conan:Shade:0",
+                "DAMAGE_DEALT:Conan:Shade:" + damage,
+                "DAMAGE_DEALT:Conan:Conan:15",
+                "TURN_ENDED:Conan:Shade:0");
+        }
+    }
+}
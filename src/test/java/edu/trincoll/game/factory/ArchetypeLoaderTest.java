@@ -0,0 +1,165 @@
+package edu.trincoll.game.factory;
+
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Archetype Loader Tests")
+class ArchetypeLoaderTest {
+
+    private static final String DEFINITIONS = """
+        # Custom archetypes
+        Elite Mage: MAGE 120/70/15/200 magic standard
+        Shield Bearer: warrior 200/20/45/0 melee heavy-armor
+        """;
+
+    @Nested
+    @DisplayName("Text Definitions")
+    class TextTests {
+
+        @Test
+        @DisplayName("Shipped archetypes match the assignment's builder-made characters")
+        void testDefaultsMatchFactory() {
+            PrototypeRegistry registry = new ArchetypeLoader().loadDefaults();
+
+            for (CharacterType type : CharacterType.values()) {
+                Character expected = switch (type) {
+                    case WARRIOR -> CharacterFactory.createWarrior("Unit");
+                    case MAGE -> CharacterFactory.createMage("Unit");
+                    case ARCHER -> CharacterFactory.createArcher("Unit");
+                    case ROGUE -> CharacterFactory.createRogue("Unit");
+                };
+                Character actual = registry.create(type, "Unit");
+                assertThat(actual.getStats()).isEqualTo(expected.getStats());
+                assertThat(actual.getAttackStrategy().getClass()).isEqualTo(expected.getAttackStrategy().getClass());
+                assertThat(actual.getDefenseStrategy().getClass()).isEqualTo(expected.getDefenseStrategy().getClass());
+            }
+        }
+
+        @Test
+        @DisplayName("Custom archetypes are parsed and built")
+        void testParseCustom() {
+            PrototypeRegistry registry = new ArchetypeLoader().compile(ArchetypeLoader.parse(DEFINITIONS));
+
+            Character mage = registry.create("Elite Mage", "Saruman");
+            Character tank = registry.create("Shield Bearer", "Boromir");
+
+            assertThat(mage.getType()).isEqualTo(CharacterType.MAGE);
+            assertThat(mage.getStats().maxMana()).isEqualTo(200);
+            assertThat(tank.getStats().defense()).isEqualTo(45);
+        }
+
+        @Test
+        @DisplayName("Invalid definitions are reported with their line")
+        void testInvalidDefinitions() {
+            assertThatThrownBy(() -> ArchetypeLoader.parse("Ok: MAGE 80/60/10/100 magic standard\nBad: MAGE 80/60 magic standard"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Line 2");
+            assertThatThrownBy(() -> ArchetypeLoader.parse("Ghost: MAGE 0/60/10/100 magic standard"))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> new ArchetypeLoader().compile(
+                    ArchetypeLoader.parse("Odd: MAGE 80/60/10/100 psychic standard")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("psychic");
+            assertThatThrownBy(() -> new ArchetypeLoader().compile(
+                    ArchetypeLoader.parse(DEFINITIONS + "Elite Mage: MAGE 1/1/1/1 magic standard")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Duplicate");
+        }
+    }
+
+    @Nested
+    @DisplayName("Compiled Form")
+    class CompiledTests {
+
+        @Test
+        @DisplayName("Binary round trip preserves every archetype")
+        void testRoundTrip() {
+            List<Archetype> archetypes = ArchetypeLoader.parse(DEFINITIONS);
+
+            byte[] compiled = ArchetypeLoader.encode(archetypes, 42);
+
+            assertThat(ArchetypeLoader.decode(compiled)).isEqualTo(archetypes);
+        }
+
+        @Test
+        @DisplayName("Corrupt binaries are rejected")
+        void testCorrupt() {
+            byte[] compiled = ArchetypeLoader.encode(ArchetypeLoader.parse(DEFINITIONS), 0);
+            compiled[compiled.length - 1] ^= 1;
+
+            assertThatThrownBy(() -> ArchetypeLoader.decode(compiled))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("The cache is written once and reused until the source changes")
+        void testCache(@TempDir Path dir) throws IOException {
+            Path source = dir.resolve("archetypes.txt");
+            Path cache = dir.resolve("archetypes.bin");
+            Files.writeString(source, DEFINITIONS);
+            ArchetypeLoader loader = new ArchetypeLoader();
+
+            loader.load(source, cache);
+            byte[] first = Files.readAllBytes(cache);
+            loader.load(source, cache);
+            assertThat(Files.readAllBytes(cache)).isEqualTo(first);
+            assertThat(loader.loadCompiled(cache).contains("Elite Mage")).isTrue();
+
+            Files.writeString(source, "Scout: ARCHER 70/45/10/0 ranged standard");
+            PrototypeRegistry reloaded = loader.load(source, cache);
+            assertThat(reloaded.keys()).containsExactly("Scout");
+            assertThat(loader.loadCompiled(cache).keys()).containsExactly("Scout");
+        }
+
+        @Test
+        @DisplayName("A corrupt but current cache falls back to the source and is rewritten")
+        void testCorruptCache(@TempDir Path dir) throws IOException {
+            Path source = dir.resolve("archetypes.txt");
+            Path cache = dir.resolve("archetypes.bin");
+            Files.writeString(source, DEFINITIONS);
+            ArchetypeLoader loader = new ArchetypeLoader();
+            loader.load(source, cache);
+            byte[] good = Files.readAllBytes(cache);
+            byte[] corrupt = good.clone();
+            corrupt[corrupt.length - 1] ^= 1;
+            Files.write(cache, corrupt);
+
+            PrototypeRegistry registry = loader.load(source, cache);
+
+            assertThat(registry.contains("Elite Mage")).isTrue();
+            assertThat(Files.readAllBytes(cache)).isEqualTo(good);
+        }
+
+        @Test
+        @DisplayName("The catalog hot-reloads changed files and keeps the old registry on errors")
+        void testCatalogReload(@TempDir Path dir) throws IOException {
+            Path source = dir.resolve("archetypes.txt");
+            Files.writeString(source, DEFINITIONS);
+            ArchetypeCatalog catalog = new ArchetypeCatalog(new ArchetypeLoader(), source, dir.resolve("cache.bin"));
+
+            assertThat(catalog.reloadIfChanged()).isFalse();
+
+            Files.writeString(source, "Broken: DRAGON 1/1/1/1 melee standard");
+            Files.setLastModifiedTime(source, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+            assertThatThrownBy(catalog::reloadIfChanged).isInstanceOf(IllegalArgumentException.class);
+            assertThat(catalog.current().contains("Elite Mage")).isTrue();
+
+            Files.writeString(source, "Scout: ARCHER 70/45/10/0 ranged standard");
+            Files.setLastModifiedTime(source, FileTime.fromMillis(System.currentTimeMillis() + 20_000));
+            assertThat(catalog.reloadIfChanged()).isTrue();
+            assertThat(catalog.current().contains("Scout")).isTrue();
+        }
+    }
+}
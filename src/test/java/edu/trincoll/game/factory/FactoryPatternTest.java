@@ -11,6 +11,9 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 import static org.assertj.core.api.Assertions.*;
 
 @DisplayName("Factory Method Pattern Tests")
@@ -157,4 +160,103 @@ class FactoryPatternTest {
             assertThat(CharacterFactory.createCharacter("Test", CharacterType.ROGUE)).isNotNull();
         }
     }
+
+    @Nested
+    @DisplayName("Batch Creation")
+    class BatchCreationTests {
+
+        @Test
+        @DisplayName("Characters are spawned from the current archetypes")
+        void testSpawnFromArchetypes() {
+            PrototypeRegistry edited = new ArchetypeLoader().compile(ArchetypeLoader.parse("""
+                WARRIOR: WARRIOR 300/40/30/0  melee  heavy-armor
+                MAGE:    MAGE    80/60/10/100 magic  standard
+                ARCHER:  ARCHER  100/50/15/20 ranged standard
+                ROGUE:   ROGUE   90/55/20/30  melee  standard
+                """));
+            try {
+                CharacterFactory.useArchetypes(() -> edited);
+
+                assertThat(CharacterFactory.createCharacter("Conan", CharacterType.WARRIOR).getStats().maxHealth())
+                    .isEqualTo(300);
+                assertThat(CharacterFactory.createBatch(CharacterType.WARRIOR, 2, "W")[1].getStats().maxHealth())
+                    .isEqualTo(300);
+            } finally {
+                CharacterFactory.useArchetypes(PrototypeRegistry::getDefault);
+            }
+            assertThat(CharacterFactory.createCharacter("Conan", CharacterType.WARRIOR).getStats().maxHealth())
+                .isEqualTo(150);
+        }
+
+        @Test
+        @DisplayName("Batch characters match individually created ones")
+        void testBatchMatchesSingle() {
+            for (CharacterType type : CharacterType.values()) {
+                Character[] batch = CharacterFactory.createBatch(type, 3, "Unit");
+                Character single = CharacterFactory.createCharacter("Unit2", type);
+
+                assertThat(batch).hasSize(3);
+                assertThat(batch[2].getName()).isEqualTo("Unit2");
+                assertThat(batch[2]).isEqualTo(single);
+                assertThat(batch[2].getStats()).isEqualTo(single.getStats());
+                assertThat(batch[2].getAttackStrategy().getClass()).isEqualTo(single.getAttackStrategy().getClass());
+                assertThat(batch[2].getDefenseStrategy().getClass()).isEqualTo(single.getDefenseStrategy().getClass());
+            }
+        }
+
+        @Test
+        @DisplayName("Large batches are filled completely and in order")
+        void testLargeBatch() {
+            int count = CharacterFactory.PARALLEL_THRESHOLD * 4 + 17;
+            Character[] batch = CharacterFactory.createBatch(CharacterType.ARCHER, count, "Archer");
+
+            for (int i = 0; i < count; i += 997) {
+                assertThat(batch[i].getName()).isEqualTo("Archer" + i);
+            }
+            assertThat(batch[count - 1].getName()).isEqualTo("Archer" + (count - 1));
+        }
+
+        @Test
+        @DisplayName("Batch characters take damage independently")
+        void testIndependentState() {
+            Character[] batch = CharacterFactory.createBatch(CharacterType.WARRIOR, 2, "W");
+
+            batch[0].takeDamage(100);
+
+            assertThat(batch[0].getStats().health()).isLessThan(150);
+            assertThat(batch[1].getStats().health()).isEqualTo(150);
+        }
+
+        @Test
+        @DisplayName("Mixed batches follow CharacterType order")
+        void testMixedBatch() {
+            Map<CharacterType, Integer> composition = new EnumMap<>(CharacterType.class);
+            composition.put(CharacterType.ROGUE, 1);
+            composition.put(CharacterType.WARRIOR, 2);
+            composition.put(CharacterType.MAGE, CharacterFactory.PARALLEL_THRESHOLD);
+
+            Character[] batch = CharacterFactory.createMixedBatch(composition, "Wave");
+
+            assertThat(batch).hasSize(CharacterFactory.PARALLEL_THRESHOLD + 3);
+            assertThat(batch[0].getType()).isEqualTo(CharacterType.WARRIOR);
+            assertThat(batch[1].getType()).isEqualTo(CharacterType.WARRIOR);
+            assertThat(batch[2].getType()).isEqualTo(CharacterType.MAGE);
+            assertThat(batch[batch.length - 1].getType()).isEqualTo(CharacterType.ROGUE);
+            assertThat(batch[batch.length - 1].getName()).isEqualTo("Wave" + (batch.length - 1));
+        }
+
+        @Test
+        @DisplayName("Batches can fill part of a preallocated array")
+        void testFillBatch() {
+            Character[] army = new Character[10];
+            CharacterFactory.fillBatch(army, 2, 5, CharacterType.MAGE, "M");
+
+            assertThat(army[1]).isNull();
+            assertThat(army[2].getName()).isEqualTo("M2");
+            assertThat(army[6].getName()).isEqualTo("M6");
+            assertThat(army[7]).isNull();
+            assertThatThrownBy(() -> CharacterFactory.fillBatch(army, 8, 5, CharacterType.MAGE, "M"))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
 }
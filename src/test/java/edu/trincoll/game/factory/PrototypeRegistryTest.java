@@ -0,0 +1,77 @@
+package edu.trincoll.game.factory;
+
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterStats;
+import edu.trincoll.game.model.CharacterType;
+import edu.trincoll.game.strategy.MagicAttackStrategy;
+import edu.trincoll.game.strategy.StandardDefenseStrategy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Prototype Registry Tests")
+class PrototypeRegistryTest {
+
+    @Test
+    @DisplayName("Default archetypes match the factory")
+    void testDefaultArchetypes() {
+        PrototypeRegistry registry = PrototypeRegistry.getDefault();
+
+        for (CharacterType type : CharacterType.values()) {
+            Character expected = CharacterFactory.createCharacter("Unit", type);
+            Character actual = registry.create(type, "Unit");
+
+            assertThat(actual).isEqualTo(expected);
+            assertThat(actual.getStats()).isEqualTo(expected.getStats());
+            assertThat(actual.getAttackStrategy().getClass()).isEqualTo(expected.getAttackStrategy().getClass());
+        }
+    }
+
+    @Test
+    @DisplayName("Copies share stats and strategies but not state changes")
+    void testCopiesShareImmutableParts() {
+        PrototypeRegistry registry = PrototypeRegistry.getDefault();
+        Character first = registry.create("WARRIOR", "A");
+        Character second = registry.create("WARRIOR", "B");
+
+        assertThat(first.getStats()).isSameAs(second.getStats());
+        assertThat(first.getAttackStrategy()).isSameAs(second.getAttackStrategy());
+
+        first.takeDamage(100);
+        assertThat(second.getStats().health()).isEqualTo(150);
+        assertThat(registry.create("WARRIOR", "C").getStats().health()).isEqualTo(150);
+    }
+
+    @Test
+    @DisplayName("Custom archetypes are snapshotted at registration")
+    void testCustomArchetype() {
+        PrototypeRegistry registry = new PrototypeRegistry();
+        Character elite = Character.builder()
+            .name("Elite")
+            .type(CharacterType.MAGE)
+            .stats(CharacterStats.create(120, 70, 15, 200))
+            .attackStrategy(new MagicAttackStrategy())
+            .defenseStrategy(new StandardDefenseStrategy())
+            .build();
+        registry.register("Elite Mage", elite);
+        elite.setHealth(1);
+
+        Character copy = registry.create("Elite Mage", "Saruman");
+
+        assertThat(copy.getName()).isEqualTo("Saruman");
+        assertThat(copy.getStats().health()).isEqualTo(120);
+        assertThat(registry.keys()).containsExactly("Elite Mage");
+    }
+
+    @Test
+    @DisplayName("Unknown archetypes and null names are rejected")
+    void testInvalidRequests() {
+        PrototypeRegistry registry = PrototypeRegistry.getDefault();
+
+        assertThatThrownBy(() -> registry.create("DRAGON", "Smaug"))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> registry.create("WARRIOR", (String) null))
+            .isInstanceOf(NullPointerException.class);
+    }
+}
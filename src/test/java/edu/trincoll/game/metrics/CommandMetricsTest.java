@@ -0,0 +1,129 @@
+package edu.trincoll.game.metrics;
+
+import edu.trincoll.game.command.AttackCommand;
+import edu.trincoll.game.command.CommandInvoker;
+import edu.trincoll.game.command.HealCommand;
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Command Metrics Tests")
+class CommandMetricsTest {
+
+    @Nested
+    @DisplayName("Latency Histogram")
+    class LatencyHistogramTests {
+
+        @Test
+        @DisplayName("Small values are recorded exactly")
+        void testSmallValuesExact() {
+            LatencyHistogram histogram = new LatencyHistogram();
+            for (int i = 1; i <= 50; i++) {
+                histogram.record(i);
+            }
+
+            assertThat(histogram.count()).isEqualTo(50L);
+            assertThat(histogram.percentile(50)).isEqualTo(25L);
+            assertThat(histogram.max()).isEqualTo(50L);
+        }
+
+        @Test
+        @DisplayName("Large values are reported within a few percent")
+        void testLargeValuesApproximate() {
+            LatencyHistogram histogram = new LatencyHistogram();
+            for (int i = 0; i < 990; i++) {
+                histogram.record(1_000);
+            }
+            for (int i = 0; i < 10; i++) {
+                histogram.record(1_000_000);
+            }
+
+            assertThat(histogram.percentile(50)).isBetween(1_000L, 1_032L);
+            assertThat(histogram.percentile(99.9)).isBetween(1_000_000L, 1_032_000L);
+        }
+
+        @Test
+        @DisplayName("Every bucket's upper bound maps back to the same bucket")
+        void testBucketBoundaries() {
+            for (long value : new long[]{0, 63, 64, 65, 127, 128, 4_095, 1L << 40, Long.MAX_VALUE}) {
+                int index = LatencyHistogram.bucketIndex(value);
+                assertThat(LatencyHistogram.highestValueIn(index)).isGreaterThanOrEqualTo(value);
+                assertThat(LatencyHistogram.bucketIndex(LatencyHistogram.highestValueIn(index))).isEqualTo(index);
+            }
+        }
+
+        @Test
+        @DisplayName("Empty histogram reports zero")
+        void testEmpty() {
+            assertThat(new LatencyHistogram().percentile(99)).isEqualTo(0L);
+        }
+    }
+
+    @Nested
+    @DisplayName("Invoker instrumentation")
+    class InvokerTests {
+
+        @Test
+        @DisplayName("Executes and undos are counted per command type")
+        void testRecordsPerType() {
+            CommandMetrics metrics = new CommandMetrics();
+            CommandInvoker invoker = new CommandInvoker(metrics);
+            Character attacker = CharacterFactory.createWarrior("Attacker");
+            Character target = CharacterFactory.createWarrior("Target");
+
+            invoker.executeCommand(new AttackCommand(attacker, target));
+            invoker.executeCommand(new AttackCommand(attacker, target));
+            invoker.executeCommand(new HealCommand(target, 10));
+            invoker.undoLastCommand();
+
+            List<CommandMetrics.Stats> stats = metrics.snapshot();
+
+            assertThat(stats).hasSize(3);
+            assertThat(stats.get(0).commandType()).isEqualTo("AttackCommand");
+            assertThat(stats.get(0).count()).isEqualTo(2L);
+            assertThat(stats.get(1).commandType()).isEqualTo("HealCommand");
+            assertThat(stats.get(1).operation()).isEqualTo("execute");
+            assertThat(stats.get(2).operation()).isEqualTo("undo");
+            assertThat(stats.get(0).opsPerSecond()).isGreaterThan(0.0);
+        }
+
+        @Test
+        @DisplayName("Invokers without metrics do not record")
+        void testDisabledByDefault() {
+            assertThat(new CommandInvoker().getMetrics()).isNull();
+        }
+
+        @Test
+        @DisplayName("Dump prints one row per command type")
+        void testDump() {
+            CommandMetrics metrics = new CommandMetrics();
+            metrics.recordExecute(AttackCommand.class, 1_500);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            metrics.dump(new PrintStream(out));
+
+            assertThat(out.toString())
+                .contains("p99(ns)")
+                .contains("AttackCommand");
+        }
+
+        @Test
+        @DisplayName("Reset clears all command types")
+        void testReset() {
+            CommandMetrics metrics = new CommandMetrics();
+            metrics.recordExecute(AttackCommand.class, 100);
+
+            metrics.reset();
+
+            assertThat(metrics.snapshot()).isEmpty();
+        }
+    }
+}
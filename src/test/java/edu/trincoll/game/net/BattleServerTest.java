@@ -0,0 +1,145 @@
+package edu.trincoll.game.net;
+
+import edu.trincoll.game.command.CommandInvoker;
+import edu.trincoll.game.command.GameCommand;
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Battle Server Tests")
+class BattleServerTest {
+
+    private Character[] characters;
+    private CommandInvoker invoker;
+    private final AtomicInteger executed = new AtomicInteger();
+    private BattleServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        characters = CharacterFactory.createBatch(CharacterType.WARRIOR, 20, "Fighter");
+        invoker = new CommandInvoker() {
+            @Override
+            public void executeCommand(GameCommand command) {
+                super.executeCommand(command);
+                executed.incrementAndGet();
+            }
+        };
+        server = new BattleServer(characters, invoker);
+        server.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.close();
+    }
+
+    private static ByteBuffer roundTrip(SocketChannel channel, byte op, int id, int actor, int target, int amount)
+            throws IOException {
+        ByteBuffer request = ByteBuffer.allocate(BattleProtocol.REQUEST_FRAME);
+        BattleProtocol.putRequest(request, op, id, actor, target, amount);
+        request.flip();
+        while (request.hasRemaining()) channel.write(request);
+        ByteBuffer response = ByteBuffer.allocate(BattleProtocol.RESPONSE_FRAME);
+        while (response.hasRemaining()) {
+            if (channel.read(response) < 0) throw new IOException("closed");
+        }
+        response.flip();
+        assertThat(response.getInt()).isEqualTo(BattleProtocol.RESPONSE_PAYLOAD);
+        return response;
+    }
+
+    @Nested
+    @DisplayName("Protocol")
+    class ProtocolTests {
+
+        @Test
+        @DisplayName("Attacks and heals run through the invoker and report health")
+        void testAttackAndHeal() throws IOException {
+            try (SocketChannel channel = SocketChannel.open(server.getAddress())) {
+                ByteBuffer attack = roundTrip(channel, BattleProtocol.ATTACK, 7, 0, 1, 0);
+                assertThat(attack.get()).isEqualTo(BattleProtocol.OK);
+                assertThat(attack.getInt()).isEqualTo(7);
+                int health = attack.getInt();
+                assertThat(health).isLessThan(characters[1].getStats().maxHealth());
+
+                ByteBuffer heal = roundTrip(channel, BattleProtocol.HEAL, 8, 0, 1, 5);
+                assertThat(heal.get()).isEqualTo(BattleProtocol.OK);
+                assertThat(heal.getInt()).isEqualTo(8);
+                assertThat(heal.getInt()).isEqualTo(health + 5);
+            }
+            assertThat(executed.get()).isEqualTo(2);
+            // Nothing is kept for undo, so long-running servers do not grow
+            assertThat(invoker.getCommandHistory()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Sequence turns run on the server")
+        void testSequence() throws IOException {
+            try (SocketChannel channel = SocketChannel.open(server.getAddress())) {
+                ByteBuffer response = roundTrip(channel, BattleProtocol.SEQUENCE, 1, 2, 3,
+                    BattleProtocol.SEQUENCE_POWER);
+                assertThat(response.get()).isEqualTo(BattleProtocol.OK);
+            }
+            assertThat(characters[3].getStats().health()).isLessThan(characters[3].getStats().maxHealth());
+            // Power attacks cost the attacker recoil
+            assertThat(characters[2].getStats().health()).isLessThan(characters[2].getStats().maxHealth());
+        }
+
+        @Test
+        @DisplayName("Invalid requests are rejected without closing the connection")
+        void testRejected() throws IOException {
+            try (SocketChannel channel = SocketChannel.open(server.getAddress())) {
+                assertThat(roundTrip(channel, BattleProtocol.ATTACK, 1, 0, 99, 0).get())
+                    .isEqualTo(BattleProtocol.REJECTED);
+                assertThat(roundTrip(channel, (byte) 42, 2, 0, 1, 0).get())
+                    .isEqualTo(BattleProtocol.REJECTED);
+                assertThat(roundTrip(channel, BattleProtocol.ATTACK, 3, 0, 1, 0).get())
+                    .isEqualTo(BattleProtocol.OK);
+            }
+        }
+
+        @Test
+        @DisplayName("A malformed frame closes the connection")
+        void testMalformedFrame() throws IOException {
+            try (SocketChannel channel = SocketChannel.open(server.getAddress())) {
+                ByteBuffer frame = ByteBuffer.allocate(BattleProtocol.REQUEST_FRAME);
+                frame.putInt(5).put(new byte[BattleProtocol.REQUEST_PAYLOAD]).flip();
+                channel.write(frame);
+                assertThat(channel.read(ByteBuffer.allocate(16))).isEqualTo(-1);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Load")
+    class LoadTests {
+
+        @Test
+        @DisplayName("Many pipelined connections over loopback all complete")
+        void testLoadTest() throws IOException {
+            LoadTestClient client = new LoadTestClient(server.getAddress(), 200, 50, 8, characters.length);
+
+            LoadTestClient.Result result = client.run(30, TimeUnit.SECONDS);
+
+            assertThat(result.requests()).isEqualTo(200L * 50);
+            assertThat(result.ok() + result.rejected()).isEqualTo(result.requests());
+            assertThat(result.latencies().count()).isEqualTo(result.requests());
+            assertThat(server.requestCount()).isEqualTo(200L * 50);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package edu.trincoll.game.net;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Simulation HTTP Server Tests")
+class SimulationHttpServerTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private SimulationHttpServer server;
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) server.close();
+    }
+
+    private URI start(int maxConcurrent, long admissionTimeoutMillis, String query) throws IOException {
+        server = new SimulationHttpServer(maxConcurrent, admissionTimeoutMillis);
+        server.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        return uri(query);
+    }
+
+    private URI uri(String query) {
+        InetSocketAddress address = server.getAddress();
+        return URI.create("http://" + address.getHostString() + ":" + address.getPort() + "/simulate?" + query);
+    }
+
+    private static long field(String line, String name) {
+        Matcher matcher = Pattern.compile("\"" + name + "\":(\\d+)").matcher(line);
+        assertThat(matcher.find()).as("%s in %s", name, line).isTrue();
+        return Long.parseLong(matcher.group(1));
+    }
+
+    @Nested
+    @DisplayName("Simulations")
+    class SimulationTests {
+
+        @Test
+        @DisplayName("Results stream as progress lines and a final summary")
+        void testStreamedResults() throws Exception {
+            URI uri = start(4, 1000, "teamA=WARRIOR,WARRIOR&teamB=MAGE,ROGUE&iterations=2500&seed=7");
+
+            HttpResponse<Stream<String>> response =
+                client.send(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.ofLines());
+
+            assertThat(response.statusCode()).isEqualTo(200);
+            assertThat(response.headers().firstValue("Server-Timing").orElse(""))
+                .contains("admit;dur=").contains("parse;dur=");
+            List<String> lines = response.body().toList();
+            assertThat(lines).hasSize(3);
+            assertThat(field(lines.get(0), "completed")).isEqualTo(1000L);
+            String summary = lines.get(2);
+            assertThat(summary).contains("\"done\":true").contains("elapsedMillis");
+            assertThat(field(summary, "battles")).isEqualTo(2500L);
+            assertThat(field(summary, "teamAWins") + field(summary, "teamBWins") + field(summary, "draws"))
+                .isEqualTo(2500L);
+        }
+
+        @Test
+        @DisplayName("A posted form can define a custom sequence")
+        void testPostedSequence() throws Exception {
+            URI uri = start(4, 1000, "");
+            String form = "teamA=ARCHER&teamB=WARRIOR&iterations=10&sequence="
+                + URLEncoder.encode("charge 50%, double strike, recoil 10%", StandardCharsets.UTF_8);
+
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri)
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString(form)).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+            assertThat(response.statusCode()).isEqualTo(200);
+            assertThat(field(response.body(), "battles")).isEqualTo(10L);
+        }
+
+        @Test
+        @DisplayName("Invalid requests get 400")
+        void testBadRequest() throws Exception {
+            URI uri = start(4, 1000, "teamA=WARRIOR&teamB=DRAGON");
+
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+            assertThat(response.statusCode()).isEqualTo(400);
+            assertThat(response.body()).contains("DRAGON");
+            // Bad requests are rejected before they take a slot
+            assertThat(server.availableSlots()).isEqualTo(4);
+        }
+    }
+
+    @Nested
+    @DisplayName("Admission")
+    class AdmissionTests {
+
+        @Test
+        @DisplayName("Requests beyond the concurrency limit get 503")
+        void testConcurrencyLimit() throws Exception {
+            String team = String.join(",", Collections.nCopies(50, "WARRIOR"));
+            URI slow = start(1, 0, "teamA=" + team + "&teamB=" + team + "&iterations=1000000");
+            CompletableFuture<HttpResponse<Void>> running =
+                client.sendAsync(HttpRequest.newBuilder(slow).build(), HttpResponse.BodyHandlers.discarding());
+            while (server.availableSlots() > 0) {
+                Thread.sleep(5);
+            }
+
+            HttpResponse<String> rejected = client.send(
+                HttpRequest.newBuilder(uri("teamA=WARRIOR&teamB=MAGE")).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+            assertThat(rejected.statusCode()).isEqualTo(503);
+            assertThat(rejected.headers().firstValue("Retry-After").orElse("")).isEqualTo("1");
+            running.cancel(true);
+        }
+    }
+}
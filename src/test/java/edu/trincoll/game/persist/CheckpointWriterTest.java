@@ -0,0 +1,148 @@
+package edu.trincoll.game.persist;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.factory.StrategyRegistry;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Checkpoint Tests")
+class CheckpointWriterTest {
+
+    private final StrategyRegistry strategies = StrategyRegistry.withDefaults();
+
+    @Nested
+    @DisplayName("Dirty Tracking")
+    class DirtyTrackingTests {
+
+        @Test
+        @DisplayName("Every stat mutation marks the character dirty")
+        void testMutationsMarkDirty() {
+            Character mage = CharacterFactory.createMage("Gandalf");
+            assertThat(mage.isDirty()).isFalse();
+
+            mage.takeDamage(10);
+            assertThat(mage.isDirty()).isTrue();
+
+            for (Runnable mutation : List.<Runnable>of(
+                    () -> mage.heal(5), () -> mage.setHealth(40),
+                    () -> mage.useMana(10), () -> mage.restoreMana(5))) {
+                mage.clearDirty();
+                mutation.run();
+                assertThat(mage.isDirty()).isTrue();
+            }
+        }
+
+        @Test
+        @DisplayName("The tracker hears about each character once per checkpoint")
+        void testTrackerNotifiedOnce() {
+            Character warrior = CharacterFactory.createWarrior("Conan");
+            int[] notifications = {0};
+            warrior.setChangeTracker(character -> notifications[0]++);
+
+            warrior.takeDamage(10);
+            warrior.takeDamage(10);
+            warrior.clearDirty();
+            warrior.heal(5);
+
+            assertThat(notifications[0]).isEqualTo(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("Checkpoints")
+    class CheckpointTests {
+
+        @Test
+        @DisplayName("Only dirty characters are written and restore replays them")
+        void testIncrementalRestore(@TempDir Path dir) throws IOException {
+            Character[] army = CharacterFactory.createBatch(CharacterType.MAGE, 1000, "Mage");
+            try (CheckpointWriter writer = CheckpointWriter.start(dir, Arrays.asList(army), strategies, 100)) {
+                army[3].takeDamage(20);
+                army[500].useMana(30);
+                assertThat(writer.checkpoint()).isEqualTo(2);
+
+                army[3].takeDamage(20);
+                assertThat(writer.checkpoint()).isEqualTo(1);
+                assertThat(writer.checkpoint()).isEqualTo(0);
+            }
+
+            List<Character> restored = CheckpointWriter.restore(dir, strategies);
+
+            assertThat(restored).hasSize(1000);
+            assertThat(restored.get(3).getStats()).isEqualTo(army[3].getStats());
+            assertThat(restored.get(500).getStats()).isEqualTo(army[500].getStats());
+            assertThat(restored.get(7).getStats()).isEqualTo(army[7].getStats());
+        }
+
+        @Test
+        @DisplayName("Calls that leave the stats unchanged do not dirty a character")
+        void testNoOpChanges(@TempDir Path dir) throws IOException {
+            Character[] army = CharacterFactory.createBatch(CharacterType.WARRIOR, 4, "W");
+            try (CheckpointWriter writer = CheckpointWriter.start(dir, Arrays.asList(army), strategies, 100)) {
+                army[0].heal(10);
+                army[1].takeDamage(0);
+                army[2].restoreMana(0);
+                army[3].setHealth(army[3].getStats().health());
+
+                assertThat(writer.dirtyCount()).isZero();
+                army[3].takeDamage(100);
+                assertThat(writer.dirtyCount()).isEqualTo(1);
+            }
+        }
+
+        @Test
+        @DisplayName("Compaction folds deltas into a new base")
+        void testCompaction(@TempDir Path dir) throws IOException {
+            Character[] army = CharacterFactory.createBatch(CharacterType.WARRIOR, 10, "W");
+            try (CheckpointWriter writer = CheckpointWriter.start(dir, Arrays.asList(army), strategies, 2)) {
+                army[0].takeDamage(50);
+                writer.checkpoint();
+                army[1].takeDamage(50);
+                writer.checkpoint(); // compacts
+                assertThat(Files.size(dir.resolve(CheckpointWriter.DELTAS))).isEqualTo(0L);
+                army[2].takeDamage(50);
+                writer.checkpoint();
+            }
+
+            List<Character> restored = CheckpointWriter.restore(dir, strategies);
+
+            for (int i = 0; i < 3; i++) {
+                assertThat(restored.get(i).getStats()).isEqualTo(army[i].getStats());
+            }
+            try (var files = Files.list(dir)) {
+                assertThat(files.filter(p -> p.toString().endsWith(".snapshot")).count()).isEqualTo(1L);
+            }
+        }
+
+        @Test
+        @DisplayName("A torn final segment is ignored")
+        void testTornSegment(@TempDir Path dir) throws IOException {
+            Character[] army = CharacterFactory.createBatch(CharacterType.ROGUE, 5, "R");
+            int healthAfterFirst;
+            try (CheckpointWriter writer = CheckpointWriter.start(dir, Arrays.asList(army), strategies, 100)) {
+                army[0].takeDamage(30);
+                writer.checkpoint();
+                healthAfterFirst = army[0].getStats().health();
+            }
+            Files.write(dir.resolve(CheckpointWriter.DELTAS), new byte[]{0x47, 0x43, 0x4B, 0x50, 0, 0},
+                StandardOpenOption.APPEND);
+
+            List<Character> restored = CheckpointWriter.restore(dir, strategies);
+
+            assertThat(restored.get(0).getStats().health()).isEqualTo(healthAfterFirst);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package edu.trincoll.game.persist;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.factory.StrategyRegistry;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterType;
+import edu.trincoll.game.strategy.MagicAttackStrategy;
+import edu.trincoll.game.strategy.MeleeAttackStrategy;
+import edu.trincoll.game.strategy.RangedAttackStrategy;
+import edu.trincoll.game.strategy.StandardDefenseStrategy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Roster Snapshot Tests")
+class RosterSnapshotTest {
+
+    private final StrategyRegistry strategies = StrategyRegistry.withDefaults();
+
+    @Test
+    @DisplayName("Characters round-trip with their current stats and strategies")
+    void testRoundTrip(@TempDir Path dir) throws IOException {
+        Character warrior = CharacterFactory.createWarrior("Conan");
+        Character mage = CharacterFactory.createMage("Gandalf the Grey");
+        Character archer = CharacterFactory.createArcher("Légolas");
+        warrior.takeDamage(50);
+        mage.useMana(30);
+        Path file = dir.resolve("roster.bin");
+
+        RosterSnapshot.write(file, List.of(warrior, mage, archer), strategies);
+
+        try (RosterSnapshot snapshot = RosterSnapshot.open(file, strategies)) {
+            assertThat(snapshot.size()).isEqualTo(3);
+            assertThat(snapshot.name(1)).isEqualTo("Gandalf the Grey");
+            assertThat(snapshot.name(2)).isEqualTo("Légolas");
+            assertThat(snapshot.type(2)).isEqualTo(CharacterType.ARCHER);
+            assertThat(snapshot.health(0)).isEqualTo(warrior.getStats().health());
+            assertThat(snapshot.stats(1)).isEqualTo(mage.getStats());
+            assertThat(snapshot.attackStrategyId(0)).isEqualTo("melee");
+            assertThat(snapshot.defenseStrategyId(0)).isEqualTo("heavy-armor");
+
+            Character loaded = snapshot.character(1);
+            assertThat(loaded).isEqualTo(mage);
+            assertThat(loaded.getStats()).isEqualTo(mage.getStats());
+            assertThat(loaded.getAttackStrategy().getClass()).isEqualTo(mage.getAttackStrategy().getClass());
+        }
+    }
+
+    @Test
+    @DisplayName("Large rosters are read in place")
+    void testLargeRoster(@TempDir Path dir) throws IOException {
+        Character[] army = CharacterFactory.createMixedBatch(Map.of(
+            CharacterType.WARRIOR, 50_000, CharacterType.ROGUE, 50_000), "Unit");
+        Path file = dir.resolve("army.bin");
+
+        RosterSnapshot.write(file, Arrays.asList(army), strategies);
+
+        try (RosterSnapshot snapshot = RosterSnapshot.open(file, strategies)) {
+            assertThat(snapshot.size()).isEqualTo(100_000);
+            assertThat(snapshot.name(99_999)).isEqualTo("Unit99999");
+            assertThat(snapshot.type(99_999)).isEqualTo(CharacterType.ROGUE);
+            assertThat(snapshot.character(12_345).getStats()).isEqualTo(army[12_345].getStats());
+        }
+    }
+
+    @Test
+    @DisplayName("Rewriting a snapshot leaves open readers on the old file")
+    void testRewriteWhileOpen(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("roster.bin");
+        RosterSnapshot.write(file, Arrays.asList(CharacterFactory.createBatch(CharacterType.MAGE, 1000, "Old")),
+            strategies);
+
+        try (RosterSnapshot old = RosterSnapshot.open(file, strategies)) {
+            RosterSnapshot.write(file, List.of(CharacterFactory.createWarrior("New")), strategies);
+
+            assertThat(old.size()).isEqualTo(1000);
+            assertThat(old.name(999)).isEqualTo("Old999");
+            try (RosterSnapshot current = RosterSnapshot.open(file, strategies)) {
+                assertThat(current.size()).isEqualTo(1);
+                assertThat(current.name(0)).isEqualTo("New");
+            }
+        }
+        assertThat(Files.exists(dir.resolve("roster.bin.tmp"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Strategy ids fit the snapshot format and resolve to the first registration")
+    void testStrategyIds() {
+        StrategyRegistry registry = StrategyRegistry.withDefaults();
+        registry.registerAttack("slash", new MeleeAttackStrategy());
+
+        assertThat(registry.attackIdOf(new MeleeAttackStrategy())).isEqualTo("melee");
+        registry.registerAttack("melee", new MagicAttackStrategy());
+        assertThat(registry.attackIdOf(new MeleeAttackStrategy())).isEqualTo("slash");
+        assertThat(registry.attackIdOf(new MagicAttackStrategy())).isEqualTo("magic");
+
+        registry.registerAttack("x".repeat(255), new RangedAttackStrategy());
+        assertThatThrownBy(() -> registry.registerAttack("x".repeat(256), new RangedAttackStrategy()))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> registry.registerDefense("é".repeat(128), new StandardDefenseStrategy()))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Empty rosters and bad files are handled")
+    void testEdgeCases(@TempDir Path dir) throws IOException {
+        Path empty = dir.resolve("empty.bin");
+        RosterSnapshot.write(empty, List.of(), strategies);
+        try (RosterSnapshot snapshot = RosterSnapshot.open(empty, strategies)) {
+            assertThat(snapshot.size()).isEqualTo(0);
+            assertThatThrownBy(() -> snapshot.name(0)).isInstanceOf(IndexOutOfBoundsException.class);
+        }
+
+        Path garbage = dir.resolve("garbage.bin");
+        Files.write(garbage, new byte[64]);
+        assertThatThrownBy(() -> RosterSnapshot.open(garbage, strategies))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,139 @@
+package edu.trincoll.game.replay;
+
+import edu.trincoll.game.command.AttackCommand;
+import edu.trincoll.game.command.HealCommand;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Command Journal Tests")
+class JournalTest {
+    private static final int COMMANDS = 20_000;
+
+    private Roster roster;
+    private CommandLog log;
+
+    @BeforeEach
+    void setUp() {
+        roster = new Roster();
+        CharacterType[] types = {CharacterType.WARRIOR, CharacterType.ARCHER, CharacterType.ROGUE};
+        for (int id = 0; id < 8; id++) {
+            roster.add("Fighter" + id, types[id % types.length]);
+        }
+        log = new CommandLog(roster, 50);
+        Character[] characters = roster.spawn();
+        RecordingCommandInvoker invoker = new RecordingCommandInvoker(log, characters);
+        for (int i = 0; log.size() < COMMANDS; i++) {
+            Character attacker = characters[i % 8];
+            Character target = characters[(i * 3 + 1) % 8];
+            if (attacker == target) continue;
+            if (target.getStats().health() < target.getStats().maxHealth() / 2) {
+                invoker.executeCommand(new HealCommand(target, 40));
+            } else {
+                invoker.executeCommand(new AttackCommand(attacker, target));
+            }
+            if (i % 97 == 0) invoker.undoLastCommand();
+        }
+    }
+
+    private Character[] replayPrefix(long commands) {
+        Character[] characters = roster.spawn();
+        for (int i = 0; i < commands; i++) {
+            JournalReader.apply(characters, log.op(i), log.actor(i), log.target(i), log.amount(i));
+        }
+        return characters;
+    }
+
+    @Nested
+    @DisplayName("Seeking")
+    class SeekTests {
+
+        @Test
+        @DisplayName("Seeking to any command reproduces the replayed state")
+        void testSeek(@TempDir Path dir) throws IOException {
+            Path file = dir.resolve("match.gcj");
+            JournalWriter.write(log, file, 1000);
+
+            try (JournalReader reader = JournalReader.open(file)) {
+                assertThat(reader.size()).isEqualTo(log.size());
+                assertThat(reader.segmentCount()).isEqualTo(COMMANDS / 1000 + 1);
+                assertThat(reader.getRoster().getName(3)).isEqualTo("Fighter3");
+                for (long n : new long[]{0, 1, 999, 1000, 1001, 12_345, COMMANDS}) {
+                    assertThat(Roster.stateHash(reader.seek(n)))
+                        .as("state after %d commands", n)
+                        .isEqualTo(Roster.stateHash(replayPrefix(n)));
+                }
+                assertThatThrownBy(() -> reader.seek(COMMANDS + 1))
+                    .isInstanceOf(IllegalArgumentException.class);
+            }
+        }
+
+        @Test
+        @DisplayName("A range of commands decodes with its checkpoints")
+        void testRead(@TempDir Path dir) throws IOException {
+            Path file = dir.resolve("match.gcj");
+            JournalWriter.write(log, file, 1000);
+
+            CommandLog range = new CommandLog(roster, 0);
+            try (JournalReader reader = JournalReader.open(file)) {
+                reader.read(950, 100, range);
+            }
+
+            assertThat(range.size()).isEqualTo(100);
+            for (int i = 0; i < 100; i++) {
+                assertThat(range.op(i)).isEqualTo(log.op(950 + i));
+                assertThat(range.actor(i)).isEqualTo(log.actor(950 + i));
+                assertThat(range.target(i)).isEqualTo(log.target(950 + i));
+                assertThat(range.amount(i)).isEqualTo(log.amount(950 + i));
+            }
+            // Checkpoints after commands 1000 and 1050
+            assertThat(range.checkpointCount()).isEqualTo(2);
+            assertThat(range.checkpointHash(0)).isEqualTo(Roster.stateHash(replayPrefix(1000)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Encoding")
+    class EncodingTests {
+
+        @Test
+        @DisplayName("The journal is several times smaller than the command log")
+        void testCompactness(@TempDir Path dir) throws IOException {
+            Path journal = dir.resolve("match.gcj");
+            Path plain = dir.resolve("match.gcl");
+            JournalWriter.write(log, journal, JournalWriter.DEFAULT_COMMANDS_PER_SEGMENT);
+            log.save(plain);
+
+            assertThat(Files.size(journal) * 3).isLessThan(Files.size(plain));
+        }
+
+        @Test
+        @DisplayName("Live recording through an invoker matches the log")
+        void testLiveRecording(@TempDir Path dir) throws IOException {
+            Path file = dir.resolve("live.gcj");
+            Character[] characters = roster.spawn();
+            try (JournalWriter writer = new JournalWriter(file, roster, characters, 4)) {
+                RecordingCommandInvoker invoker = new RecordingCommandInvoker(writer, characters, 0);
+                for (int i = 0; i < 10; i++) {
+                    invoker.executeCommand(new AttackCommand(characters[0], characters[1]));
+                }
+                assertThat(writer.size()).isEqualTo(10L);
+            }
+
+            try (JournalReader reader = JournalReader.open(file)) {
+                assertThat(reader.segmentCount()).isEqualTo(3);
+                assertThat(Roster.stateHash(reader.seek(10))).isEqualTo(Roster.stateHash(characters));
+            }
+        }
+    }
+}
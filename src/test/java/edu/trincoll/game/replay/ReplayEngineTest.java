@@ -0,0 +1,167 @@
+package edu.trincoll.game.replay;
+
+import edu.trincoll.game.command.AttackCommand;
+import edu.trincoll.game.command.GameCommand;
+import edu.trincoll.game.command.HealCommand;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Replay Engine Tests")
+class ReplayEngineTest {
+
+    private Roster roster;
+    private Character[] characters;
+    private RecordingCommandInvoker invoker;
+
+    @BeforeEach
+    void setUp() {
+        roster = new Roster();
+        roster.add("Conan", CharacterType.WARRIOR);
+        roster.add("Gandalf", CharacterType.MAGE);
+        roster.add("Legolas", CharacterType.ARCHER);
+        characters = roster.spawn();
+        invoker = new RecordingCommandInvoker(new CommandLog(roster, 2), characters);
+    }
+
+    private void playMatch() {
+        invoker.executeCommand(new AttackCommand(characters[0], characters[1]));
+        invoker.executeCommand(new AttackCommand(characters[1], characters[0]));
+        invoker.executeCommand(new HealCommand(characters[1], 15));
+        invoker.executeCommand(new AttackCommand(characters[2], characters[1]));
+        invoker.undoLastCommand();
+        invoker.executeCommand(new AttackCommand(characters[2], characters[0]));
+    }
+
+    @Nested
+    @DisplayName("Recording")
+    class RecordingTests {
+
+        @Test
+        @DisplayName("Executed and undone commands are recorded by roster id")
+        void testRecordsCommands() {
+            playMatch();
+            CommandLog log = invoker.getLog();
+
+            assertThat(log.size()).isEqualTo(6);
+            assertThat(log.op(0)).isEqualTo(CommandLog.ATTACK);
+            assertThat(log.actor(0)).isEqualTo(0);
+            assertThat(log.target(0)).isEqualTo(1);
+            assertThat(log.op(2)).isEqualTo(CommandLog.HEAL);
+            assertThat(log.amount(2)).isEqualTo(15);
+            assertThat(log.op(4)).isEqualTo(CommandLog.UNDO_ATTACK);
+        }
+
+        @Test
+        @DisplayName("Checkpoints are taken at the configured interval")
+        void testCheckpointInterval() {
+            playMatch();
+            CommandLog log = invoker.getLog();
+
+            assertThat(log.checkpointCount()).isEqualTo(3);
+            assertThat(log.checkpointPosition(0)).isEqualTo(2);
+            assertThat(log.checkpointHash(2)).isEqualTo(Roster.stateHash(characters));
+        }
+
+        @Test
+        @DisplayName("Commands that cannot be replayed are rejected")
+        void testRejectsUnknownCommand() {
+            GameCommand custom = new GameCommand() {
+                @Override
+                public void execute() {
+                }
+
+                @Override
+                public void undo() {
+                }
+
+                @Override
+                public String getDescription() {
+                    return "custom";
+                }
+            };
+
+            assertThatThrownBy(() -> invoker.executeCommand(custom))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThat(invoker.getCommandHistory()).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Replaying")
+    class ReplayTests {
+
+        @Test
+        @DisplayName("Replay reproduces the recorded state")
+        void testReplayMatches() {
+            playMatch();
+            Character[] replayed = roster.spawn();
+
+            ReplayResult result = new ReplayEngine().replay(invoker.getLog(), replayed);
+
+            assertThat(result.diverged()).isFalse();
+            assertThat(result.commandsReplayed()).isEqualTo(6);
+            assertThat(result.checkpointsVerified()).isEqualTo(3);
+            assertThat(Roster.stateHash(replayed)).isEqualTo(Roster.stateHash(characters));
+        }
+
+        @Test
+        @DisplayName("Replay reports the first command whose damage differs")
+        void testDamageDivergence() {
+            Character[] live = roster.spawn();
+            RecordingCommandInvoker unchecked = new RecordingCommandInvoker(new CommandLog(roster, 0), live);
+            unchecked.executeCommand(new AttackCommand(live[0], live[1]));
+            unchecked.executeCommand(new AttackCommand(live[2], live[1]));
+            CommandLog log = unchecked.getLog();
+
+            // Mage starts wounded, so the archer's second shot becomes a critical hit
+            Character[] tampered = roster.spawn();
+            tampered[1].setHealth(60);
+
+            ReplayResult result = new ReplayEngine().replay(log, tampered);
+
+            assertThat(result.diverged()).isTrue();
+            assertThat(result.divergence()).isEqualTo(ReplayResult.Divergence.DAMAGE);
+            assertThat(result.divergedAt()).isEqualTo(1);
+            assertThat(result.expected()).isEqualTo(40);
+            assertThat(result.actual()).isEqualTo(60);
+        }
+
+        @Test
+        @DisplayName("Replay reports a mismatching checkpoint")
+        void testStateHashDivergence() {
+            playMatch();
+            Character[] tampered = roster.spawn();
+            tampered[0].setHealth(100);
+
+            ReplayResult result = new ReplayEngine().replay(invoker.getLog(), tampered);
+
+            assertThat(result.divergence()).isEqualTo(ReplayResult.Divergence.STATE_HASH);
+            assertThat(result.divergedAt()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Logs survive a round trip through disk")
+        void testSaveAndLoad(@TempDir Path dir) throws Exception {
+            playMatch();
+            Path file = dir.resolve("match.gcl");
+            invoker.getLog().save(file);
+
+            CommandLog loaded = CommandLog.load(file);
+            ReplayResult result = new ReplayEngine().replay(loaded);
+
+            assertThat(loaded.getRoster().getName(1)).isEqualTo("Gandalf");
+            assertThat(loaded.getRoster().getType(2)).isEqualTo(CharacterType.ARCHER);
+            assertThat(result.diverged()).isFalse();
+            assertThat(result.commandsReplayed()).isEqualTo(6);
+        }
+    }
+}
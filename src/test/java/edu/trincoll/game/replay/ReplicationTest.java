@@ -0,0 +1,181 @@
+package edu.trincoll.game.replay;
+
+import edu.trincoll.game.command.AttackCommand;
+import edu.trincoll.game.command.HealCommand;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Replication Tests")
+class ReplicationTest {
+
+    private Roster roster;
+    private Character[] characters;
+    private ReplicationPrimary primary;
+    private RecordingCommandInvoker invoker;
+    private int played;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        roster = new Roster();
+        CharacterType[] types = {CharacterType.WARRIOR, CharacterType.ARCHER, CharacterType.ROGUE};
+        for (int id = 0; id < 6; id++) {
+            roster.add("Fighter" + id, types[id % types.length]);
+        }
+        characters = roster.spawn();
+        primary = new ReplicationPrimary(roster, characters,
+            new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 64);
+        invoker = new RecordingCommandInvoker(primary, characters, 25);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        primary.close();
+    }
+
+    private void play(int commands) {
+        for (int i = 0; i < commands; i++, played++) {
+            Character attacker = characters[played % 6];
+            Character target = characters[(played + 1 + played / 6 % 5) % 6];
+            if (target.getStats().health() < target.getStats().maxHealth() / 2) {
+                invoker.executeCommand(new HealCommand(target, 30));
+            } else {
+                invoker.executeCommand(new AttackCommand(attacker, target));
+            }
+            if (i % 10 == 9) primary.flush();
+        }
+        primary.flush();
+    }
+
+    private void awaitReplicas(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (primary.replicaCount() < count) {
+            assertThat(System.nanoTime()).as("replicas joined in time").isLessThan(deadline);
+            primary.flush();
+            Thread.sleep(5);
+        }
+    }
+
+    @Nested
+    @DisplayName("In Process")
+    class InProcessTests {
+
+        @Test
+        @DisplayName("A replica mirrors the primary and acknowledges every batch")
+        void testReplicaMirrorsPrimary() throws Exception {
+            try (ReplicaNode replica = ReplicaNode.connect(primary.getAddress())) {
+                awaitReplicas(1);
+                play(5000);
+
+                assertThat(replica.awaitSequence(5000, 10, TimeUnit.SECONDS)).isTrue();
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+                while (primary.lag() > 0 && System.nanoTime() < deadline) {
+                    Thread.sleep(5);
+                }
+                assertThat(primary.lag()).isZero();
+                assertThat(primary.ackLatencies().count()).isPositive();
+                assertThat(replica.isDiverged()).isFalse();
+
+                Character[] promoted = replica.promote();
+                assertThat(Roster.stateHash(promoted)).isEqualTo(Roster.stateHash(characters));
+            }
+        }
+
+        @Test
+        @DisplayName("A late replica starts from a snapshot, not from the beginning")
+        void testLateJoin() throws Exception {
+            play(1000);
+            try (ReplicaNode replica = ReplicaNode.connect(primary.getAddress())) {
+                awaitReplicas(1);
+                play(500);
+
+                assertThat(replica.awaitSequence(1500, 10, TimeUnit.SECONDS)).isTrue();
+                assertThat(Roster.stateHash(replica.promote())).isEqualTo(Roster.stateHash(characters));
+            }
+        }
+
+        @Test
+        @DisplayName("A replica that stops reading is dropped without stalling the game thread")
+        void testStalledReplica() throws Exception {
+            try (ReplicaNode replica = ReplicaNode.connect(primary.getAddress());
+                 Socket stalled = new Socket()) {
+                stalled.setReceiveBufferSize(4096);
+                stalled.connect(primary.getAddress());
+                awaitReplicas(2);
+
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+                while (primary.replicaCount() > 1) {
+                    assertThat(System.nanoTime()).as("stalled replica dropped in time").isLessThan(deadline);
+                    play(1000);
+                    // Pace the game to the healthy replica, so only the stalled one falls behind
+                    assertThat(replica.awaitSequence(played, 10, TimeUnit.SECONDS)).isTrue();
+                }
+
+                assertThat(primary.replicaCount()).isEqualTo(1);
+                play(1000);
+                assertThat(replica.awaitSequence(played, 10, TimeUnit.SECONDS)).isTrue();
+                assertThat(Roster.stateHash(replica.promote())).isEqualTo(Roster.stateHash(characters));
+            }
+        }
+
+        @Test
+        @DisplayName("A checkpoint mismatch stops the replica")
+        void testDivergence() throws Exception {
+            try (ReplicaNode replica = ReplicaNode.connect(primary.getAddress())) {
+                awaitReplicas(1);
+                play(10);
+                primary.addCheckpoint(42L);
+                play(10);
+
+                assertThat(replica.awaitSequence(20, 2, TimeUnit.SECONDS)).isFalse();
+                assertThat(replica.isDiverged()).isTrue();
+                assertThat(replica.appliedSequence()).isEqualTo(10L);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Two Processes")
+    class ProcessTests {
+
+        @Test
+        @DisplayName("A replica process reaches the primary's state")
+        void testReplicaProcess() throws Exception {
+            InetSocketAddress address = primary.getAddress();
+            Process process = new ProcessBuilder(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"), ReplicaNode.class.getName(),
+                address.getHostString(), String.valueOf(address.getPort()), "3000")
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+            try {
+                awaitReplicas(1);
+                play(3000);
+
+                BufferedReader out = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+                String line = out.readLine();
+                assertThat(process.waitFor(30, TimeUnit.SECONDS)).isTrue();
+                assertThat(line).isEqualTo("REPLICA 3000 " + Roster.stateHash(characters));
+            } finally {
+                process.destroyForcibly();
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package edu.trincoll.game.telemetry;
+
+import edu.trincoll.game.command.AttackCommand;
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterType;
+import edu.trincoll.game.template.BattleLoop;
+import edu.trincoll.game.template.ObservedSequence;
+import edu.trincoll.game.template.StandardBattleSequence;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Telemetry Tests")
+class TelemetryTest {
+
+    @Nested
+    @DisplayName("Column Format")
+    class FormatTests {
+
+        @Test
+        @DisplayName("Rows round-trip across several chunks")
+        void testRoundTrip(@TempDir Path dir) throws IOException {
+            Path file = dir.resolve("battle.gtlm");
+            CharacterType[] types = CharacterType.values();
+            try (TelemetryWriter writer = new TelemetryWriter(file, 1000)) {
+                for (int i = 0; i < 2500; i++) {
+                    writer.record(types[i % types.length], types[(i / 7) % types.length],
+                        i % 50, -i, i % 3 == 0 ? 15 : 0, i % 100 == 0 ? 4 : 0);
+                }
+            }
+
+            try (TelemetryReader reader = TelemetryReader.open(file)) {
+                assertThat(reader.rowCount()).isEqualTo(2500L);
+                assertThat(reader.chunkCount()).isEqualTo(3);
+
+                List<Integer> overkill = new ArrayList<>();
+                reader.scanInts(TelemetryColumn.OVERKILL, overkill::add);
+                assertThat(overkill).hasSize(2500);
+                assertThat(overkill.get(1234)).isEqualTo(-1234);
+
+                List<CharacterType> defenders = new ArrayList<>();
+                reader.scanTypes(TelemetryColumn.DEFENDER_TYPE, defenders::add);
+                assertThat(defenders.get(71)).isEqualTo(types[10 % types.length]);
+
+                long[] attackers = reader.countByType(TelemetryColumn.ATTACKER_TYPE);
+                assertThat(attackers[0]).isEqualTo(2500L / types.length + (2500 % types.length > 0 ? 1 : 0));
+                assertThat(reader.sum(TelemetryColumn.TURNS_TO_KILL)).isEqualTo(25L * 4);
+            }
+        }
+
+        @Test
+        @DisplayName("Repetitive columns compress far below row size")
+        void testCompression(@TempDir Path dir) throws IOException {
+            Path file = dir.resolve("battle.gtlm");
+            int rows = 100_000;
+            try (TelemetryWriter writer = new TelemetryWriter(file)) {
+                for (int i = 0; i < rows; i++) {
+                    writer.record(CharacterType.WARRIOR, CharacterType.MAGE, 40, 0, 0, 0);
+                }
+            }
+
+            assertThat(Files.size(file)).isLessThan(rows / 10L);
+        }
+
+        @Test
+        @DisplayName("Scanning the wrong kind of column is rejected")
+        void testColumnKindChecked(@TempDir Path dir) throws IOException {
+            Path file = dir.resolve("empty.gtlm");
+            new TelemetryWriter(file).close();
+
+            try (TelemetryReader reader = TelemetryReader.open(file)) {
+                assertThat(reader.rowCount()).isZero();
+                assertThatThrownBy(() -> reader.sum(TelemetryColumn.ATTACKER_TYPE))
+                    .isInstanceOf(IllegalArgumentException.class);
+                assertThatThrownBy(() -> reader.countByType(TelemetryColumn.DAMAGE))
+                    .isInstanceOf(IllegalArgumentException.class);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Recording")
+    class RecordingTests {
+
+        @Test
+        @DisplayName("Attack commands record damage, overkill and turns to kill")
+        void testCommandTelemetry(@TempDir Path dir) throws IOException {
+            Path file = dir.resolve("commands.gtlm");
+            Character mage = CharacterFactory.createMage("Gandalf");
+            Character archer = CharacterFactory.createArcher("Legolas");
+            int hits = 0;
+            try (TelemetryWriter writer = new TelemetryWriter(file)) {
+                TelemetryCommandInvoker invoker = new TelemetryCommandInvoker(writer);
+                while (archer.isAlive()) {
+                    invoker.executeCommand(new AttackCommand(mage, archer));
+                    hits++;
+                }
+            }
+
+            try (TelemetryReader reader = TelemetryReader.open(file)) {
+                assertThat(reader.rowCount()).isEqualTo(hits);
+                assertThat(reader.sum(TelemetryColumn.DAMAGE)).isEqualTo(archer.getStats().maxHealth());
+                assertThat(reader.sum(TelemetryColumn.OVERKILL))
+                    .isEqualTo(archer.getDamageTaken() - archer.getStats().maxHealth());
+                assertThat(reader.sum(TelemetryColumn.TURNS_TO_KILL)).isEqualTo(hits);
+                assertThat(reader.sum(TelemetryColumn.MANA_USED))
+                    .isEqualTo(mage.getStats().maxMana() - mage.getStats().mana());
+                assertThat(reader.countByType(TelemetryColumn.ATTACKER_TYPE)[CharacterType.MAGE.ordinal()])
+                    .isEqualTo(hits);
+            }
+        }
+
+        @Test
+        @DisplayName("Ending a battle drops the hit counts of survivors")
+        void testEndBattle(@TempDir Path dir) throws IOException {
+            Path file = dir.resolve("battles.gtlm");
+            Character mage = CharacterFactory.createMage("Gandalf");
+            Character archer = CharacterFactory.createArcher("Legolas");
+            int hits = 0;
+            try (TelemetryWriter writer = new TelemetryWriter(file)) {
+                TelemetryCommandInvoker invoker = new TelemetryCommandInvoker(writer);
+                invoker.executeCommand(new AttackCommand(mage, archer));
+                writer.endBattle();
+                while (archer.isAlive()) {
+                    invoker.executeCommand(new AttackCommand(mage, archer));
+                    hits++;
+                }
+            }
+
+            try (TelemetryReader reader = TelemetryReader.open(file)) {
+                assertThat(reader.rowCount()).isEqualTo(hits + 1);
+                assertThat(reader.sum(TelemetryColumn.TURNS_TO_KILL)).isEqualTo(hits);
+            }
+        }
+
+        @Test
+        @DisplayName("Observed battle sequences record one row per turn")
+        void testSequenceTelemetry(@TempDir Path dir) throws IOException {
+            Path file = dir.resolve("battle.gtlm");
+            BattleLoop.Report report;
+            try (TelemetryWriter writer = new TelemetryWriter(file)) {
+                BattleLoop loop = new BattleLoop(ObservedSequence.observing(StandardBattleSequence::new, writer));
+                loop.addCombatant(CharacterFactory.createWarrior("Conan"), 0);
+                loop.addCombatant(CharacterFactory.createRogue("Shadow"), 1);
+                report = loop.run(1_000_000);
+            }
+
+            try (TelemetryReader reader = TelemetryReader.open(file)) {
+                assertThat(reader.rowCount()).isEqualTo(report.turns());
+                long[] kills = {0};
+                reader.scanInts(TelemetryColumn.TURNS_TO_KILL, turns -> {
+                    if (turns > 0) kills[0]++;
+                });
+                assertThat(kills[0]).isEqualTo(1L);
+            }
+        }
+    }
+}
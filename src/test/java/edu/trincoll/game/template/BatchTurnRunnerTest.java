@@ -0,0 +1,82 @@
+package edu.trincoll.game.template;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Batch Turn Runner Tests")
+class BatchTurnRunnerTest {
+
+    private static Character[] createArmy(int size) {
+        CharacterType[] types = CharacterType.values();
+        Character[] army = new Character[size];
+        for (int i = 0; i < size; i++) {
+            army[i] = CharacterFactory.createCharacter("Unit" + i, types[i % types.length]);
+        }
+        return army;
+    }
+
+    /**
+     * Mixed sequences where many characters appear in several battles.
+     */
+    private static List<BattleSequence> createSequences(Character[] army) {
+        List<BattleSequence> sequences = new ArrayList<>();
+        for (int i = 0; i < army.length; i++) {
+            Character attacker = army[i];
+            Character defender = army[(i * 7 + 3) % army.length];
+            if (attacker == defender) continue;
+            sequences.add(i % 3 == 0
+                ? new PowerAttackSequence(attacker, defender)
+                : new StandardBattleSequence(attacker, defender));
+        }
+        return sequences;
+    }
+
+    @Test
+    @DisplayName("Batched turns match executing each sequence individually")
+    void testMatchesIndividualExecution() {
+        Character[] expected = createArmy(200);
+        Character[] actual = createArmy(200);
+
+        for (int round = 0; round < 3; round++) {
+            for (BattleSequence sequence : createSequences(expected)) {
+                sequence.executeTurn();
+            }
+            new BatchTurnRunner().executeTurns(createSequences(actual));
+        }
+
+        for (int i = 0; i < expected.length; i++) {
+            assertThat(actual[i].getStats()).isEqualTo(expected[i].getStats());
+        }
+    }
+
+    @Test
+    @DisplayName("Battles sharing a character run in list order")
+    void testSharedCharacterOrdering() {
+        Character archer = CharacterFactory.createArcher("Archer");
+        Character target = CharacterFactory.createWarrior("Target");
+        target.setHealth(50);
+        Character other = CharacterFactory.createWarrior("Other");
+
+        // First hit leaves target below 30%, so the archer's shot should crit
+        new BatchTurnRunner().executeTurns(List.of(
+            new StandardBattleSequence(other, target),
+            new StandardBattleSequence(archer, target)));
+
+        assertThat(target.getStats().health()).isEqualTo(50 - 18 - 30);
+    }
+
+    @Test
+    @DisplayName("Empty batch is a no-op")
+    void testEmptyBatch() {
+        assertThatCode(() -> new BatchTurnRunner().executeTurns(List.of()))
+            .doesNotThrowAnyException();
+    }
+}
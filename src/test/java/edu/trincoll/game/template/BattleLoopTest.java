@@ -0,0 +1,157 @@
+package edu.trincoll.game.template;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Battle Loop Tests")
+class BattleLoopTest {
+
+    @Nested
+    @DisplayName("Timing Wheel")
+    class TimingWheelTests {
+
+        @Test
+        @DisplayName("Ids fire exactly at their deadline, across all levels")
+        void testFiresAtDeadline() {
+            TimingWheel wheel = new TimingWheel(4);
+            long[] deadlines = {1, 63, 64, 4_095, 4_097, 300_000};
+            for (int id = 0; id < deadlines.length; id++) {
+                wheel.schedule(id, deadlines[id]);
+            }
+            long[] firedAt = new long[deadlines.length];
+
+            while (wheel.size() > 0) {
+                wheel.advance(id -> firedAt[id] = wheel.now());
+            }
+
+            assertThat(firedAt).isEqualTo(deadlines);
+        }
+
+        @Test
+        @DisplayName("Ids due on the same tick fire in scheduling order")
+        void testSameTickOrder() {
+            TimingWheel wheel = new TimingWheel();
+            wheel.schedule(3, 10);
+            wheel.schedule(1, 10);
+            wheel.schedule(2, 10);
+            List<Integer> fired = new ArrayList<>();
+
+            for (int i = 0; i < 10; i++) {
+                wheel.advance(fired::add);
+            }
+
+            assertThat(fired).containsExactly(3, 1, 2);
+        }
+
+        @Test
+        @DisplayName("Cancelled and rescheduled ids do not fire at their old deadline")
+        void testCancelAndReschedule() {
+            TimingWheel wheel = new TimingWheel();
+            wheel.schedule(0, 5);
+            wheel.schedule(1, 5);
+            wheel.cancel(0);
+            wheel.schedule(1, 200);
+            List<Long> fired = new ArrayList<>();
+
+            while (wheel.now() < 300) {
+                wheel.advance(id -> fired.add(wheel.now()));
+            }
+
+            assertThat(fired).containsExactly(200L);
+            assertThat(wheel.isScheduled(1)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Deadlines beyond the wheel's span still fire on time")
+        void testFarFutureDeadline() {
+            TimingWheel wheel = new TimingWheel();
+            long deadline = (1L << 24) + 12_345;
+            wheel.schedule(0, deadline);
+            long[] firedAt = {-1};
+
+            while (wheel.size() > 0) {
+                wheel.advance(id -> firedAt[0] = wheel.now());
+            }
+
+            assertThat(firedAt[0]).isEqualTo(deadline);
+        }
+    }
+
+    @Nested
+    @DisplayName("Battle Loop")
+    class BattleLoopTests {
+
+        @Test
+        @DisplayName("Battle ends when one side is all dead")
+        void testBattleEndsWithWinner() {
+            BattleLoop loop = new BattleLoop(StandardBattleSequence::new);
+            Character warrior = CharacterFactory.createWarrior("Conan");
+            Character rogue = CharacterFactory.createRogue("Shade");
+            loop.addCombatant(warrior, 0);
+            loop.addCombatant(rogue, 1);
+
+            BattleLoop.Report report = loop.run(1_000_000);
+
+            assertThat(report.isDraw()).isFalse();
+            assertThat(report.winningTeam()).isEqualTo(0);
+            assertThat(rogue.isDead()).isTrue();
+            assertThat(warrior.isAlive()).isTrue();
+            assertThat(report.turns()).isGreaterThan(0L);
+        }
+
+        @Test
+        @DisplayName("Faster combatants take more turns")
+        void testSpeedOrdersTurns() {
+            List<String> order = new ArrayList<>();
+            BattleLoop loop = new BattleLoop((attacker, defender) -> new BattleSequence(attacker, defender) {
+                @Override
+                protected void performAttack() {
+                    order.add(attacker.getName());
+                }
+            });
+            loop.addCombatant(CharacterFactory.createWarrior("Slow"), 0, 5);
+            loop.addCombatant(CharacterFactory.createWarrior("Fast"), 1, 20);
+
+            BattleLoop.Report report = loop.run(200);
+
+            assertThat(report.isDraw()).isTrue();
+            assertThat(order).containsExactly("Fast", "Fast", "Fast", "Slow", "Fast");
+        }
+
+        @Test
+        @DisplayName("Large battles on the timing wheel produce a winner")
+        void testLargeBattle() {
+            BattleLoop loop = new BattleLoop(StandardBattleSequence::new);
+            List<Character> red = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                red.add(CharacterFactory.createWarrior("Red" + i));
+                loop.addCombatant(red.get(i), 0, 10);
+                loop.addCombatant(CharacterFactory.createRogue("Blue" + i), 1, 10);
+            }
+
+            BattleLoop.Report report = loop.run(10_000_000);
+
+            assertThat(report.winningTeam()).isEqualTo(0);
+            assertThat(red.stream().anyMatch(Character::isAlive)).isTrue();
+            assertThat(report.ticksPerSecond()).isGreaterThan(0.0);
+        }
+
+        @Test
+        @DisplayName("A battle needs two teams")
+        void testRequiresTwoTeams() {
+            BattleLoop loop = new BattleLoop(StandardBattleSequence::new);
+            loop.addCombatant(CharacterFactory.createWarrior("Alone"), 0);
+
+            assertThatThrownBy(() -> loop.run(100))
+                .isInstanceOf(IllegalStateException.class);
+        }
+    }
+}
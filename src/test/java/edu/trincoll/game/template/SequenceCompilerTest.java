@@ -0,0 +1,98 @@
+package edu.trincoll.game.template;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Sequence Compiler Tests")
+class SequenceCompilerTest {
+
+    /**
+     * Records every step it runs, overriding begin and end only.
+     */
+    static class TracingSequence extends BattleSequence {
+        final List<String> steps = new ArrayList<>();
+
+        TracingSequence(Character attacker, Character defender) {
+            super(attacker, defender);
+        }
+
+        @Override
+        protected void beginTurn() {
+            steps.add("begin");
+        }
+
+        @Override
+        protected void performAttack() {
+            steps.add("attack");
+        }
+
+        @Override
+        protected void endTurn() {
+            steps.add("end");
+        }
+    }
+
+    static class SubTracingSequence extends TracingSequence {
+        SubTracingSequence(Character attacker, Character defender) {
+            super(attacker, defender);
+        }
+
+        @Override
+        protected void postAttackAction() {
+            steps.add("post");
+        }
+    }
+
+    @Test
+    @DisplayName("Only overridden hooks are detected, including inherited overrides")
+    void testOverriddenHooks() {
+        assertThat(SequenceCompiler.overriddenHooks(StandardBattleSequence.class)).isEqualTo(0);
+        assertThat(SequenceCompiler.overriddenHooks(PowerAttackSequence.class))
+            .isEqualTo(SequenceCompiler.PRE_ATTACK | SequenceCompiler.POST_ATTACK);
+        assertThat(SequenceCompiler.overriddenHooks(SubTracingSequence.class))
+            .isEqualTo(SequenceCompiler.BEGIN_TURN | SequenceCompiler.POST_ATTACK | SequenceCompiler.END_TURN);
+    }
+
+    @Test
+    @DisplayName("Compiled turns have the same effect as executeTurn")
+    void testMatchesExecuteTurn() {
+        Character expectedAttacker = CharacterFactory.createWarrior("Conan");
+        Character expectedDefender = CharacterFactory.createRogue("Shade");
+        Character actualAttacker = CharacterFactory.createWarrior("Conan");
+        Character actualDefender = CharacterFactory.createRogue("Shade");
+
+        new PowerAttackSequence(expectedAttacker, expectedDefender).executeTurn();
+        new StandardBattleSequence(expectedAttacker, expectedDefender).executeTurn();
+        SequenceCompiler.compile(new PowerAttackSequence(actualAttacker, actualDefender)).run();
+        SequenceCompiler.compile(new StandardBattleSequence(actualAttacker, actualDefender)).run();
+
+        assertThat(actualAttacker.getStats()).isEqualTo(expectedAttacker.getStats());
+        assertThat(actualDefender.getStats()).isEqualTo(expectedDefender.getStats());
+    }
+
+    @Test
+    @DisplayName("Fused turns keep template order")
+    void testFusedOrder() {
+        Character a = CharacterFactory.createWarrior("A");
+        Character b = CharacterFactory.createWarrior("B");
+        SubTracingSequence sequence = new SubTracingSequence(a, b);
+
+        SequenceCompiler.compile(sequence).run();
+
+        assertThat(sequence.steps).containsExactly("begin", "attack", "post", "end");
+    }
+
+    @Test
+    @DisplayName("Null sequences are rejected")
+    void testNull() {
+        assertThatThrownBy(() -> SequenceCompiler.compile(null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,159 @@
+package edu.trincoll.game.template;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterStats;
+import edu.trincoll.game.model.CharacterType;
+import edu.trincoll.game.strategy.MeleeAttackStrategy;
+import edu.trincoll.game.strategy.StandardDefenseStrategy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Sequence DSL Tests")
+class SequenceDefinitionTest {
+
+    @Nested
+    @DisplayName("Parsing")
+    class ParsingTests {
+
+        @Test
+        @DisplayName("Text definitions produce the same steps as the builder")
+        void testParseMatchesBuilder() {
+            SequenceDefinition parsed = SequenceDefinition.parse("Berserker", """
+                # Charge in, hit twice, pay for it
+                charge, double strike
+                recoil 10%
+                heal 5%
+                """);
+            SequenceDefinition built = SequenceDefinition.builder("Berserker")
+                .charge(25).strike(2).recoil(10).heal(5)
+                .build();
+
+            assertThat(parsed.getSteps()).isEqualTo(built.getSteps());
+        }
+
+        @Test
+        @DisplayName("Errors report the offending line")
+        void testParseError() {
+            assertThatThrownBy(() -> SequenceDefinition.parse("Bad", "strike\ncharge lots"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Line 2");
+        }
+
+        @Test
+        @DisplayName("A sequence without a strike is rejected")
+        void testNeedsStrike() {
+            assertThatThrownBy(() -> SequenceDefinition.parse("Coward", "heal 20%"))
+                .isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Compilation")
+    class CompilationTests {
+
+        @Test
+        @DisplayName("Charges fold into strikes and adjacent steps merge")
+        void testFolding() {
+            SequenceProgram program = SequenceDefinition.builder("Folded")
+                .charge(10).charge(15).strike().strike()
+                .recoil(5).recoil(5).heal(0)
+                .build()
+                .compile();
+
+            assertThat(program.length()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Folding rounds each percentage like the unfolded steps")
+        void testFoldingKeepsRounding() {
+            String[] definitions = {
+                "charge 10%, charge 15%, strike",
+                "strike, recoil 10%, recoil 10%",
+                "charge 10%, charge 15%, double strike, strike, recoil 7%, recoil 7%, heal 3%, heal 3%",
+                "charge 33%, strike, charge 33%, strike, heal 11%, heal 11%, heal 11%"
+            };
+            for (String text : definitions) {
+                SequenceDefinition definition = SequenceDefinition.parse("Odd", text);
+                SequenceProgram folded = SequenceProgram.compile(definition, true);
+                SequenceProgram unfolded = SequenceProgram.compile(definition, false);
+                assertThat(folded.length()).isLessThanOrEqualTo(unfolded.length());
+
+                Character foldedAttacker = oddCharacter();
+                Character foldedDefender = CharacterFactory.createWarrior("D");
+                Character unfoldedAttacker = oddCharacter();
+                Character unfoldedDefender = CharacterFactory.createWarrior("D");
+                folded.newSequence(foldedAttacker, foldedDefender).executeTurn();
+                unfolded.newSequence(unfoldedAttacker, unfoldedDefender).executeTurn();
+
+                assertThat(foldedAttacker.getStats()).as(text).isEqualTo(unfoldedAttacker.getStats());
+                assertThat(foldedDefender.getStats()).as(text).isEqualTo(unfoldedDefender.getStats());
+            }
+
+            // 45 * 10% + 45 * 15% rounds to 4 + 6, not 45 * 25% = 11
+            Character defender = CharacterFactory.createWarrior("D");
+            SequenceDefinition.parse("Charged", "charge 10%, charge 15%, strike").compile()
+                .newSequence(oddCharacter(), defender).executeTurn();
+            Character expected = CharacterFactory.createWarrior("D");
+            expected.takeDamage(oddCharacter().attack(expected) + 10);
+            assertThat(defender.getStats()).isEqualTo(expected.getStats());
+
+            // Two 10% recoils at max health 95 cost 9 + 9, not 19
+            Character attacker = oddCharacter();
+            SequenceDefinition.parse("Recoil", "strike, recoil 10%, recoil 10%").compile()
+                .newSequence(attacker, CharacterFactory.createWarrior("D")).executeTurn();
+            assertThat(attacker.getStats().health()).isEqualTo(95 - 18);
+        }
+
+        private Character oddCharacter() {
+            return new Character("Odd", CharacterType.WARRIOR, new CharacterStats(95, 95, 45, 10, 0, 0),
+                new MeleeAttackStrategy(), new StandardDefenseStrategy());
+        }
+
+        @Test
+        @DisplayName("A DSL power attack matches PowerAttackSequence for every type")
+        void testMatchesPowerAttack() {
+            SequenceProgram program = SequenceDefinition
+                .parse("Power Attack", "charge 25%, strike, recoil 10%")
+                .compile();
+
+            for (CharacterType attackerType : CharacterType.values()) {
+                for (CharacterType defenderType : CharacterType.values()) {
+                    Character expectedAttacker = CharacterFactory.createCharacter("A", attackerType);
+                    Character expectedDefender = CharacterFactory.createCharacter("D", defenderType);
+                    Character actualAttacker = CharacterFactory.createCharacter("A", attackerType);
+                    Character actualDefender = CharacterFactory.createCharacter("D", defenderType);
+
+                    new PowerAttackSequence(expectedAttacker, expectedDefender).executeTurn();
+                    program.newSequence(actualAttacker, actualDefender).executeTurn();
+
+                    assertThat(actualAttacker.getStats()).isEqualTo(expectedAttacker.getStats());
+                    assertThat(actualDefender.getStats()).isEqualTo(expectedDefender.getStats());
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Compiled sequences work with pools and the sequence compiler")
+        void testPooledProgram() {
+            SequenceProgram program = SequenceDefinition.parse("Flurry", "triple strike, heal 10%").compile();
+            SequencePool<SequenceProgram.Sequence> pool = new SequencePool<>(program::newSequence);
+            Character attacker = CharacterFactory.createWarrior("Conan");
+            Character defender = CharacterFactory.createWarrior("Dummy");
+            Character expected = CharacterFactory.createWarrior("Dummy");
+            for (int i = 0; i < 3; i++) {
+                new StandardBattleSequence(attacker, expected).executeTurn();
+            }
+
+            SequenceProgram.Sequence sequence = pool.acquire(attacker, defender);
+            SequenceCompiler.compile(sequence).run();
+            pool.release(sequence);
+
+            assertThat(defender.getStats()).isEqualTo(expected.getStats());
+            assertThat(SequenceCompiler.overriddenHooks(SequenceProgram.Sequence.class)).isEqualTo(0);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package edu.trincoll.game.template;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Sequence Pool Tests")
+class SequencePoolTest {
+
+    @Test
+    @DisplayName("Released sequences are reused for later turns")
+    void testReuse() {
+        SequencePool<StandardBattleSequence> pool = new SequencePool<>(StandardBattleSequence::new);
+        Character attacker = CharacterFactory.createWarrior("Conan");
+        Character defender = CharacterFactory.createWarrior("Dummy");
+
+        StandardBattleSequence first = pool.acquire(attacker, defender);
+        pool.release(first);
+        for (int i = 0; i < 1000; i++) {
+            StandardBattleSequence sequence = pool.acquire(attacker, defender);
+            assertThat(sequence).isSameAs(first);
+            sequence.executeTurn();
+            pool.release(sequence);
+        }
+
+        assertThat(pool.createdCount()).isEqualTo(1L);
+        assertThat(pool.idleCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Rebound sequences behave like freshly constructed ones")
+    void testRebindMatchesNew() {
+        Character expectedAttacker = CharacterFactory.createWarrior("Conan");
+        Character expectedDefender = CharacterFactory.createMage("Gandalf");
+        Character actualAttacker = CharacterFactory.createWarrior("Conan");
+        Character actualDefender = CharacterFactory.createMage("Gandalf");
+        SequencePool<PowerAttackSequence> pool = new SequencePool<>(PowerAttackSequence::new);
+
+        for (int turn = 0; turn < 3; turn++) {
+            new PowerAttackSequence(expectedAttacker, expectedDefender).executeTurn();
+            PowerAttackSequence sequence = pool.acquire(actualAttacker, actualDefender);
+            sequence.executeTurn();
+            pool.release(sequence);
+        }
+
+        assertThat(actualAttacker.getStats()).isEqualTo(expectedAttacker.getStats());
+        assertThat(actualDefender.getStats()).isEqualTo(expectedDefender.getStats());
+    }
+
+    @Test
+    @DisplayName("Released sequences drop their characters")
+    void testReleaseUnbinds() {
+        SequencePool<StandardBattleSequence> pool = new SequencePool<>(StandardBattleSequence::new);
+        StandardBattleSequence sequence = pool.acquire(
+            CharacterFactory.createWarrior("A"), CharacterFactory.createWarrior("B"));
+
+        pool.release(sequence);
+
+        assertThat(sequence.getAttacker()).isNull();
+        assertThat(sequence.getDefender()).isNull();
+        assertThatThrownBy(sequence::executeTurn).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("The pool keeps at most maxIdle sequences")
+    void testMaxIdle() {
+        SequencePool<StandardBattleSequence> pool = new SequencePool<>(StandardBattleSequence::new, 2);
+        Character a = CharacterFactory.createWarrior("A");
+        Character b = CharacterFactory.createWarrior("B");
+        StandardBattleSequence s1 = pool.acquire(a, b);
+        StandardBattleSequence s2 = pool.acquire(a, b);
+        StandardBattleSequence s3 = pool.acquire(a, b);
+
+        pool.release(s1);
+        pool.release(s2);
+        pool.release(s3);
+
+        assertThat(pool.idleCount()).isEqualTo(2);
+        assertThat(pool.createdCount()).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("Binding to a null character is rejected")
+    void testBindNull() {
+        assertThatThrownBy(() -> new StandardBattleSequence().bind(null, CharacterFactory.createWarrior("B")))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Releasing a sequence twice is rejected")
+    void testDoubleRelease() {
+        SequencePool<StandardBattleSequence> pool = new SequencePool<>(StandardBattleSequence::new);
+        StandardBattleSequence sequence = pool.acquire(
+            CharacterFactory.createWarrior("W"), CharacterFactory.createArcher("A"));
+        pool.release(sequence);
+
+        assertThatThrownBy(() -> pool.release(sequence))
+            .isInstanceOf(IllegalStateException.class);
+        assertThat(pool.idleCount()).isEqualTo(1);
+
+        StandardBattleSequence again = pool.acquire(
+            CharacterFactory.createWarrior("W2"), CharacterFactory.createArcher("A2"));
+        pool.release(again);
+        assertThat(pool.idleCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("A pooled battle loop matches one that creates sequences")
+    void testBattleLoopWithPool() {
+        SequencePool<PowerAttackSequence> pool = new SequencePool<>(PowerAttackSequence::new);
+        BattleLoop pooled = new BattleLoop(pool);
+        BattleLoop fresh = new BattleLoop(PowerAttackSequence::new);
+        Character[] pooledSide = new Character[20];
+        Character[] freshSide = new Character[20];
+        for (int i = 0; i < 10; i++) {
+            pooledSide[2 * i] = CharacterFactory.createWarrior("W" + i);
+            pooledSide[2 * i + 1] = CharacterFactory.createArcher("A" + i);
+            freshSide[2 * i] = CharacterFactory.createWarrior("W" + i);
+            freshSide[2 * i + 1] = CharacterFactory.createArcher("A" + i);
+            pooled.addCombatant(pooledSide[2 * i], 0);
+            pooled.addCombatant(pooledSide[2 * i + 1], 1);
+            fresh.addCombatant(freshSide[2 * i], 0);
+            fresh.addCombatant(freshSide[2 * i + 1], 1);
+        }
+
+        BattleLoop.Report pooledReport = pooled.run(1_000_000);
+        BattleLoop.Report freshReport = fresh.run(1_000_000);
+
+        assertThat(pooledReport.winningTeam()).isEqualTo(freshReport.winningTeam());
+        assertThat(pooledReport.turns()).isEqualTo(freshReport.turns());
+        for (int i = 0; i < pooledSide.length; i++) {
+            assertThat(pooledSide[i].getStats()).isEqualTo(freshSide[i].getStats());
+        }
+        assertThat(pool.createdCount()).isEqualTo(1L);
+    }
+}
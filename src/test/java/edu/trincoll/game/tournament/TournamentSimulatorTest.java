@@ -0,0 +1,107 @@
+package edu.trincoll.game.tournament;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterStats;
+import edu.trincoll.game.model.CharacterType;
+import edu.trincoll.game.strategy.MeleeAttackStrategy;
+import edu.trincoll.game.strategy.StandardDefenseStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Tournament Simulator Tests")
+class TournamentSimulatorTest {
+
+    private ForkJoinPool pool;
+    private TournamentSimulator simulator;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+        simulator = new TournamentSimulator(pool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("Round robin covers every CharacterType pairing")
+    void testRoundRobinAllTypes() {
+        WinRateMatrix matrix = simulator.roundRobin(500, 42L);
+        int n = CharacterType.values().length;
+
+        assertThat(matrix.size()).isEqualTo(n);
+        for (int row = 0; row < n; row++) {
+            for (int column = 0; column < n; column++) {
+                assertThat(matrix.battles(row, column)).isEqualTo(500L);
+                if (row != column) {
+                    assertThat(matrix.wins(row, column) + matrix.wins(column, row) + matrix.draws(row, column))
+                        .isEqualTo(500L);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Results do not depend on the number of threads")
+    void testDeterministicAcrossPools() {
+        WinRateMatrix parallel = simulator.roundRobin(3_000, 7L);
+        ForkJoinPool single = new ForkJoinPool(1);
+        try {
+            WinRateMatrix serial = new TournamentSimulator(single).roundRobin(3_000, 7L);
+            for (int row = 0; row < parallel.size(); row++) {
+                for (int column = 0; column < parallel.size(); column++) {
+                    assertThat(parallel.wins(row, column)).isEqualTo(serial.wins(row, column));
+                }
+            }
+        } finally {
+            single.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("A clearly stronger custom build wins nearly every battle")
+    void testCustomBuild() {
+        Contender giant = new Contender("Giant", () -> new Character("Giant", CharacterType.WARRIOR,
+            CharacterStats.create(1000, 100, 50, 0), new MeleeAttackStrategy(), new StandardDefenseStrategy()));
+        Contender rogue = Contender.of(CharacterType.ROGUE);
+
+        WinRateMatrix matrix = simulator.roundRobin(List.of(giant, rogue), 200, 1L);
+
+        assertThat(matrix.getNames()).containsExactly("Giant", "ROGUE");
+        assertThat(matrix.winRate(0, 1)).isEqualTo(1.0);
+        assertThat(matrix.confidenceInterval(0, 1)[0]).isGreaterThan(0.95);
+        assertThat(matrix.toString()).contains("Giant");
+    }
+
+    @Test
+    @DisplayName("Mirror matches split roughly evenly on initiative")
+    void testMirrorMatch() {
+        WinRateMatrix matrix = simulator.roundRobin(List.of(Contender.of(CharacterType.ARCHER)), 4_000, 3L);
+
+        double[] interval = matrix.confidenceInterval(0, 0);
+        assertThat(interval[0]).isLessThan(0.5);
+        assertThat(interval[1]).isGreaterThan(0.5);
+    }
+
+    @Test
+    @DisplayName("Duel reports the surviving side")
+    void testDuel() {
+        Character warrior = CharacterFactory.createWarrior("Conan");
+        Character mage = CharacterFactory.createMage("Gandalf");
+
+        int outcome = simulator.duel(warrior, mage, true);
+
+        assertThat(outcome).isEqualTo(1);
+        assertThat(mage.isDead()).isTrue();
+    }
+}